@@ -12,6 +12,16 @@ def get_course(dept, number, required):
     course["name"] = dept.upper() + number
     course["required"] = required
 
+    # activities a student picks one section of; web-oriented sections stand in for the lecture
+    activities = {
+        "Lecture": "Lecture",
+        "Web-Oriented Course": "Lecture",
+        "Laboratory": "Laboratory",
+        "Tutorial": "Tutorial",
+        "Discussion": "Discussion",
+        "Seminar": "Seminar"
+    }
+
     results = soup.find("table", class_="table table-striped section-summary")
 
     sections = results.find_all("tr")
@@ -21,11 +31,12 @@ def get_course(dept, number, required):
         status = section.contents[0].string
         activity = section.contents[2].string
 
-        if (activity == "Web-Oriented Course" or activity == "Lecture"):
+        if (activity in activities):
             section_dict = {}
             
             section_name = section.contents[1].string.split()[2]
             section_dict["name"] = section_name
+            section_dict["activity"] = activities[activity]
             
             term = section.contents[3].string
             days = section.contents[5].string
@@ -1,27 +1,49 @@
 package model;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import persistence.JsonReader;
-import persistence.Writable;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*
     Represents a course with name, status (required vs elective), and sections
+
+    NOTE: each section has an activity, and taking the course means taking one section of each activity. Activities
+          are compared ignoring case, so "lecture" typed at the console is the same activity as the default
+          "Lecture". The combinations of sections that do not conflict with each other are worked out once and kept as
+          bundles until a section of this course changes, so the schedule search only has to choose between bundles.
+          Sections are also indexed by name, and should only be renamed through changeSectionName, which keeps the
+          index up to date.
+          A course read from a catalog file may be given a SectionLoader instead of its sections, in which case the
+          sections are read in the first time anything about them is asked for. Until they are edited, such sections
+          are only softly held, so the garbage collector can drop them under memory pressure and they are read in
+          again when next needed; each loaded section holds on to the others, so this never happens while any of
+          them is in use
 */
-public class Course implements Writable, Iterable<Section> {
+public class Course implements Iterable<Section> {
     private static final String TEMP_COURSE_FILE = "./data/temp_course.json";
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
 
+    private final int id = NEXT_ID.getAndIncrement();
     private String name;
     private boolean required;
-    private Set<Section> sections;
+    private volatile SectionTable table;
+    private SoftReference<SectionTable> cached = new SoftReference<>(null);
+    private SectionLoader loader;
+    private boolean loading;
 
     // EFFECTS: constructs new Course with given name and required/not required status, and no sections
     //          if course name is empty, names the course "New Course"
@@ -32,7 +54,15 @@ public class Course implements Writable, Iterable<Section> {
             this.name = name;
         }
         this.required = required;
-        sections = new HashSet<>();
+        table = new SectionTable();
+    }
+
+    // EFFECTS: constructs new Course with given name and required/not required status, whose sections are added by
+    //          loader the first time they are needed
+    public Course(String name, boolean required, SectionLoader loader) {
+        this(name, required);
+        this.table = null;
+        this.loader = loader;
     }
 
     public Course(String department, String number, boolean required, String path) {
@@ -45,12 +75,15 @@ public class Course implements Writable, Iterable<Section> {
             BufferedReader stdError = new BufferedReader(new InputStreamReader(p.getErrorStream()));
             if (stdInput.readLine() != null || stdError.readLine() != null) {
                 name = department + number;
-                sections = new HashSet<>();
+                table = new SectionTable();
             } else {
                 JsonReader reader = new JsonReader(TEMP_COURSE_FILE);
                 Course c = reader.readCourseResult();
                 this.name = c.name;
-                this.sections = c.sections;
+                this.table = c.table;
+                for (Section s : table.sections) {
+                    s.setCourse(this);
+                }
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -62,8 +95,12 @@ public class Course implements Writable, Iterable<Section> {
         return name;
     }
 
+    // MODIFIES: this
+    // EFFECTS: sets the name of this course, refiling its sections since they are hashed by their course's name
     public void setName(String name) {
         this.name = name;
+        SectionTable current = table();
+        current.sections = new HashSet<>(current.sections);
     }
 
     public boolean getRequired() {
@@ -75,21 +112,151 @@ public class Course implements Writable, Iterable<Section> {
     }
 
     public Set<Section> getSections() {
-        return sections;
+        return table().sections;
+    }
+
+    // EFFECTS: returns the number that tells this course apart from every other Course object, which never changes
+    int getId() {
+        return id;
+    }
+
+    // EFFECTS: returns true if the sections of this course are in memory, i.e. it was not given a loader or the
+    //          sections the loader added have not been dropped
+    synchronized boolean isLoaded() {
+        return table != null || cached.get() != null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the sections of this course if they were added by its loader and have not been edited since, as
+    //          the garbage collector does under memory pressure once none of them is in use
+    synchronized void evictSections() {
+        cached.clear();
+    }
+
+    // EFFECTS: returns the sections of this course, running its loader if they are not in memory
+    private SectionTable table() {
+        SectionTable current = table;
+        return current != null ? current : load();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the sections added by the loader of this course, running it if they are not in memory; a call
+    //          made while the loader runs returns the sections it has added so far, and other threads wait until it
+    //          has finished
+    private synchronized SectionTable load() {
+        SectionTable current = table != null ? table : cached.get();
+        if (current == null) {
+            current = new SectionTable();
+            cached = new SoftReference<>(current);
+            loading = true;
+            boolean loaded = false;
+            try {
+                loader.loadSections(this);
+                loaded = true;
+            } finally {
+                loading = false;
+                if (!loaded) {
+                    cached.clear();
+                }
+            }
+            for (Section s : current.sections) {
+                s.keepWith(current);
+            }
+        }
+        return current;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the bundles of this course and returns its sections, which are about to change; sections added
+    //          by the loader are held on to from now on, since running it again would lose the change
+    private synchronized SectionTable edit() {
+        SectionTable current = table();
+        if (!loading && table == null) {
+            table = current;
+            loader = null;
+            cached = new SoftReference<>(null);
+        }
+        current.bundles = null;
+        return current;
+    }
+
+    // EFFECTS: returns the activities of the sections of this course, in order of name ignoring case; activities that
+    //          only differ in case are included once, spelled as in one of the sections that have them
+    public SortedSet<String> getActivities() {
+        SortedSet<String> activities = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Section s : table().sections) {
+            activities.add(s.getActivity());
+        }
+        return activities;
+    }
+
+    // EFFECTS: returns every combination of one section of each activity of this course in which no two sections
+    //          conflict, ordered by the names of the activities ignoring case and then of the sections; returns an
+    //          empty list if this course has no sections
+    List<SectionBundle> getBundles() {
+        SectionTable sections = table();
+        List<SectionBundle> current = sections.bundles;
+        if (current == null) {
+            Map<String, List<Section>> byActivity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Section s : SectionIndex.orderSections(this)) {
+                byActivity.computeIfAbsent(s.getActivity(), activity -> new ArrayList<>()).add(s);
+            }
+            current = new ArrayList<>();
+            if (!byActivity.isEmpty()) {
+                addBundles(new ArrayList<>(byActivity.values()), new Section[byActivity.size()], 0, current);
+            }
+            sections.bundles = current;
+        }
+        return current;
+    }
+
+    // MODIFIES: chosen, bundles
+    // EFFECTS: adds to bundles every combination that takes the first depth sections in chosen and one section of
+    //          each remaining activity, with no two sections conflicting
+    private static void addBundles(List<List<Section>> activities, Section[] chosen, int depth,
+                                   List<SectionBundle> bundles) {
+        if (depth == chosen.length) {
+            bundles.add(new SectionBundle(chosen.clone()));
+            return;
+        }
+        for (Section s : activities.get(depth)) {
+            boolean fits = true;
+            for (int i = 0; i < depth && fits; i++) {
+                fits = !s.overlaps(chosen[i]);
+            }
+            if (fits) {
+                chosen[depth] = s;
+                addBundles(activities, chosen, depth + 1, bundles);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the bundles of this course, since one of its sections has changed
+    void sectionChanged() {
+        SectionTable current = table;
+        if (current != null) {
+            current.bundles = null;
+        } else {
+            edit();
+        }
     }
 
     // EFFECTS: returns true if the course contains a section with the given name
     public boolean containsSectionWithName(String name) {
-        return sections.contains(new Section(name, this));
+        return table().names.get(name) != null;
     }
 
     // MODIFIES: this
     // EFFECTS: changes the name of s to name if s is in this course and returns true, otherwise returns false
     public boolean changeSectionName(Section s, String name) {
         if (!containsSectionWithName(name)) {
-            sections.remove(s);
+            SectionTable current = edit();
+            if (current.sections.remove(s)) {
+                current.names.remove(s.getName());
+            }
             s.setName(name);
-            sections.add(s);
+            addSection(s);
             return true;
         }
         return false;
@@ -97,20 +264,30 @@ public class Course implements Writable, Iterable<Section> {
 
     // EFFECTS: returns the number of sections for this course
     public int numSections() {
-        return sections.size();
+        return table().sections.size();
     }
 
     // MODIFIES: this
     // EFFECTS: returns false if a section with the same name already exists, otherwise adds section to this course
     //          and returns true
     public boolean addSection(Section section) {
-        return sections.add(section);
+        SectionTable current = edit();
+        if (current.sections.add(section)) {
+            current.names.add(section);
+            return true;
+        }
+        return false;
     }
 
     // MODIFIES: this
     // EFFECTS: returns false if this course does not contain s, otherwise removes s and returns true
     public boolean deleteSection(Section s) {
-        return sections.remove(s);
+        SectionTable current = edit();
+        if (current.sections.remove(s)) {
+            current.names.remove(s.getName());
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -124,27 +301,13 @@ public class Course implements Writable, Iterable<Section> {
 
     // EFFECTS: returns the section with the given name in this course, if it exists; otherwise returns null
     public Section getSectionByName(String name) {
-        for (Section s : sections) {
-            if (s.getName().equals(name)) {
-                return s;
-            }
-        }
-        return null;
+        return table().names.get(name);
     }
 
-    @Override
-    public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        JSONArray sectionsList = new JSONArray();
-
-        for (Section s : sections) {
-            sectionsList.put(s.toJson());
-        }
-
-        json.put("name", name);
-        json.put("required", required);
-        json.put("sections", sectionsList);
-        return json;
+    // EFFECTS: returns the section with the given name in this course if it exists, otherwise the only section whose
+    //          name is the same ignoring case and spaces; returns null if there is no such section or more than one
+    public Section findSection(String name) {
+        return table().names.find(name);
     }
 
     @Override
@@ -166,6 +329,15 @@ public class Course implements Writable, Iterable<Section> {
 
     @Override
     public Iterator<Section> iterator() {
-        return sections.iterator();
+        return table().sections.iterator();
+    }
+
+    /*
+        Represents the sections of a course, indexed by name, and the bundles made from them
+     */
+    private static final class SectionTable {
+        private Set<Section> sections = new HashSet<>();
+        private final NameIndex<Section> names = new NameIndex<>(Section::getName);
+        private volatile List<SectionBundle> bundles;
     }
 }
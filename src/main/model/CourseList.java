@@ -1,28 +1,38 @@
 package model;
 
 import exceptions.ScheduleSizeException;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import persistence.JsonReader;
-import persistence.Writable;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /*
     Represents a list of courses inputted by the user
+
+    NOTE: the courses are also indexed by name, so looking a course up by name takes constant time. Courses should
+          only be renamed through changeCourseName, which keeps the index up to date
 */
-public class CourseList implements Writable, Iterable<Course> {
+public class CourseList implements Iterable<Course> {
     private Set<Course> courses;
+    private NameIndex<Course> courseNames;
+    private ScheduleCache scheduleCache;
 
     // EFFECTS: constructs a new course list with no courses and no possible schedules
     public CourseList() {
         courses = new HashSet<>();
+        courseNames = new NameIndex<>(Course::getName);
     }
 
     // getters
@@ -30,6 +40,17 @@ public class CourseList implements Writable, Iterable<Course> {
         return courses;
     }
 
+    public ScheduleCache getScheduleCache() {
+        return scheduleCache;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes allValidSchedules(numCourses) and validScheduleSet look up their results in scheduleCache before
+    //          calculating them, and store them there after; stops caching if scheduleCache is null
+    public void setScheduleCache(ScheduleCache scheduleCache) {
+        this.scheduleCache = scheduleCache;
+    }
+
     // EFFECTS: returns the number of courses in this CourseList
     public int numCourses() {
         return courses.size();
@@ -48,7 +69,7 @@ public class CourseList implements Writable, Iterable<Course> {
 
     // EFFECTS: returns true if this CourseList contains a course with the given name
     public boolean containsCourseWithName(String name) {
-        return courses.contains(new Course(name, false));
+        return courseNames.get(name) != null;
     }
 
     // MODIFIES: this
@@ -56,9 +77,9 @@ public class CourseList implements Writable, Iterable<Course> {
     //          otherwise returns false
     public boolean changeCourseName(Course c, String name) {
         if (!containsCourseWithName(name)) {
-            courses.remove(c);
+            deleteCourse(c);
             c.setName(name);
-            return courses.add(c);
+            return addCourse(c);
         }
         return false;
     }
@@ -67,14 +88,22 @@ public class CourseList implements Writable, Iterable<Course> {
     // EFFECTS: if this CourseList already contains a course with the same name, returns false
     //          otherwise adds the course to this CourseList and returns true
     public boolean addCourse(Course course) {
-        return courses.add(course);
+        if (courses.add(course)) {
+            courseNames.add(course);
+            return true;
+        }
+        return false;
     }
 
     // MODIFIES: this
     // EFFECTS: if this course list contains the given course, removes it and returns true
     //          otherwise returns false
     public boolean deleteCourse(Course c) {
-        return courses.remove(c);
+        if (courses.remove(c)) {
+            courseNames.remove(c.getName());
+            return true;
+        }
+        return false;
     }
 
     // MODIFIES: this
@@ -83,37 +112,204 @@ public class CourseList implements Writable, Iterable<Course> {
     //          otherwise, returns all valid Schedules that can be generated from the current courses
     //
     // NOTE:    A schedule is valid if there are no time conflicts and it has numCourses courses total, including
-    //          all required courses
+    //          all required courses. If there is a schedule cache, the result is returned from it when these courses
+    //          were calculated before
     public List<Schedule> allValidSchedules(int numCourses) throws ScheduleSizeException {
-        if (numCourses <= 0 || numCourses > courses.size() || numCourses < courses.size() - numElectives()) {
-            throw new ScheduleSizeException();
+        checkScheduleSize(numCourses);
+        if (scheduleCache != null) {
+            return new ArrayList<>(cachedValidSchedules(numCourses));
         }
-        ScheduleCalculator sc = new ScheduleCalculator(numCourses, courses);
+        ScheduleCalculator sc = new ScheduleCalculator(numCourses, new SectionIndex(courses));
         return sc.allValidSchedules();
     }
 
-    // EFFECTS: returns a course with the given name in this course list if it exists, otherwise returns null
-    public Course getCourseByName(String name) {
-        for (Course c : courses) {
-            if (c.getName().equals(name)) {
-                return c;
+    // REQUIRES: parallelism > 0
+    // EFFECTS: if numCourses is not a valid schedule size (see above), throws ScheduleSizeException
+    //          otherwise, returns the same schedules as allValidSchedules(numCourses) in the same order, calculated
+    //          by up to parallelism threads
+    public List<Schedule> allValidSchedules(int numCourses, int parallelism) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        return ScheduleSearchTask.allValidSchedules(numCourses, new SectionIndex(courses), parallelism);
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see above), throws ScheduleSizeException
+    //          otherwise, returns the same schedules as allValidSchedules(numCourses) in the same order, unless
+    //          control stops the search first, in which case returns the schedules found so far and marks the result
+    //          as not complete. Reports the progress of the search to listener unless it is null
+    public SearchResult allValidSchedules(int numCourses, SearchControl control, SearchProgressListener listener)
+            throws ScheduleSizeException {
+        ScheduleCalculator sc = limitedCalculator(numCourses, control, listener);
+        List<Schedule> schedules = sc.allValidSchedules();
+        return new SearchResult(schedules, !sc.wasStopped(), sc.nodesExplored());
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns the same schedules as allValidSchedules(numCourses) in the same order, stored
+    //          compactly in a ScheduleSet
+    public ScheduleSet validScheduleSet(int numCourses) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        if (scheduleCache != null) {
+            return cachedValidSchedules(numCourses);
+        }
+        ScheduleSet schedules = new ScheduleSet(numCourses);
+        new ScheduleCalculator(numCourses, new SectionIndex(courses)).addAllTo(schedules);
+        return schedules;
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, writes the same schedules as allValidSchedules(numCourses) in the same order to the given
+    //          file, overwriting its contents, and returns them as a ScheduleFile. Stops early if control stops the
+    //          search or the list is full, in which case the ScheduleFile is marked as not complete. Reports the
+    //          progress of the search to listener unless it is null
+    //          throws IOException if the file cannot be written
+    //
+    // NOTE:    the file is memory-mapped, so the schedules do not have to fit in memory. Closing the ScheduleFile
+    //          deletes the file, and the same path can be used again for the next calculation
+    public ScheduleFile spillValidSchedules(int numCourses, Path file, SearchControl control,
+                                            SearchProgressListener listener) throws ScheduleSizeException, IOException {
+        checkScheduleSize(numCourses);
+        SectionIndex index = new SectionIndex(courses);
+        ScheduleCalculator sc = new ScheduleCalculator(numCourses, index);
+        sc.limit(control, listener);
+        ScheduleFile schedules = new ScheduleFile(file, numCourses, index);
+        try {
+            boolean added = true;
+            while (added && schedules.size() < Integer.MAX_VALUE) {
+                added = sc.addNextTo(schedules);
             }
+        } catch (IOException e) {
+            schedules.close();
+            throw e;
         }
-        return null;
+        schedules.setComplete(!sc.wasStopped() && !sc.hasNext());
+        return schedules;
     }
 
-    @Override
-    public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        JSONArray courseList = new JSONArray();
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns an iterator over the same schedules as allValidSchedules, in the same order
+    //
+    // NOTE:    schedules are calculated as the iterator advances, so memory use does not depend on the number of
+    //          schedules. The courses in this course list must not change while the iterator is in use
+    public Iterator<Schedule> validSchedulesIterator(int numCourses) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        return new ScheduleCalculator(numCourses, new SectionIndex(courses));
+    }
 
-        for (Course c : courses) {
-            courseList.put(c.toJson());
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns an iterator like validSchedulesIterator(numCourses) that runs out early if control
+    //          stops the search (control.isStopped() then tells the two apart), reporting progress to listener
+    //          unless it is null
+    public Iterator<Schedule> validSchedulesIterator(int numCourses, SearchControl control,
+                                                     SearchProgressListener listener) throws ScheduleSizeException {
+        return limitedCalculator(numCourses, control, listener);
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns a sequential stream of the same schedules as allValidSchedules, calculated lazily
+    public Stream<Schedule> streamValidSchedules(int numCourses) throws ScheduleSizeException {
+        Iterator<Schedule> schedules = validSchedulesIterator(numCourses);
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(schedules, characteristics), false);
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns the number of schedules allValidSchedules would return, without building them
+    //          throws ArithmeticException if the number is too large to fit in a long
+    public long countValidSchedules(int numCourses) throws ScheduleSizeException {
+        return scheduleCounter(numCourses).countValidSchedules();
+    }
+
+    // REQUIRES: sampleSize >= 0
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns sampleSize different schedules chosen uniformly at random from the schedules
+    //          allValidSchedules would return, or all of them in random order if there are no more than sampleSize
+    //          throws ArithmeticException if the number of schedules is too large to fit in a long
+    //
+    // NOTE:    the time taken depends on sampleSize and the number of courses, not on the number of schedules
+    public List<Schedule> sampleValidSchedules(int numCourses, int sampleSize, Random random)
+            throws ScheduleSizeException {
+        return scheduleCounter(numCourses).sample(sampleSize, random);
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns a counter of the schedules allValidSchedules would return, which can both count
+    //          them and sample them while counting them only once
+    //
+    // NOTE:    the courses in this course list must not change while the counter is in use
+    public ScheduleCounter scheduleCounter(int numCourses) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        return new ScheduleCounter(numCourses, new SectionIndex(courses));
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns the k valid schedules with the highest scores, best first
+    //
+    // NOTE:    parts of the search that cannot beat the k-th best schedule found so far are skipped, so a scorer with
+    //          a tight bound avoids looking at most schedules
+    public List<Schedule> bestSchedules(int numCourses, int k, ScheduleScorer scorer) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        return new TopScheduleFinder(numCourses, new SectionIndex(courses), k, scorer).bestSchedules();
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns the same schedules as bestSchedules(numCourses, k, scorer), unless control stops the
+    //          search first, in which case returns the k best of the schedules found so far and marks the result as
+    //          not complete
+    public SearchResult bestSchedules(int numCourses, int k, ScheduleScorer scorer, SearchControl control)
+            throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        TopScheduleFinder finder = new TopScheduleFinder(numCourses, new SectionIndex(courses), k, scorer);
+        finder.limit(control);
+        List<Schedule> schedules = finder.bestSchedules();
+        return new SearchResult(schedules, !finder.wasStopped(), finder.nodesExplored());
+    }
+
+    // REQUIRES: numCourses is a valid schedule size, and there is a schedule cache
+    // MODIFIES: this
+    // EFFECTS: returns the valid schedules with numCourses courses from the schedule cache, calculating them and
+    //          adding them to the cache if they are not there
+    private ScheduleSet cachedValidSchedules(int numCourses) {
+        ScheduleCache.Key key = scheduleCache.keyFor(courses, numCourses);
+        ScheduleSet schedules = scheduleCache.get(key);
+        if (schedules == null) {
+            schedules = new ScheduleSet(numCourses);
+            new ScheduleCalculator(numCourses, new SectionIndex(courses)).addAllTo(schedules);
+            scheduleCache.put(key, schedules);
+        }
+        return schedules;
+    }
+
+    // EFFECTS: if numCourses is not a valid schedule size (see allValidSchedules), throws ScheduleSizeException
+    //          otherwise, returns a ScheduleCalculator for schedules with numCourses courses, limited by control and
+    //          reporting to listener
+    private ScheduleCalculator limitedCalculator(int numCourses, SearchControl control,
+                                                 SearchProgressListener listener) throws ScheduleSizeException {
+        checkScheduleSize(numCourses);
+        ScheduleCalculator sc = new ScheduleCalculator(numCourses, new SectionIndex(courses));
+        sc.limit(control, listener);
+        return sc;
+    }
+
+    // EFFECTS: throws ScheduleSizeException if numCourses <= 0, course list contains fewer than numCourses courses,
+    //          or number of required courses > numCourses
+    void checkScheduleSize(int numCourses) throws ScheduleSizeException {
+        if (numCourses <= 0 || numCourses > courses.size() || numCourses < courses.size() - numElectives()) {
+            throw new ScheduleSizeException();
         }
+    }
 
-        json.put("courses", courseList);
+    // EFFECTS: returns a course with the given name in this course list if it exists, otherwise returns null
+    public Course getCourseByName(String name) {
+        return courseNames.get(name);
+    }
 
-        return json;
+    // EFFECTS: returns the course with the given name in this course list if it exists, otherwise the only course
+    //          whose name is the same ignoring case and spaces (e.g. "CPSC 110" for "cpsc110"); returns null if there
+    //          is no such course or more than one
+    public Course findCourse(String name) {
+        return courseNames.find(name);
     }
 
     @Override
@@ -0,0 +1,32 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+    Represents a pool of canonical instances of an immutable type, so that equal values can share one object
+
+    NOTE: the pool only holds its instances weakly, so an instance that nothing else refers to any more can be garbage
+          collected and is dropped from the pool
+*/
+final class Interner<T> {
+    private final Map<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+    // MODIFIES: this
+    // EFFECTS: returns the instance in this pool equal to value, first adding value to the pool if there is none
+    synchronized T intern(T value) {
+        WeakReference<T> ref = pool.get(value);
+        T canonical = ref == null ? null : ref.get();
+        if (canonical == null) {
+            pool.put(value, new WeakReference<>(value));
+            canonical = value;
+        }
+        return canonical;
+    }
+
+    // EFFECTS: returns the number of instances in this pool that have not been garbage collected yet
+    synchronized int size() {
+        return pool.size();
+    }
+}
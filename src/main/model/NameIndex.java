@@ -0,0 +1,99 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+    Represents an index of named things (courses or sections) by name, for looking them up in constant time
+
+    NOTE: things are filed under their normalised name, i.e. their name in lower case with the spaces taken out, so
+          "CPSC 110" and "cpsc110" are filed together. An exact lookup picks out the one with the exact name, and a
+          loose lookup also accepts any other name that normalises the same way, as long as only one thing matches.
+          The index does not notice a thing being renamed, so it has to be removed before and added back after
+*/
+final class NameIndex<T> {
+    private final Function<T, String> nameOf;
+    private final Map<String, List<T>> byKey = new HashMap<>();
+
+    // EFFECTS: constructs an empty index that gets the name of a thing with nameOf
+    NameIndex(Function<T, String> nameOf) {
+        this.nameOf = nameOf;
+    }
+
+    // REQUIRES: nothing with the same name as item is in this index
+    // MODIFIES: this
+    // EFFECTS: adds item to this index under its current name
+    void add(T item) {
+        String key = normalize(nameOf.apply(item));
+        List<T> filed = byKey.get(key);
+        if (filed == null) {
+            byKey.put(key, Collections.singletonList(item));
+        } else {
+            List<T> more = new ArrayList<>(filed);
+            more.add(item);
+            byKey.put(key, more);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the thing with the given name from this index, if there is one
+    void remove(String name) {
+        String key = normalize(name);
+        List<T> filed = byKey.get(key);
+        if (filed == null) {
+            return;
+        }
+        List<T> rest = new ArrayList<>(filed.size());
+        for (T item : filed) {
+            if (!nameOf.apply(item).equals(name)) {
+                rest.add(item);
+            }
+        }
+        if (rest.isEmpty()) {
+            byKey.remove(key);
+        } else {
+            byKey.put(key, rest.size() == 1 ? Collections.singletonList(rest.get(0)) : rest);
+        }
+    }
+
+    // EFFECTS: returns the thing with exactly the given name, or null if there is none
+    T get(String name) {
+        List<T> filed = byKey.get(normalize(name));
+        if (filed != null) {
+            for (T item : filed) {
+                if (nameOf.apply(item).equals(name)) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the thing with exactly the given name if there is one, otherwise the only thing whose name
+    //          normalises to the same as the given name; returns null if there is no such thing or more than one
+    T find(String name) {
+        T exact = get(name);
+        if (exact != null) {
+            return exact;
+        }
+        List<T> filed = byKey.get(normalize(name));
+        return filed != null && filed.size() == 1 ? filed.get(0) : null;
+    }
+
+    // EFFECTS: returns name in lower case with all whitespace taken out
+    static String normalize(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (!Character.isWhitespace(ch)) {
+                key.append(ch);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package model;
+
+import java.util.Arrays;
+
+/*
+    A utility class for packing timeslots into a bitmap of the week, with one bit for each 30-minute block of each day
+    of each term
+
+    NOTE: a mask is exact when every block it marks is fully occupied, i.e. all of its timeslots start and end on a
+          block boundary and fall in one of the first MAX_TERMS terms. Otherwise the mask covers every block its
+          timeslots touch, so two masks that do not intersect never overlap, but two masks that do intersect might not
+*/
+final class Occupancy {
+    static final int BLOCK_MINUTES = 30;
+    static final int BLOCKS_PER_DAY = Timeslot.MINUTES_PER_DAY / BLOCK_MINUTES;
+    static final int BLOCKS_PER_TERM = 7 * BLOCKS_PER_DAY;
+    static final int MAX_TERMS = 4;
+    static final int WORDS = (MAX_TERMS * BLOCKS_PER_TERM + Long.SIZE - 1) / Long.SIZE;
+
+    private Occupancy() {
+    }
+
+    // EFFECTS: returns a mask with no blocks marked
+    static long[] empty() {
+        return new long[0];
+    }
+
+    // EFFECTS: returns a copy of mask that also marks every block t touches, growing the array only as far as needed
+    static long[] add(long[] mask, Timeslot t) {
+        int start = t.getStartMinute();
+        int end = t.getEndMinute();
+        if (end <= start) {
+            return mask;
+        }
+        int base = termSlot(t.getTerm()) * BLOCKS_PER_TERM;
+        int first = base + start / BLOCK_MINUTES;
+        int last = base + (end + BLOCK_MINUTES - 1) / BLOCK_MINUTES;
+        long[] result = Arrays.copyOf(mask, Math.max(mask.length, (last - 1) / Long.SIZE + 1));
+        for (int block = first; block < last; block++) {
+            result[block / Long.SIZE] |= 1L << block;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns true if the blocks marked for t are exactly the time t occupies
+    static boolean isExact(Timeslot t) {
+        int start = t.getStartMinute();
+        int end = t.getEndMinute();
+        return t.getTerm() >= 1 && t.getTerm() <= MAX_TERMS && start < end
+                && start % BLOCK_MINUTES == 0 && end % BLOCK_MINUTES == 0;
+    }
+
+    // EFFECTS: returns true if a and b mark at least one block in common
+    static boolean intersects(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        for (int i = 0; i < words; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: into.length >= from.length
+    // MODIFIES: into
+    // EFFECTS: marks every block of from in into
+    static void or(long[] into, long[] from) {
+        for (int i = 0; i < from.length; i++) {
+            into[i] |= from[i];
+        }
+    }
+
+    // REQUIRES: into.length >= from.length, and every block of from is marked in into
+    // MODIFIES: into
+    // EFFECTS: unmarks every block of from in into
+    static void xor(long[] into, long[] from) {
+        for (int i = 0; i < from.length; i++) {
+            into[i] ^= from[i];
+        }
+    }
+
+    // EFFECTS: returns the index of the bitmap slice for the given term, folding terms outside 1..MAX_TERMS onto it
+    private static int termSlot(int term) {
+        return Math.floorMod(term - 1, MAX_TERMS);
+    }
+}
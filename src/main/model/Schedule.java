@@ -1,19 +1,42 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 /*
     Represents a course schedule, i.e. a collection of sections from courses
+
+    NOTE: the distinct courses of the schedule are kept with the number of their sections in it, so counting courses
+          does not have to look at every section. A 64-bit signature marks the ids of those courses (modulo 64), so
+          a course that is in the schedule is usually found by identity without comparing it to the others. Courses
+          are told apart by equals, so a different Course object with the same name counts as the same course
 */
 public class Schedule implements Iterable<Section> {
+    private static final int INITIAL_COURSES = 4;
+
     private List<Section> sections;
+    private long[] occupied;
+    private int inexactSections;
+    private Course[] courses;
+    private int[] sectionsPerCourse;
+    private int numCourses;
+    private long courseSignature;
 
     // EFFECTS: constructs a schedule with no sections
     public Schedule() {
+        this(INITIAL_COURSES);
+    }
+
+    // REQUIRES: expectedCourses > 0
+    // EFFECTS: constructs a schedule with no sections and room for sections of expectedCourses courses
+    Schedule(int expectedCourses) {
         sections = new ArrayList<>();
+        occupied = new long[Occupancy.WORDS];
+        courses = new Course[expectedCourses];
+        sectionsPerCourse = new int[expectedCourses];
     }
 
     // getter
@@ -21,25 +44,166 @@ public class Schedule implements Iterable<Section> {
         return sections;
     }
 
-    // REQUIRES: the schedule does not already contain a section from the same course
+    // REQUIRES: 0 <= i < numSections()
+    // EFFECTS: returns the i-th section added to this schedule, counting only those still in it
+    Section sectionAt(int i) {
+        return sections.get(i);
+    }
+
+    // REQUIRES: the schedule does not already contain a section with the same activity from the same course
     // MODIFIES: this
     // EFFECTS: returns false if >1 of the timeslots in the section conflicts with existing schedule, else fills this
     //          schedule with all timeslots in the section and returns true
     public boolean fillSection(Section section) {
-        for (Section s : sections) {
-            if (s.overlaps(section)) {
+        if (Occupancy.intersects(occupied, section.getOccupancy()) && conflictsWith(section)) {
+            return false;
+        }
+        sections.add(section);
+        Occupancy.or(occupied, section.getOccupancy());
+        if (!section.hasExactOccupancy()) {
+            inexactSections++;
+        }
+        countSection(section.getCourse());
+        return true;
+    }
+
+    // REQUIRES: the schedule does not already contain a section from the course of bundle
+    // MODIFIES: this
+    // EFFECTS: returns false if a section of bundle conflicts with this schedule, leaving this schedule unchanged,
+    //          else fills this schedule with all sections of bundle and returns true
+    boolean fillBundle(SectionBundle bundle) {
+        for (int i = 0; i < bundle.size(); i++) {
+            if (!fillSection(bundle.getSection(i))) {
+                for (int j = i - 1; j >= 0; j--) {
+                    removeSection(bundle.getSection(j));
+                }
                 return false;
             }
         }
-        sections.add(section);
         return true;
     }
 
-    // REQUIRES: section is in this schedule already
+    // REQUIRES: every section of bundle is in this schedule already, and the timeslots of the sections in this
+    //           schedule have not changed since they were added
+    // MODIFIES: this
+    // EFFECTS: removes the sections of bundle from this schedule
+    void removeBundle(SectionBundle bundle) {
+        for (int i = bundle.size() - 1; i >= 0; i--) {
+            removeSection(bundle.getSection(i));
+        }
+    }
+
+    // REQUIRES: the occupancy of section intersects the occupancy of this schedule
+    // EFFECTS: returns true if section conflicts with a section already in this schedule
+    private boolean conflictsWith(Section section) {
+        if (section.hasExactOccupancy() && inexactSections == 0) {
+            return true;
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            if (sections.get(i).overlaps(section)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: section is in this schedule already, and the timeslots of the sections in this schedule have not
+    //           changed since they were added
     // MODIFIES: this
     // EFFECTS: removes section from this schedule
     public void removeSection(Section section) {
-        sections.remove(section);
+        int index = lastIndexOf(section);
+        if (index < 0) {
+            return;
+        }
+        Section removed = sections.remove(index);
+        uncountSection(removed.getCourse());
+        if (!removed.hasExactOccupancy()) {
+            inexactSections--;
+            updateOccupied();
+        } else if (inexactSections > 0) {
+            updateOccupied();
+        } else {
+            Occupancy.xor(occupied, removed.getOccupancy());
+        }
+    }
+
+    // EFFECTS: returns the position of section in this schedule, or -1 if it is not here; looks for the object
+    //          itself from the end first, since sections are usually removed in the opposite order they were added
+    private int lastIndexOf(Section section) {
+        for (int i = sections.size() - 1; i >= 0; i--) {
+            if (sections.get(i) == section) {
+                return i;
+            }
+        }
+        return sections.indexOf(section);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts one more section of course, adding course to the courses of this schedule if it is new
+    private void countSection(Course course) {
+        int i = findCourse(course);
+        if (i < 0) {
+            if (numCourses == courses.length) {
+                courses = Arrays.copyOf(courses, numCourses * 2);
+                sectionsPerCourse = Arrays.copyOf(sectionsPerCourse, numCourses * 2);
+            }
+            i = numCourses++;
+            courses[i] = course;
+            courseSignature |= signatureOf(course);
+        }
+        sectionsPerCourse[i]++;
+    }
+
+    // REQUIRES: course has a section in this schedule
+    // MODIFIES: this
+    // EFFECTS: counts one less section of course, removing course from the courses of this schedule if that was its
+    //          last section
+    private void uncountSection(Course course) {
+        int i = findCourse(course);
+        if (--sectionsPerCourse[i] == 0) {
+            numCourses--;
+            courses[i] = courses[numCourses];
+            sectionsPerCourse[i] = sectionsPerCourse[numCourses];
+            courses[numCourses] = null;
+            courseSignature = 0;
+            for (int j = 0; j < numCourses; j++) {
+                courseSignature |= signatureOf(courses[j]);
+            }
+        }
+    }
+
+    // EFFECTS: returns the position of course, or of a course equal to it, among the courses of this schedule, or -1
+    //          if neither has a section here
+    private int findCourse(Course course) {
+        if ((courseSignature & signatureOf(course)) != 0) {
+            for (int i = 0; i < numCourses; i++) {
+                if (courses[i] == course) {
+                    return i;
+                }
+            }
+        }
+        for (int i = 0; i < numCourses; i++) {
+            if (Objects.equals(courses[i], course)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECTS: returns the bit of the course signature that marks course
+    private static long signatureOf(Course course) {
+        return course == null ? 1L : 1L << (course.getId() & (Long.SIZE - 1));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes the occupancy of this schedule from the sections it contains
+    //          (needed when inexact sections may share blocks with the section being removed)
+    private void updateOccupied() {
+        Arrays.fill(occupied, 0);
+        for (int i = 0; i < sections.size(); i++) {
+            Occupancy.or(occupied, sections.get(i).getOccupancy());
+        }
     }
 
     // EFFECTS: returns the total duration of all sections in this schedule, as a number of 30-minute intervals
@@ -53,13 +217,9 @@ public class Schedule implements Iterable<Section> {
         return time;
     }
 
-    // EFFECTS: returns the number of courses in this schedule
+    // EFFECTS: returns the number of courses in this schedule, counting equal courses once
     public int numCourses() {
-        HashSet<Course> courses = new HashSet<>();
-        for (Section s : sections) {
-            courses.add(s.getCourse());
-        }
-        return courses.size();
+        return numCourses;
     }
 
     // EFFECTS: returns the number of sections in this schedule
@@ -69,36 +229,24 @@ public class Schedule implements Iterable<Section> {
 
     // EFFECTS: returns the number of non-required courses in this schedule
     public int numElectives() {
-        HashSet<Course> electives = new HashSet<>();
-        for (Section s : sections) {
-            Course c = s.getCourse();
-            if (!c.getRequired()) {
-                electives.add(c);
-            }
-        }
-        return electives.size();
+        return numCourses - numRequired();
     }
 
     // EFFECTS: returns the number of required courses in this schedule
+    //          (read from the courses each time, since a course can change status while it is in this schedule)
     public int numRequired() {
-        HashSet<Course> required = new HashSet<>();
-        for (Section s : sections) {
-            Course c = s.getCourse();
-            if (c.getRequired()) {
-                required.add(c);
+        int required = 0;
+        for (int i = 0; i < numCourses; i++) {
+            if (courses[i].getRequired()) {
+                required++;
             }
         }
-        return required.size();
+        return required;
     }
 
-    // EFFECTS: returns true if this schedule contains a section from the given course
+    // EFFECTS: returns true if this schedule contains a section from the given course or a course equal to it
     public boolean containsCourse(Course course) {
-        for (Section s : sections) {
-            if (s.getCourse().equals(course)) {
-                return true;
-            }
-        }
-        return false;
+        return findCourse(course) >= 0;
     }
 
     // EFFECTS: returns true if this schedule contains the given section
@@ -114,11 +262,11 @@ public class Schedule implements Iterable<Section> {
     // REQUIRES: schedule is valid, i.e. no time conflicts
     // EFFECTS: returns a string displaying this schedule in a printable form
     public String toString() {
-        String result = "";
+        StringBuilder result = new StringBuilder();
         for (Section s : sections) {
-            result = result.concat(s + "\n");
+            result.append(s).append('\n');
         }
-        return result;
+        return result.toString();
     }
 
     @Override
@@ -0,0 +1,176 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Represents a cache of calculated schedules that holds the most recently used results, up to a memory budget
+
+    NOTE: results are keyed by a SHA-256 fingerprint of the course names, required flags, section names, activities,
+          timeslots and schedule size, written out in the order SectionIndex numbers courses and sections in. Two
+          course lists with the same contents get the same key even if they are made of different Course and Section
+          objects, so results are stored with bundles numbered in the order of each course's bundles and are bound to
+          the bundles of the current course list when they are handed out. When adding a result would go over the
+          budget, the least recently used results are evicted first
+*/
+public class ScheduleCache {
+    private final long memoryBudget;
+    private final Map<String, ScheduleSet> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryUsed;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // REQUIRES: memoryBudget >= 0
+    // EFFECTS: constructs an empty cache that holds results using at most memoryBudget bytes in total
+    public ScheduleCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    // getters
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public synchronized long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // EFFECTS: returns the number of results in this cache
+    public synchronized int numEntries() {
+        return entries.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes all results from this cache, keeping the hit, miss and eviction counts
+    public synchronized void clear() {
+        entries.clear();
+        memoryUsed = 0;
+    }
+
+    // EFFECTS: returns the key for the schedules with numCourses courses that can be made from courses
+    Key keyFor(Collection<Course> courses, int numCourses) {
+        StringBuilder canonical = new StringBuilder();
+        List<SectionBundle> bundles = new ArrayList<>();
+        for (Course c : SectionIndex.orderCourses(courses)) {
+            bundles.addAll(c.getBundles());
+            appendName(canonical, c.getName()).append(c.getRequired() ? 'R' : 'E');
+            for (Section s : SectionIndex.orderSections(c)) {
+                appendName(canonical.append('S'), s.getName());
+                appendName(canonical.append('A'), s.getActivity());
+                for (Timeslot t : s.getTimeslots()) {
+                    canonical.append('T').append(t.getTerm()).append(',').append(t.getStartMinute())
+                            .append(',').append(t.getEndMinute());
+                }
+            }
+            canonical.append(';');
+        }
+        canonical.append('n').append(numCourses);
+        return new Key(sha256(canonical.toString()), bundles);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a copy of the result stored under key, bound to the bundles of key and marked as the most
+    //          recently used, or null if there is none
+    synchronized ScheduleSet get(Key key) {
+        ScheduleSet stored = entries.get(key.fingerprint);
+        if (stored == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return stored.withBundles(key.bundles);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores a copy of schedules under key, evicting the least recently used results until it fits in the
+    //          memory budget; does nothing if schedules alone would not fit, or if they contain a bundle that is not
+    //          one of the bundles of key
+    synchronized void put(Key key, ScheduleSet schedules) {
+        Map<SectionBundle, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < key.bundles.size(); i++) {
+            positions.put(key.bundles.get(i), i);
+        }
+        int[] newIds = new int[schedules.numBundleIds()];
+        for (int id = 0; id < newIds.length; id++) {
+            Integer position = positions.get(schedules.bundleForId(id));
+            if (position == null) {
+                return;
+            }
+            newIds[id] = position;
+        }
+        ScheduleSet stored = schedules.renumber(newIds, key.bundles);
+        if (stored.memoryUsed() > memoryBudget) {
+            return;
+        }
+        ScheduleSet replaced = entries.put(key.fingerprint, stored);
+        memoryUsed += stored.memoryUsed() - (replaced == null ? 0 : replaced.memoryUsed());
+        evictUntilWithinBudget();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the least recently used results until the results fit in the memory budget
+    private void evictUntilWithinBudget() {
+        Iterator<ScheduleSet> oldestFirst = entries.values().iterator();
+        while (memoryUsed > memoryBudget) {
+            memoryUsed -= oldestFirst.next().memoryUsed();
+            oldestFirst.remove();
+            evictions++;
+        }
+    }
+
+    // MODIFIES: canonical
+    // EFFECTS: appends name to canonical, prefixed with its length so that names cannot run into each other
+    private static StringBuilder appendName(StringBuilder canonical, String name) {
+        return canonical.append(name.length()).append(':').append(name);
+    }
+
+    // EFFECTS: returns the SHA-256 hash of the UTF-8 bytes of text, as a hexadecimal string
+    private static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /*
+        Represents the key of one result: the fingerprint of a course list and schedule size, and the bundles of the
+        course list in the order the result numbers them
+    */
+    static class Key {
+        private final String fingerprint;
+        private final List<SectionBundle> bundles;
+
+        // EFFECTS: constructs a key with the given fingerprint and bundles
+        private Key(String fingerprint, List<SectionBundle> bundles) {
+            this.fingerprint = fingerprint;
+            this.bundles = bundles;
+        }
+    }
+}
@@ -1,116 +1,261 @@
 package model;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.NoSuchElementException;
 
 /*
-    A utility class for calculating all possible schedules from a course list
+    A utility class for calculating all possible schedules from a course list, one schedule at a time
+
+    NOTE: the search works on the bundle numbers of a SectionIndex, choosing one bundle of sections for each course
+          it takes. The bundles still available at each step are kept as a bitset, which is narrowed by one row of
+          the conflict matrix whenever a bundle is chosen.
+          Instead of recursing, the search keeps its own stack with one entry per decided course, so it can stop after
+          each schedule and resume later using memory proportional to the number of courses.
+          Courses are not filled in a fixed order: each stack entry branches on the course with the fewest bundles
+          left (required courses first), and an entry whose required course has no bundles left is abandoned at once.
+          Each stack entry also records its share of the whole search, split evenly between its branches, so the
+          shares of the finished entries estimate how much of the search is done
 */
-class ScheduleCalculator {
-    private List<Course> required;
-    private List<Course> electives;
-    private List<Schedule> schedules;
+class ScheduleCalculator implements Iterator<Schedule> {
+    private static final int CHECK_INTERVAL = 4096;
+
+    private SectionIndex index;
     private int numCourses;
-    private int numRequired;
-    private int numElectives;
+    private int[] chosen;
+    private long[][] available;
+    private boolean[] decided;
+    private int[] courseAt;
+    private int[] nextBundle;
+    private int[] countAt;
+    private int depth;
+    private int firstDepth;
+    private boolean found;
+    private long nodes;
+    private double[] share;
+    private double[] branchShare;
+    private double covered;
+    private long numFound;
+    private SearchControl control;
+    private SearchProgressListener listener;
+    private boolean stopped;
+    private boolean finished;
+
+    // EFFECTS: constructs ScheduleCalculator for the courses in index, positioned before the first schedule
+    //          with numCourses courses
+    ScheduleCalculator(int n, SectionIndex index) {
+        this(n, index, new int[0], new boolean[index.numCourses()], 0, index.allBundles());
+    }
 
-    // EFFECTS: constructs ScheduleCalculator with courses sorted into required/electives, no schedules
-    //          and given value of numCourses
-    ScheduleCalculator(int n, Set<Course> courses) {
+    // REQUIRES: prefix holds count bundles, one from each chosen course, decided marks the numDecided courses that
+    //           are chosen or left out, available holds the bundles that do not conflict with prefix, and the
+    //           decided courses that are not chosen can be left out
+    // EFFECTS: constructs ScheduleCalculator that only finds the schedules starting with the given prefix
+    ScheduleCalculator(int n, SectionIndex index, int[] prefix, boolean[] decided, int numDecided,
+                       long[] available) {
         numCourses = n;
-        required = new ArrayList<>();
-        electives = new ArrayList<>();
-        schedules = new ArrayList<>();
-        sortRequiredAndElectives(courses);
+        this.index = index;
+        chosen = Arrays.copyOf(prefix, n);
+        this.available = new long[n + 1][];
+        for (int i = 0; i <= n; i++) {
+            this.available[i] = index.newBundleSet();
+        }
+        this.available[prefix.length] = available.clone();
+        this.decided = decided.clone();
+        courseAt = new int[index.numCourses() + 1];
+        nextBundle = new int[index.numCourses() + 1];
+        countAt = new int[index.numCourses() + 1];
+        share = new double[index.numCourses() + 1];
+        branchShare = new double[index.numCourses() + 1];
+        firstDepth = numDecided;
+        push(numDecided, prefix.length);
     }
 
     // MODIFIES: this
-    // EFFECTS: sorts courses into a list of required courses and a list of elective courses and updates size of each
-    private void sortRequiredAndElectives(Set<Course> courses) {
-        for (Course c : courses) {
-            if (c.getRequired()) {
-                required.add(c);
-            } else {
-                electives.add(c);
-            }
-        }
-        numRequired = required.size();
-        numElectives = electives.size();
+    // EFFECTS: makes the search stop early once control says to, and report its progress to listener (unless it is
+    //          null) every CHECK_INTERVAL steps and once more when it ends
+    void limit(SearchControl control, SearchProgressListener listener) {
+        this.control = control;
+        this.listener = listener;
     }
 
     // MODIFIES: this
-    // EFFECT: returns list of all valid schedules with numCourses courses
+    // EFFECT: returns list of all remaining valid schedules with numCourses courses
     List<Schedule> allValidSchedules() {
-        Schedule s = new Schedule();
-        fillRequired(s, 0);
+        List<Schedule> schedules = new ArrayList<>();
+        while (hasNext()) {
+            schedules.add(next());
+        }
         return schedules;
     }
 
-    // REQUIRES: number of required courses < desired size of schedule
+    @Override
+    public boolean hasNext() {
+        if (!found) {
+            found = advance();
+        }
+        return found;
+    }
+
+    @Override
+    public Schedule next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        found = false;
+        numFound++;
+        return index.toSchedule(chosen, numCourses);
+    }
+
+    // MODIFIES: this, schedules
+    // EFFECTS: adds every remaining valid schedule to schedules, without building a Schedule for each
+    void addAllTo(ScheduleSet schedules) {
+        while (hasNext()) {
+            addNextTo(schedules);
+        }
+    }
+
+    // REQUIRES: schedules.width() == numCourses
+    // MODIFIES: this, schedules
+    // EFFECTS: adds the next valid schedule to schedules and returns true, or returns false if there are no more
+    boolean addNextTo(ScheduleSet schedules) {
+        if (!hasNext()) {
+            return false;
+        }
+        found = false;
+        numFound++;
+        schedules.add(index, chosen);
+        return true;
+    }
+
+    // REQUIRES: file has numCourses bundles per schedule of the index this calculator was constructed with
+    // MODIFIES: this, file
+    // EFFECTS: writes the next valid schedule to file and returns true, or returns false if there are no more
+    //          throws IOException if the file cannot be extended
+    boolean addNextTo(ScheduleFile file) throws IOException {
+        if (!hasNext()) {
+            return false;
+        }
+        found = false;
+        numFound++;
+        file.add(chosen);
+        return true;
+    }
+
+    // EFFECTS: returns the number of search steps taken so far
+    long nodesExplored() {
+        return nodes;
+    }
+
+    // EFFECTS: returns true if the search was stopped by its control before it was finished
+    boolean wasStopped() {
+        return stopped;
+    }
+
     // MODIFIES: this
-    // EFFECTS: fills schedule with a section from each required course
+    // EFFECTS: moves the search to the next schedule with numCourses courses and returns true, or returns false if
+    //          there are no more schedules. Every required course always gets a bundle; an elective first gets each
+    //          available bundle in turn and is then left out if enough undecided courses remain
     // I based this approach on a backtracking solution to the n queens problem created by 29AjayKumar
     // Link https://www.geeksforgeeks.org/printing-solutions-n-queen-problem/
-    private boolean fillRequired(Schedule currentSchedule, int courseIndex) {
-        boolean possible = false;
-        if (currentSchedule.numCourses() == numRequired) {
-            possible = fillElectives(currentSchedule, courseIndex);
-        } else {
-            Course c = required.get(courseIndex);
-            for (Section s : c) {
-                if (!currentSchedule.fillSection(s)) {
-                    continue;
+    private boolean advance() {
+        while (depth >= firstDepth && !stopped) {
+            int count = countAt[depth];
+            int course = courseAt[depth];
+            if (course == SectionIndex.NO_COURSE) {
+                pop();
+                if (count == numCourses) {
+                    return true;
                 }
-                possible = fillRequired(currentSchedule, courseIndex + 1) || possible;
-                currentSchedule.removeSection(s); //backtrack
+            } else {
+                branch(course, count);
             }
         }
-        return possible;
+        if (!finished) {
+            finished = true;
+            covered = stopped ? covered : 1;
+            report();
+        }
+        return false;
     }
 
-    // REQUIRES: total number of courses > desired size of schedule
     // MODIFIES: this
-    // EFFECTS: fills schedule with enough electives to have numCourse courses, and adds successes to list of schedules
-    // I based this approach on a backtracking solution to the n queens problem created by 29AjayKumar
-    // Link https://www.geeksforgeeks.org/printing-solutions-n-queen-problem/
-    private boolean fillElectives(Schedule currentSchedule, int courseIndex) {
-        boolean possible = false;
-        if (currentSchedule.numCourses() == numCourses) {
-            addToListOfSchedules(currentSchedule);
-            possible = true;
+    // EFFECTS: takes the next branch of the top stack entry, which decides the given course with count courses
+    //          already in the schedule, or removes the entry if it has no branches left
+    private void branch(int course, int count) {
+        int end = index.endBundle(course);
+        int b = SectionIndex.nextBundle(available[count], nextBundle[depth], end);
+        if (b < end) {
+            nextBundle[depth] = b + 1;
+            choose(count, b);
+            push(depth + 1, count + 1);
+        } else if (nextBundle[depth] <= end && index.canLeaveOut(course, depth, count, numCourses)) {
+            nextBundle[depth] = end + 1;
+            push(depth + 1, count);
         } else {
-            Course c = electives.get(courseIndex - required.size());
-            // try adding a section from this course to the schedule
-            for (Section s : c) {
-                if (!currentSchedule.fillSection(s)) {
-                    continue;
-                }
-                possible = fillElectives(currentSchedule, courseIndex + 1) || possible;
-                currentSchedule.removeSection(s);
-            }
-            // if there are enough electives remaining, try to make a schedule not containing the current course
-            if (enoughElectives(currentSchedule, courseIndex)) {
-                possible = fillElectives(currentSchedule, courseIndex + 1) || possible;
-            }
+            pop();
         }
-        return possible;
     }
 
-    // REQUIRES: index > 0
-    // EFFECTS: returns true if number of remaining electives is enough to produce a schedule with numCourses courses
-    private boolean enoughElectives(Schedule currentSchedule, int index) {
-        return currentSchedule.numCourses() + (numElectives + numRequired - 1 - index) >= numCourses;
+    // MODIFIES: this
+    // EFFECTS: adds a stack entry for the next course to decide, with numDecided courses decided and count courses
+    //          already in the schedule; the entry has no course if the schedule is complete or cannot be completed
+    private void push(int numDecided, int count) {
+        depth = numDecided;
+        countAt[depth] = count;
+        share[depth] = depth == firstDepth ? 1 : branchShare[depth - 1];
+        courseAt[depth] = SectionIndex.NO_COURSE;
+        if (count < numCourses) {
+            courseAt[depth] = index.mostConstrainedCourse(available[count], decided, count, numCourses);
+        }
+        if (courseAt[depth] == SectionIndex.NO_COURSE) {
+            covered += share[depth];
+        } else {
+            startCourse(courseAt[depth], count);
+        }
+        nodes++;
+        if (nodes % CHECK_INTERVAL == 0) {
+            report();
+            stopped = control != null && control.shouldStop();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks course as decided by the top stack entry and splits the entry's share between its branches
+    private void startCourse(int course, int count) {
+        decided[course] = true;
+        nextBundle[depth] = index.firstBundle(course);
+        int branches = SectionIndex.countBundles(available[count], index.firstBundle(course),
+                index.endBundle(course));
+        if (index.canLeaveOut(course, depth, count, numCourses)) {
+            branches++;
+        }
+        branchShare[depth] = share[depth] / branches;
+    }
+
+    // EFFECTS: tells listener how far the search has got, if there is a listener
+    private void report() {
+        if (listener != null) {
+            listener.progress(nodes, numFound, Math.min(covered, 1));
+        }
     }
 
-    // REQUIRES: current schedule is a valid schedule
     // MODIFIES: this
-    // EFFECTS: copies the current schedule into a new schedule and adds it to the list of all possible schedules
-    private void addToListOfSchedules(Schedule filledSchedule) {
-        Schedule newSchedule = new Schedule();
-        for (Section sec : filledSchedule) {
-            newSchedule.fillSection(sec);
+    // EFFECTS: removes the top stack entry, making its course undecided again
+    private void pop() {
+        if (courseAt[depth] != SectionIndex.NO_COURSE) {
+            decided[courseAt[depth]] = false;
         }
-        schedules.add(newSchedule);
+        depth--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes bundle the count-th choice and narrows the available bundles to those compatible with it
+    private void choose(int count, int bundle) {
+        chosen[count] = bundle;
+        index.removeConflicts(available[count], bundle, available[count + 1]);
     }
 }
@@ -0,0 +1,237 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+    A utility class for counting the valid schedules of a course list without building them
+
+    NOTE: the number of ways to finish a partial schedule only depends on the next course to fill, the number of
+          courses chosen so far, and which bundles of the remaining courses are still available. Each of these
+          states is counted once and remembered, so the work depends on the number of distinct states rather than the
+          number of schedules. The remembered counts also tell how many schedules lie down each branch of the search,
+          which lets a schedule be found directly from its position in the search order.
+          Unlike ScheduleCalculator, the counter always fills courses in index order, since the remembered counts are
+          only shared between states that have decided the same courses. A counter keeps its remembered counts, so
+          sampling after counting does not count again. If its control stops the count, states that were not finished
+          are not remembered and count as having no schedules from then on, so the count becomes a lower bound and
+          sampling only picks from the branches that were counted in full
+*/
+public class ScheduleCounter {
+    private static final int CHECK_INTERVAL = 4096;
+
+    private SectionIndex index;
+    private int numCourses;
+    private long[][] available;
+    private List<Map<State, Long>> counted;
+    private long rankLeft;
+    private SearchControl control;
+    private long steps;
+    private boolean stopped;
+
+    // EFFECTS: constructs a ScheduleCounter for schedules of n courses from the courses in index
+    ScheduleCounter(int n, SectionIndex index) {
+        numCourses = n;
+        this.index = index;
+        available = new long[n + 1][];
+        for (int i = 0; i <= n; i++) {
+            available[i] = index.newBundleSet();
+        }
+        available[0] = index.allBundles();
+        counted = new ArrayList<>(index.numCourses());
+        for (int i = 0; i < index.numCourses(); i++) {
+            counted.add(new HashMap<>());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes counting stop early once control says to
+    public void limit(SearchControl control) {
+        this.control = control;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the number of valid schedules with numCourses courses, or, if the count was stopped by the
+    //          control, the number of schedules in the branches that were counted in full
+    //          throws ArithmeticException if the number does not fit in a long
+    public long countValidSchedules() {
+        long total = count(0, 0);
+        return stopped ? count(0, 0) : total;
+    }
+
+    // EFFECTS: returns true if counting was stopped by the control before it was finished
+    public boolean wasStopped() {
+        return stopped;
+    }
+
+    // REQUIRES: 0 <= rank < countValidSchedules()
+    // MODIFIES: this
+    // EFFECTS: returns the schedule at position rank (from 0) in the order of a search that fills the courses in index
+    //          order
+    Schedule scheduleAt(long rank) {
+        int[] chosen = new int[numCourses];
+        int courseIndex = 0;
+        int count = 0;
+        rankLeft = rank;
+        while (count < numCourses) {
+            int bundle = branchAt(courseIndex, count);
+            if (bundle >= 0) {
+                chosen[count] = bundle;
+                count++;
+            }
+            courseIndex++;
+        }
+        return index.toSchedule(chosen, numCourses);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the bundle of the course at courseIndex whose branch contains the schedule at rankLeft, or -1
+    //          if the schedule leaves the course out, and subtracts the schedules in earlier branches from rankLeft
+    private int branchAt(int courseIndex, int count) {
+        int end = index.endBundle(courseIndex);
+        for (int s = SectionIndex.nextBundle(available[count], index.firstBundle(courseIndex), end); s < end;
+                s = SectionIndex.nextBundle(available[count], s + 1, end)) {
+            index.removeConflicts(available[count], s, available[count + 1]);
+            long branch = count(courseIndex + 1, count + 1);
+            if (rankLeft < branch) {
+                return s;
+            }
+            rankLeft -= branch;
+        }
+        return -1;
+    }
+
+    // REQUIRES: sampleSize >= 0
+    // MODIFIES: this
+    // EFFECTS: returns sampleSize different schedules chosen uniformly at random, in random order, or all schedules in
+    //          random order if there are no more than sampleSize of them
+    //          throws ArithmeticException if the number of schedules does not fit in a long
+    public List<Schedule> sample(int sampleSize, Random random) {
+        List<Long> ranks = chooseRanks(countValidSchedules(), sampleSize, random);
+        Collections.shuffle(ranks, random);
+        List<Schedule> schedules = new ArrayList<>();
+        for (long rank : ranks) {
+            schedules.add(scheduleAt(rank));
+        }
+        return schedules;
+    }
+
+    // EFFECTS: returns min(total, sampleSize) different numbers from 0 to total - 1, each set equally likely
+    // based on Robert Floyd's algorithm for sampling without replacement
+    private static List<Long> chooseRanks(long total, int sampleSize, Random random) {
+        Set<Long> ranks = new LinkedHashSet<>();
+        for (long j = total - Math.min(total, sampleSize); j < total; j++) {
+            long rank = nextLong(random, j + 1);
+            if (!ranks.add(rank)) {
+                ranks.add(j);
+            }
+        }
+        return new ArrayList<>(ranks);
+    }
+
+    // REQUIRES: bound > 0
+    // EFFECTS: returns a uniformly random number from 0 to bound - 1
+    private static long nextLong(Random random, long bound) {
+        long bits;
+        long value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the number of ways to finish a schedule that has count courses chosen from the courses
+    //          before courseIndex, using the bundles in available[count]
+    private long count(int courseIndex, int count) {
+        if (count == numCourses) {
+            return 1;
+        }
+        State state = new State(count, available[count], index.firstBundle(courseIndex));
+        Long known = counted.get(courseIndex).get(state);
+        if (known != null) {
+            return known;
+        }
+        if (courseIndex > 0 && shouldStop()) {
+            return 0;
+        }
+        long total = countBranches(courseIndex, count);
+        if (index.canLeaveOut(courseIndex, courseIndex, count, numCourses)) {
+            total = Math.addExact(total, count(courseIndex + 1, count));
+        }
+        if (!stopped) {
+            counted.get(courseIndex).put(state, total);
+        }
+        return total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the number of ways to finish a schedule that has count courses chosen from the courses before
+    //          courseIndex by adding one of the available bundles of the course at courseIndex
+    private long countBranches(int courseIndex, int count) {
+        long total = 0;
+        int end = index.endBundle(courseIndex);
+        for (int s = SectionIndex.nextBundle(available[count], index.firstBundle(courseIndex), end); s < end;
+                s = SectionIndex.nextBundle(available[count], s + 1, end)) {
+            index.removeConflicts(available[count], s, available[count + 1]);
+            total = Math.addExact(total, count(courseIndex + 1, count + 1));
+        }
+        return total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if counting has been stopped, asking the control every CHECK_INTERVAL steps
+    private boolean shouldStop() {
+        steps++;
+        if (!stopped && control != null && steps % CHECK_INTERVAL == 0) {
+            stopped = control.shouldStop();
+        }
+        return stopped;
+    }
+
+    /*
+        Represents the part of a search state that decides how many schedules can still be made
+    */
+    private static class State {
+        private final int count;
+        private final long[] remaining;
+        private final int hash;
+
+        // EFFECTS: constructs a state with count courses chosen, keeping only the bundles >= firstBundle of the
+        //          available set
+        private State(int count, long[] available, int firstBundle) {
+            this.count = count;
+            int firstWord = firstBundle / Long.SIZE;
+            remaining = Arrays.copyOfRange(available, firstWord, available.length);
+            if (remaining.length > 0) {
+                remaining[0] &= -1L << firstBundle;
+            }
+            hash = 31 * count + Arrays.hashCode(remaining);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            State state = (State) o;
+            return count == state.count && Arrays.equals(remaining, state.remaining);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package model;
+
+/*
+    Represents the built-in ways of rating schedules
+
+    NOTE: bounds are worked out at every step of the search for the best schedules, so the helpers below walk the
+          sections and timeslots by position and allocate nothing
+*/
+public enum ScheduleCriterion implements ScheduleScorer {
+    // fewer distinct days with classes, counting each term separately, is better
+    FEWEST_DAYS("Fewest days on campus") {
+        @Override
+        public double score(Schedule schedule) {
+            return -daysOnCampus(schedule);
+        }
+
+        // adding sections never removes a day
+        @Override
+        public double bound(Schedule partial) {
+            return score(partial);
+        }
+    },
+    // a later first class of the day, over all days, is better
+    LATEST_START("Latest start") {
+        @Override
+        public double score(Schedule schedule) {
+            return earliestStart(schedule);
+        }
+
+        // adding sections never makes the earliest start later
+        @Override
+        public double bound(Schedule partial) {
+            return score(partial);
+        }
+    },
+    // less free time between the first and last class of each day is better
+    SMALLEST_GAPS("Smallest gaps") {
+        @Override
+        public double score(Schedule schedule) {
+            return -gapMinutes(schedule);
+        }
+
+        // a section added later can fill any gap
+        @Override
+        public double bound(Schedule partial) {
+            return 0;
+        }
+
+        // a class added later shortens the gaps by at most its own length, since it has to fit inside a gap
+        @Override
+        public double bound(Schedule partial, int minutesLeft) {
+            return -Math.max(0, gapMinutes(partial) - minutesLeft);
+        }
+    },
+    // a smaller difference in class time between the busiest and the quietest day with classes is better
+    EVEN_DAYS("Most even days") {
+        @Override
+        public double score(Schedule schedule) {
+            return -daySpread(schedule);
+        }
+
+        // a section added later can make any day as busy as the busiest
+        @Override
+        public double bound(Schedule partial) {
+            return 0;
+        }
+
+        // classes added later never make the busiest day quieter, and make the quietest day busier by at most their
+        // own length
+        @Override
+        public double bound(Schedule partial, int minutesLeft) {
+            return -Math.max(0, daySpread(partial) - minutesLeft);
+        }
+    };
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final String description;
+
+    ScheduleCriterion(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    // EFFECTS: returns the number of distinct (term, day) pairs with at least one class in schedule
+    private static int daysOnCampus(Schedule schedule) {
+        long seen = 0;
+        int days = 0;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                int key = dayKey(s.timeslotAt(j));
+                if (key >= 0 && key < Long.SIZE) {
+                    days += (seen & 1L << key) == 0 ? 1 : 0;
+                    seen |= 1L << key;
+                } else if (isFirstOfDay(schedule, i, j, key)) {
+                    days++;
+                }
+            }
+        }
+        return days;
+    }
+
+    // EFFECTS: returns true if no timeslot before timeslot j of section i in schedule has the given day key
+    private static boolean isFirstOfDay(Schedule schedule, int i, int j, int key) {
+        for (int k = 0; k <= i; k++) {
+            Section s = schedule.sectionAt(k);
+            for (int m = 0; m < (k == i ? j : s.numTimeslots()); m++) {
+                if (dayKey(s.timeslotAt(m)) == key) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the earliest start time of any class in schedule, in minutes after midnight,
+    //          or the number of minutes in a day if schedule has no classes
+    private static int earliestStart(Schedule schedule) {
+        int earliest = MINUTES_PER_DAY;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                earliest = Math.min(earliest, minuteOfDay(s.timeslotAt(j).getStartMinute()));
+            }
+        }
+        return earliest;
+    }
+
+    // REQUIRES: schedule has no time conflicts
+    // EFFECTS: returns the total number of minutes between consecutive classes on the same day of the same term
+    private static int gapMinutes(Schedule schedule) {
+        int gaps = 0;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                Timeslot t = s.timeslotAt(j);
+                int previousEnd = previousEnd(schedule, t);
+                if (previousEnd >= 0) {
+                    gaps += Math.max(0, t.getStartMinute() - previousEnd);
+                }
+            }
+        }
+        return gaps;
+    }
+
+    // EFFECTS: returns the difference between the most and the fewest minutes of classes on any (term, day) pair with
+    //          at least one class in schedule, or 0 if schedule has no classes
+    private static int daySpread(Schedule schedule) {
+        int busiest = 0;
+        int quietest = Integer.MAX_VALUE;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                int key = dayKey(s.timeslotAt(j));
+                if (isFirstOfDay(schedule, i, j, key)) {
+                    int minutes = minutesOnDay(schedule, key);
+                    busiest = Math.max(busiest, minutes);
+                    quietest = Math.min(quietest, minutes);
+                }
+            }
+        }
+        return quietest == Integer.MAX_VALUE ? 0 : busiest - quietest;
+    }
+
+    // EFFECTS: returns the total length in minutes of the classes in schedule on the day with the given day key
+    private static int minutesOnDay(Schedule schedule, int key) {
+        int minutes = 0;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                Timeslot t = s.timeslotAt(j);
+                minutes += dayKey(t) == key ? t.getDurationMinutes() : 0;
+            }
+        }
+        return minutes;
+    }
+
+    // REQUIRES: schedule has no time conflicts
+    // EFFECTS: returns the end, in minutes after the start of the week, of the class in schedule that comes last
+    //          before t on the same day of the same term, or -1 if t is the first class of its day
+    private static int previousEnd(Schedule schedule, Timeslot t) {
+        Timeslot previous = null;
+        for (int i = 0; i < schedule.numSections(); i++) {
+            Section s = schedule.sectionAt(i);
+            for (int j = 0; j < s.numTimeslots(); j++) {
+                Timeslot other = s.timeslotAt(j);
+                if (dayKey(other) == dayKey(t) && other.getStartMinute() < t.getStartMinute()
+                        && (previous == null || other.getStartMinute() > previous.getStartMinute())) {
+                    previous = other;
+                }
+            }
+        }
+        return previous == null ? -1 : previous.getEndMinute();
+    }
+
+    // EFFECTS: returns a number identifying the term and day of t
+    private static int dayKey(Timeslot t) {
+        return t.getTerm() * 8 + t.getStartMinute() / MINUTES_PER_DAY;
+    }
+
+    // EFFECTS: returns the given minute of the week as a minute of the day
+    private static int minuteOfDay(int minuteOfWeek) {
+        return minuteOfWeek % MINUTES_PER_DAY;
+    }
+}
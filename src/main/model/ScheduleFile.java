@@ -0,0 +1,131 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Represents a list of schedules that all have the same number of courses, stored in a memory-mapped file so that
+    there can be more of them than fit in memory
+
+    NOTE: each schedule is a fixed-width row of bundle numbers, two bytes each if the bundles can be numbered with
+          a char and four bytes each otherwise. The file is mapped in chunks that each hold a whole number of rows,
+          so any schedule can be read without reading the ones before it. Each call to get builds a new Schedule.
+          Some systems (such as Windows) cannot truncate or delete a file while it is still mapped, and a mapping
+          only goes away when it is garbage collected. So a new list overwrites the file rather than truncating it,
+          and closing the list deletes the file if it can, or when the program exits otherwise
+*/
+public class ScheduleFile extends AbstractList<Schedule> implements Closeable {
+    private static final int CHUNK_BYTES = 1 << 26;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final SectionIndex index;
+    private final int width;
+    private final int entryBytes;
+    private final int rowsPerChunk;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private int size;
+    private boolean complete;
+    private boolean closed;
+
+    // REQUIRES: width > 0
+    // EFFECTS: constructs an empty list of schedules with width bundles of index each, stored in the file at path,
+    //          overwriting anything already in the file
+    //          throws IOException if the file cannot be opened for writing
+    ScheduleFile(Path path, int width, SectionIndex index) throws IOException {
+        this.path = path;
+        this.index = index;
+        this.width = width;
+        entryBytes = index.numBundles() <= Character.MAX_VALUE + 1 ? Character.BYTES : Integer.BYTES;
+        rowsPerChunk = CHUNK_BYTES / (width * entryBytes);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns a new Schedule holding the sections of the schedule at position i, read from the file
+    //          throws IndexOutOfBoundsException if i < 0 or i >= size()
+    //          throws IllegalStateException if this list has been closed
+    @Override
+    public Schedule get(int i) {
+        if (closed) {
+            throw new IllegalStateException("Schedule file is closed");
+        }
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        MappedByteBuffer chunk = chunks.get(i / rowsPerChunk);
+        int start = (i % rowsPerChunk) * width * entryBytes;
+        Schedule schedule = new Schedule(width);
+        for (int c = 0; c < width; c++) {
+            int position = start + c * entryBytes;
+            int bundle = entryBytes == Character.BYTES ? chunk.getChar(position) : chunk.getInt(position);
+            schedule.fillBundle(index.getBundle(bundle));
+        }
+        return schedule;
+    }
+
+    // EFFECTS: returns true if every valid schedule was written to this list, false if the search was stopped early
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops using the file and deletes it, or arranges for it to be deleted when the program exits if it is
+    //          still mapped and cannot be deleted yet; does nothing if this list has been closed already
+    //          throws IOException if the file cannot be closed
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            chunks.clear();
+            channel.close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records whether every valid schedule was written to this list
+    void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    // REQUIRES: chosen holds at least width bundle numbers of the index this list was constructed with,
+    //           size() < Integer.MAX_VALUE, and this list has not been closed
+    // MODIFIES: this
+    // EFFECTS: writes the schedule made of the first width bundles in chosen to the end of this list
+    //          throws IOException if the file cannot be extended
+    void add(int[] chosen) throws IOException {
+        if (size % rowsPerChunk == 0) {
+            long chunkBytes = (long) rowsPerChunk * width * entryBytes;
+            chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * chunkBytes, chunkBytes));
+        }
+        MappedByteBuffer chunk = chunks.get(chunks.size() - 1);
+        int position = (size % rowsPerChunk) * width * entryBytes;
+        for (int c = 0; c < width; c++) {
+            if (entryBytes == Character.BYTES) {
+                chunk.putChar(position, (char) chosen[c]);
+            } else {
+                chunk.putInt(position, chosen[c]);
+            }
+            position += entryBytes;
+        }
+        size++;
+    }
+}
@@ -0,0 +1,346 @@
+package model;
+
+import exceptions.ScheduleSizeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+    Represents the valid schedules of a course list, kept up to date as the course list is edited
+
+    NOTE: after each update, the courses, sections, activities and timeslots of the course list are remembered. On the
+          next update with the same schedule size, edits that only take options away (deleting a course or section,
+          or adding a timeslot) are handled by dropping the kept schedules they break. Edits that add options (adding
+          a section or elective, deleting a timeslot, or moving a section to another activity) are handled by
+          searching only for the schedules that contain the changed sections. Changing which courses are required or
+          which activities a course has, or the schedule size, needs a full search, and so does any update after one
+          that was stopped early. Schedules are only kept while there are at most maxKept of them. If the course list
+          has a schedule cache, a full search looks there first, and its result is added to the cache if it finishes
+*/
+public class ScheduleRecalculator {
+    private final CourseList courseList;
+    private final int maxKept;
+    private int numCourses;
+    private long count;
+    private ScheduleSet kept;
+    private ScheduleCounter counter;
+    private boolean incremental;
+    private boolean complete;
+    private SearchControl control;
+    private SearchProgressListener listener;
+    private Map<Course, Boolean> requiredAt = new IdentityHashMap<>();
+    private Map<Section, Set<Timeslot>> timeslotsAt = new IdentityHashMap<>();
+    private Map<Section, String> activityAt = new IdentityHashMap<>();
+    private Map<Course, Set<String>> activitiesAt = new IdentityHashMap<>();
+
+    // REQUIRES: maxKept >= 0
+    // EFFECTS: constructs a ScheduleRecalculator for the given course list that keeps at most maxKept schedules,
+    //          with no schedules calculated yet
+    public ScheduleRecalculator(CourseList courseList, int maxKept) {
+        this.courseList = courseList;
+        this.maxKept = maxKept;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if numCourses is not a valid schedule size (see CourseList.allValidSchedules), throws
+    //          ScheduleSizeException
+    //          otherwise, brings the schedules up to date with the course list and returns the number of valid
+    //          schedules with numCourses courses
+    public long update(int numCourses) throws ScheduleSizeException {
+        return update(numCourses, new SearchControl(), null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: like update(numCourses), but if control stops the search first, keeps the schedules found so far,
+    //          returns how many there are and marks the update as not complete. Reports the progress of each search
+    //          to listener unless it is null
+    //
+    // NOTE:    the course list is remembered before searching, so edits made while the search runs are picked up by
+    //          the next update. If there are more than maxKept schedules, they are counted under the same control;
+    //          a count stopped by it is the number of schedules in the branches it finished, and the update is
+    //          marked as not complete
+    public long update(int numCourses, SearchControl control, SearchProgressListener listener)
+            throws ScheduleSizeException {
+        courseList.checkScheduleSize(numCourses);
+        Changes changes = complete && kept != null && numCourses == this.numCourses ? findChanges() : null;
+        incremental = changes != null && !changes.needsFullSearch;
+        this.numCourses = numCourses;
+        this.control = control;
+        this.listener = listener;
+        takeSnapshot();
+        complete = true;
+        if (incremental) {
+            applyChanges(changes);
+        } else {
+            searchAll();
+        }
+        counter = kept == null ? courseList.scheduleCounter(numCourses) : null;
+        count = kept == null ? countAll() : kept.size();
+        return count;
+    }
+
+    // REQUIRES: sampleSize >= 0, and there has been an update
+    // MODIFIES: this
+    // EFFECTS: returns sampleSize different schedules chosen uniformly at random from those counted by the last
+    //          update, or all of them in random order if there are no more than sampleSize; when there were too many
+    //          to keep, they are sampled from the counts of the last update rather than counted again
+    //
+    // NOTE:    the course list must not have changed since the last update
+    public List<Schedule> sample(int sampleSize, Random random) {
+        if (kept == null) {
+            return counter.sample(sampleSize, random);
+        }
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(sampleSize, kept.size())) {
+            picked.add(random.nextInt(kept.size()));
+        }
+        List<Schedule> sample = new ArrayList<>();
+        for (int i : picked) {
+            sample.add(kept.get(i));
+        }
+        return sample;
+    }
+
+    // EFFECTS: returns the schedules found by the last update, or null if there were more than maxKept of them or
+    //          there has not been an update
+    public ScheduleSet getSchedules() {
+        return kept;
+    }
+
+    // EFFECTS: returns true if the last update reused the schedules of the update before it
+    public boolean wasIncremental() {
+        return incremental;
+    }
+
+    // EFFECTS: returns true if the last update finished, false if it was stopped early
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the kept schedules with all valid schedules, taken from the course list's schedule cache if
+    //          they are there, and adds them to the cache if they are not and the search finishes; drops the kept
+    //          schedules if there are more than maxKept
+    private void searchAll() {
+        ScheduleCache cache = courseList.getScheduleCache();
+        ScheduleCache.Key key = cache == null ? null : cache.keyFor(courseList.getCourses(), numCourses);
+        kept = key == null ? null : cache.get(key);
+        if (kept != null && kept.size() > maxKept) {
+            kept = null;
+        } else if (kept == null) {
+            kept = new ScheduleSet(numCourses);
+            addSchedules(new ScheduleCalculator(numCourses, new SectionIndex(courseList.getCourses())));
+            if (key != null && kept != null && complete) {
+                cache.put(key, kept);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts the valid schedules with counter under control and returns the count, marking this update as
+    //          not complete if control stops it
+    private long countAll() {
+        counter.limit(control);
+        long total = counter.countValidSchedules();
+        complete = complete && !counter.wasStopped();
+        return total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the kept schedules broken by changes and adds the schedules made possible by them, then drops
+    //          the bundles no kept schedule uses any more, so that bundles from earlier updates do not pile up
+    private void applyChanges(Changes changes) {
+        if (!changes.removed.isEmpty() || !changes.tightened.isEmpty() || !changes.loosened.isEmpty()) {
+            boolean[] dropped = markIds(changes.removed, changes.loosened);
+            boolean[] recheck = markIds(changes.tightened, Collections.emptySet());
+            ScheduleSet stillValid = kept.emptyCopy();
+            for (int row = 0; row < kept.size(); row++) {
+                if (isStillValid(row, dropped, recheck)) {
+                    stillValid.addRow(kept, row);
+                }
+            }
+            kept = stillValid;
+        }
+        addSchedulesContaining(new ArrayList<>(changes.loosened));
+        if (kept != null) {
+            kept = kept.compact();
+        }
+    }
+
+    // EFFECTS: returns an array marking the numbers the kept schedules give to the bundles that contain a section in
+    //          either set
+    private boolean[] markIds(Set<Section> sections, Set<Section> moreSections) {
+        boolean[] marked = new boolean[kept.numBundleIds()];
+        for (int id = 0; id < marked.length; id++) {
+            SectionBundle bundle = kept.bundleForId(id);
+            for (int i = 0; i < bundle.size() && !marked[id]; i++) {
+                Section s = bundle.getSection(i);
+                marked[id] = sections.contains(s) || moreSections.contains(s);
+            }
+        }
+        return marked;
+    }
+
+    // EFFECTS: returns false if the kept schedule at row has a dropped bundle, or a bundle to recheck that now
+    //          conflicts with itself or with another of its bundles; returns true otherwise
+    private boolean isStillValid(int row, boolean[] dropped, boolean[] recheck) {
+        boolean needsCheck = false;
+        for (int c = 0; c < kept.width(); c++) {
+            int id = kept.idAt(row, c);
+            if (dropped[id]) {
+                return false;
+            }
+            needsCheck = needsCheck || recheck[id];
+        }
+        if (needsCheck) {
+            Schedule schedule = new Schedule(kept.width());
+            for (int c = 0; c < kept.width(); c++) {
+                if (!schedule.fillBundle(kept.bundleAt(row, c))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every valid schedule that contains at least one of the given sections, stopping and dropping the
+    //          kept schedules if there turn out to be more than maxKept
+    private void addSchedulesContaining(List<Section> changed) {
+        SectionIndex index = new SectionIndex(courseList.getCourses());
+        long[] allowed = index.allBundles();
+        for (Section section : changed) {
+            List<Integer> bundles = index.bundlesContaining(section);
+            for (int b : bundles) {
+                if (SectionIndex.contains(allowed, b) && !addSchedulesStartingWith(index, b, allowed)) {
+                    return;
+                }
+            }
+            for (int b : bundles) {
+                SectionIndex.remove(allowed, b);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every valid schedule that contains the given bundle and otherwise only bundles in allowed, and
+    //          returns true, or drops the kept schedules and returns false if there turn out to be more than maxKept
+    private boolean addSchedulesStartingWith(SectionIndex index, int bundle, long[] allowed) {
+        int course = index.courseOf(bundle);
+        if (course >= index.numRequired() && index.numRequired() >= numCourses) {
+            return true;
+        }
+        long[] available = index.newBundleSet();
+        index.removeConflicts(allowed, bundle, available);
+        boolean[] decided = new boolean[index.numCourses()];
+        decided[course] = true;
+        return addSchedules(new ScheduleCalculator(numCourses, index, new int[]{bundle}, decided, 1, available));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the remaining schedules of calculator to kept and returns true, or drops the kept schedules and
+    //          returns false if there are more than maxKept. Marks this update as not complete if control stops the
+    //          search
+    private boolean addSchedules(ScheduleCalculator calculator) {
+        calculator.limit(control, listener);
+        while (calculator.hasNext()) {
+            if (kept.size() >= maxKept) {
+                kept = null;
+                return false;
+            }
+            calculator.addNextTo(kept);
+        }
+        complete = complete && !calculator.wasStopped();
+        return complete;
+    }
+
+    // EFFECTS: returns the differences between the course list and the snapshot taken by the last update
+    private Changes findChanges() {
+        Changes changes = new Changes();
+        Set<Course> presentCourses = identitySet();
+        Set<Section> presentSections = identitySet();
+        for (Course c : courseList) {
+            presentCourses.add(c);
+            Boolean required = requiredAt.get(c);
+            if (required == null ? c.getRequired() : required != c.getRequired()) {
+                changes.needsFullSearch = true;
+            }
+            if (required != null && !activitiesAt.get(c).equals(c.getActivities())) {
+                changes.needsFullSearch = true;
+            }
+            for (Section s : c) {
+                presentSections.add(s);
+                compareTimeslots(s, changes);
+            }
+        }
+        findRemovals(presentCourses, presentSections, changes);
+        return changes;
+    }
+
+    // MODIFIES: changes
+    // EFFECTS: records the sections in the snapshot that are not present any more, and whether a required course
+    //          was removed
+    private void findRemovals(Set<Course> presentCourses, Set<Section> presentSections, Changes changes) {
+        for (Map.Entry<Course, Boolean> entry : requiredAt.entrySet()) {
+            if (entry.getValue() && !presentCourses.contains(entry.getKey())) {
+                changes.needsFullSearch = true;
+            }
+        }
+        for (Section s : timeslotsAt.keySet()) {
+            if (!presentSections.contains(s)) {
+                changes.removed.add(s);
+            }
+        }
+    }
+
+    // MODIFIES: changes
+    // EFFECTS: records section as loosened if it is new, lost a timeslot or changed activity, or as tightened if it
+    //          only gained some timeslots
+    private void compareTimeslots(Section section, Changes changes) {
+        Set<Timeslot> before = timeslotsAt.get(section);
+        if (before == null || !section.getTimeslots().containsAll(before)
+                || !section.getActivity().equalsIgnoreCase(activityAt.get(section))) {
+            changes.loosened.add(section);
+        } else if (before.size() != section.numTimeslots()) {
+            changes.tightened.add(section);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remembers the courses, sections, activities and timeslots currently in the course list
+    private void takeSnapshot() {
+        requiredAt.clear();
+        timeslotsAt.clear();
+        activityAt.clear();
+        activitiesAt.clear();
+        for (Course c : courseList) {
+            requiredAt.put(c, c.getRequired());
+            activitiesAt.put(c, c.getActivities());
+            for (Section s : c) {
+                timeslotsAt.put(s, s.getTimeslots());
+                activityAt.put(s, s.getActivity());
+            }
+        }
+    }
+
+    // EFFECTS: returns an empty set that compares its elements by identity
+    private static <T> Set<T> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /*
+        Represents the edits made to a course list since the last update
+    */
+    private static class Changes {
+        private boolean needsFullSearch;
+        private final Set<Section> removed = identitySet();
+        private final Set<Section> tightened = identitySet();
+        private final Set<Section> loosened = identitySet();
+    }
+}
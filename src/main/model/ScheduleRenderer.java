@@ -0,0 +1,49 @@
+package model;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/*
+    Represents a way of writing out the schedules of one result set as text, one section per line
+
+    NOTE: the text of each section is worked out the first time the section is written and reused for every later
+          schedule it is in, so a renderer should only be used for schedules calculated together, and thrown away
+          once the course list is edited. Writing to a buffered Appendable keeps the output from being flushed after
+          every line
+*/
+public class ScheduleRenderer {
+    private final boolean withTimes;
+    private final Map<Section, String> lines = new IdentityHashMap<>();
+
+    // EFFECTS: constructs a renderer that writes each section as its course and name, followed by its times (see
+    //          Section.scheduleRepresentation) if withTimes is true
+    public ScheduleRenderer(boolean withTimes) {
+        this.withTimes = withTimes;
+    }
+
+    // MODIFIES: this, out
+    // EFFECTS: appends the sections of schedule to out, each followed by a newline; with withTimes false, this is
+    //          the same text as schedule.toString(). Throws IOException if out does
+    public void render(Schedule schedule, Appendable out) throws IOException {
+        for (Section s : schedule) {
+            out.append(lineFor(s)).append('\n');
+        }
+    }
+
+    // EFFECTS: returns the number of sections whose text this renderer has worked out
+    public int numCached() {
+        return lines.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the text of section, working it out if it has not been written before
+    private String lineFor(Section section) {
+        String line = lines.get(section);
+        if (line == null) {
+            line = withTimes ? section.scheduleRepresentation() : section.toString();
+            lines.put(section, line);
+        }
+        return line;
+    }
+}
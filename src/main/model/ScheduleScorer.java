@@ -0,0 +1,20 @@
+package model;
+
+/*
+    Represents a way of rating schedules, where a higher score means a better schedule
+*/
+public interface ScheduleScorer {
+
+    // EFFECTS: returns the score of a complete schedule
+    double score(Schedule schedule);
+
+    // EFFECTS: returns a score that no schedule made by adding sections to partial can beat
+    //          (returning Double.POSITIVE_INFINITY is always correct, but means no part of the search can be skipped)
+    double bound(Schedule partial);
+
+    // EFFECTS: returns a score that no schedule made by adding classes lasting minutesLeft minutes or less in total to
+    //          partial can beat; by default the same as bound(partial)
+    default double bound(Schedule partial, int minutesLeft) {
+        return bound(partial);
+    }
+}
@@ -0,0 +1,116 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+    Represents the part of the schedule search that starts with a given choice of bundles for the first courses,
+    run on a ForkJoinPool
+
+    NOTE: tasks for the first few courses split into one subtask per available bundle (plus one that leaves the
+          course out, for electives), picking the course to split on the same way ScheduleCalculator does. Deeper
+          tasks run a sequential ScheduleCalculator. Every task returns its own list and a parent appends its
+          subtasks' lists in branch order, so no locking is needed and the schedules come out in the same order as
+          the sequential search
+*/
+class ScheduleSearchTask extends RecursiveTask<List<Schedule>> {
+    private static final long serialVersionUID = 1L;
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final SectionIndex index;
+    private final int numCourses;
+    private final int splitDepth;
+    private final int[] prefix;
+    private final boolean[] decided;
+    private final int numDecided;
+    private final long[] available;
+
+    // EFFECTS: constructs a task for the schedules starting with prefix, which decides the numDecided courses marked
+    //          in decided
+    private ScheduleSearchTask(SectionIndex index, int n, int splitDepth, int[] prefix, boolean[] decided,
+                               int numDecided, long[] available) {
+        this.index = index;
+        this.numCourses = n;
+        this.splitDepth = splitDepth;
+        this.prefix = prefix;
+        this.decided = decided;
+        this.numDecided = numDecided;
+        this.available = available;
+    }
+
+    // REQUIRES: parallelism > 0
+    // EFFECTS: returns all valid schedules with n courses from the courses in index, searching with the given number
+    //          of threads; the schedules are in the same order as ScheduleCalculator.allValidSchedules
+    static List<Schedule> allValidSchedules(int n, SectionIndex index, int parallelism) {
+        int splitDepth = splitDepth(index, parallelism);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ScheduleSearchTask(index, n, splitDepth, new int[0],
+                    new boolean[index.numCourses()], 0, index.allBundles()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // EFFECTS: returns the number of courses to split on so that there are about TASKS_PER_THREAD tasks per thread,
+    //          estimated from the courses in index order
+    private static int splitDepth(SectionIndex index, int parallelism) {
+        long tasks = 1;
+        int depth = 0;
+        while (depth < index.numCourses() && tasks < (long) parallelism * TASKS_PER_THREAD) {
+            int branches = index.endBundle(depth) - index.firstBundle(depth);
+            if (depth >= index.numRequired()) {
+                branches++;
+            }
+            tasks *= Math.max(branches, 1);
+            depth++;
+        }
+        return depth;
+    }
+
+    @Override
+    protected List<Schedule> compute() {
+        if (prefix.length == numCourses || numDecided >= splitDepth) {
+            return new ScheduleCalculator(numCourses, index, prefix, decided, numDecided, available)
+                    .allValidSchedules();
+        }
+        List<ScheduleSearchTask> subtasks = split();
+        invokeAll(subtasks);
+        List<Schedule> schedules = new ArrayList<>();
+        for (ScheduleSearchTask task : subtasks) {
+            schedules.addAll(task.join());
+        }
+        return schedules;
+    }
+
+    // EFFECTS: returns one subtask for each available bundle of the most constrained undecided course, followed by
+    //          a subtask that leaves the course out if that is allowed; returns no subtasks if the prefix cannot be
+    //          completed
+    private List<ScheduleSearchTask> split() {
+        List<ScheduleSearchTask> subtasks = new ArrayList<>();
+        int course = index.mostConstrainedCourse(available, decided, prefix.length, numCourses);
+        if (course == SectionIndex.NO_COURSE) {
+            return subtasks;
+        }
+        boolean[] nowDecided = decided.clone();
+        nowDecided[course] = true;
+        int end = index.endBundle(course);
+        for (int s = SectionIndex.nextBundle(available, index.firstBundle(course), end); s < end;
+                s = SectionIndex.nextBundle(available, s + 1, end)) {
+            int[] longerPrefix = Arrays.copyOf(prefix, prefix.length + 1);
+            longerPrefix[prefix.length] = s;
+            long[] remaining = index.newBundleSet();
+            index.removeConflicts(available, s, remaining);
+            subtasks.add(new ScheduleSearchTask(index, numCourses, splitDepth, longerPrefix, nowDecided,
+                    numDecided + 1, remaining));
+        }
+        if (index.canLeaveOut(course, numDecided, prefix.length, numCourses)) {
+            subtasks.add(new ScheduleSearchTask(index, numCourses, splitDepth, prefix, nowDecided, numDecided + 1,
+                    available));
+        }
+        return subtasks;
+    }
+}
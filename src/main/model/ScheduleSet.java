@@ -0,0 +1,265 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/*
+    Represents a list of schedules that all have the same number of courses, stored compactly: each schedule is a
+    row of bundle numbers packed into one shared array, and a Schedule is only built when it is looked at
+
+    NOTE: bundle numbers refer to a table of section bundles kept by the set, so rows found with different
+          SectionIndexes can be stored together. Rows take two bytes per course until the table has more bundles than
+          a char can number, and four bytes per course after that. Each call to get builds a new Schedule, so
+          changing the Schedule it returns does not change this set
+*/
+public class ScheduleSet extends AbstractList<Schedule> {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int BUNDLE_ENTRY_BYTES = 48;
+    static final int MAX_ENTRIES = Integer.MAX_VALUE - 8;
+
+    private final int width;
+    private final List<SectionBundle> table;
+    private final Map<SectionBundle, Integer> ids;
+    private char[] narrowRows;
+    private int[] wideRows;
+    private int size;
+    private SectionIndex lastIndex;
+    private int[] fromLastIndex;
+
+    // REQUIRES: width > 0
+    // EFFECTS: constructs an empty set of schedules with width courses each
+    ScheduleSet(int width) {
+        this(width, new ArrayList<>(), new IdentityHashMap<>(), INITIAL_CAPACITY);
+    }
+
+    // EFFECTS: constructs an empty set of schedules with width courses each and room for capacity of them,
+    //          numbering bundles with the given table
+    private ScheduleSet(int width, List<SectionBundle> table, Map<SectionBundle, Integer> ids, int capacity) {
+        this.width = width;
+        this.table = table;
+        this.ids = ids;
+        narrowRows = new char[Math.max(capacity, 1) * width];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns a new Schedule holding the sections of the schedule at position i
+    //          throws IndexOutOfBoundsException if i < 0 or i >= size()
+    @Override
+    public Schedule get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        Schedule schedule = new Schedule(width);
+        for (int c = 0; c < width; c++) {
+            schedule.fillBundle(bundleAt(i, c));
+        }
+        return schedule;
+    }
+
+    // EFFECTS: returns a new set of the schedules in this set for which keep returns true, in the same order
+    public ScheduleSet filter(Predicate<Schedule> keep) {
+        ScheduleSet kept = emptyCopy();
+        for (int row = 0; row < size; row++) {
+            if (keep.test(get(row))) {
+                kept.addRow(this, row);
+            }
+        }
+        return kept;
+    }
+
+    // EFFECTS: returns the number of courses in each schedule
+    int width() {
+        return width;
+    }
+
+    // EFFECTS: returns the number of bundles this set has numbered so far
+    int numBundleIds() {
+        return table.size();
+    }
+
+    // EFFECTS: returns the number this set gives bundle, or -1 if it has not numbered it
+    int findId(SectionBundle bundle) {
+        Integer id = ids.get(bundle);
+        return id == null ? -1 : id;
+    }
+
+    // REQUIRES: 0 <= row < size(), 0 <= column < width()
+    // EFFECTS: returns the number of the bundle in the given column of the given row
+    int idAt(int row, int column) {
+        int position = row * width + column;
+        return narrowRows != null ? narrowRows[position] : wideRows[position];
+    }
+
+    // REQUIRES: 0 <= row < size(), 0 <= column < width()
+    // EFFECTS: returns the bundle in the given column of the given row
+    SectionBundle bundleAt(int row, int column) {
+        return table.get(idAt(row, column));
+    }
+
+    // REQUIRES: 0 <= id < numBundleIds()
+    // EFFECTS: returns the bundle this set gives the number id
+    SectionBundle bundleForId(int id) {
+        return table.get(id);
+    }
+
+    // EFFECTS: returns an estimate of the number of bytes of memory used by this set, not counting the bundles
+    long memoryUsed() {
+        long rowBytes = narrowRows != null ? (long) narrowRows.length * Character.BYTES
+                : (long) wideRows.length * Integer.BYTES;
+        return rowBytes + (long) table.size() * BUNDLE_ENTRY_BYTES;
+    }
+
+    // EFFECTS: returns an empty set with the same width that shares this set's bundle numbers
+    ScheduleSet emptyCopy() {
+        return new ScheduleSet(width, table, ids, INITIAL_CAPACITY);
+    }
+
+    // EFFECTS: returns this set if its rows use every bundle it has numbered, otherwise a copy of it, with no room to
+    //          spare, that numbers only the bundles its rows use
+    ScheduleSet compact() {
+        int[] newIds = new int[table.size()];
+        Arrays.fill(newIds, -1);
+        List<SectionBundle> used = new ArrayList<>();
+        for (int i = 0; i < size * width && used.size() < table.size(); i++) {
+            int id = narrowRows != null ? narrowRows[i] : wideRows[i];
+            if (newIds[id] < 0) {
+                newIds[id] = used.size();
+                used.add(table.get(id));
+            }
+        }
+        return used.size() == table.size() ? this : renumber(newIds, used);
+    }
+
+    // REQUIRES: newIds has an entry for every bundle number of this set, each of them an index of bundles, and
+    //           bundles holds no bundle more than once
+    // EFFECTS: returns a copy of this set, with no room to spare, in which bundle number i is replaced by
+    //          newIds[i] and bundle numbers refer to bundles
+    ScheduleSet renumber(int[] newIds, List<SectionBundle> bundles) {
+        ScheduleSet copy = new ScheduleSet(width, new ArrayList<>(bundles), idsOf(bundles), size);
+        for (int row = 0; row < size; row++) {
+            int start = copy.reserveRow();
+            for (int c = 0; c < width; c++) {
+                copy.store(start + c, newIds[idAt(row, c)]);
+            }
+        }
+        return copy;
+    }
+
+    // REQUIRES: bundles has as many bundles as this set has numbered, and holds no bundle more than once
+    // EFFECTS: returns a copy of this set, with no room to spare, in which bundle numbers refer to bundles
+    ScheduleSet withBundles(List<SectionBundle> bundles) {
+        ScheduleSet copy = new ScheduleSet(width, new ArrayList<>(bundles), idsOf(bundles), 0);
+        int length = Math.max(size, 1) * width;
+        copy.narrowRows = narrowRows != null ? Arrays.copyOf(narrowRows, length) : null;
+        copy.wideRows = wideRows != null ? Arrays.copyOf(wideRows, length) : null;
+        copy.size = size;
+        return copy;
+    }
+
+    // EFFECTS: returns a map from each of the bundles to its position in bundles
+    private static Map<SectionBundle, Integer> idsOf(List<SectionBundle> bundles) {
+        Map<SectionBundle, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < bundles.size(); i++) {
+            ids.put(bundles.get(i), i);
+        }
+        return ids;
+    }
+
+    // REQUIRES: chosen holds at least width() bundle numbers of index
+    // MODIFIES: this
+    // EFFECTS: adds the schedule made of the first width() bundles in chosen to the end of this set
+    void add(SectionIndex index, int[] chosen) {
+        if (index != lastIndex) {
+            lastIndex = index;
+            fromLastIndex = new int[index.numBundles()];
+            Arrays.fill(fromLastIndex, -1);
+        }
+        int start = reserveRow();
+        for (int c = 0; c < width; c++) {
+            int id = fromLastIndex[chosen[c]];
+            if (id < 0) {
+                id = idFor(index.getBundle(chosen[c]));
+                fromLastIndex[chosen[c]] = id;
+            }
+            store(start + c, id);
+        }
+    }
+
+    // REQUIRES: from shares this set's bundle numbers (see emptyCopy), 0 <= row < from.size()
+    // MODIFIES: this
+    // EFFECTS: adds the schedule at the given row of from to the end of this set
+    void addRow(ScheduleSet from, int row) {
+        int start = reserveRow();
+        for (int c = 0; c < width; c++) {
+            store(start + c, from.idAt(row, c));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the number of bundle, numbering it first if needed
+    private int idFor(SectionBundle bundle) {
+        Integer id = ids.get(bundle);
+        if (id == null) {
+            id = table.size();
+            table.add(bundle);
+            ids.put(bundle, id);
+        }
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes room for one more row and returns the position where it starts
+    //          throws IllegalStateException if the rows would no longer fit in one array
+    private int reserveRow() {
+        long needed = (long) (size + 1) * width;
+        int capacity = narrowRows != null ? narrowRows.length : wideRows.length;
+        if (needed > capacity) {
+            int grown = grownCapacity(capacity, needed);
+            if (narrowRows != null) {
+                narrowRows = Arrays.copyOf(narrowRows, grown);
+            } else {
+                wideRows = Arrays.copyOf(wideRows, grown);
+            }
+        }
+        size++;
+        return (int) needed - width;
+    }
+
+    // REQUIRES: needed > capacity
+    // EFFECTS: returns the length to grow an array of the given capacity to so that it holds at least needed
+    //          entries, which is half as much again as capacity if that is enough, but no more than MAX_ENTRIES
+    //          throws IllegalStateException if needed is more than MAX_ENTRIES
+    static int grownCapacity(int capacity, long needed) {
+        if (needed > MAX_ENTRIES) {
+            throw new IllegalStateException("Schedule set cannot hold more than " + MAX_ENTRIES + " bundle numbers");
+        }
+        long grown = Math.max(needed, capacity + (long) (capacity >> 1));
+        return (int) Math.min(grown, MAX_ENTRIES);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stores id at the given position, switching to wide rows if id does not fit in a char
+    private void store(int position, int id) {
+        if (narrowRows != null && id > Character.MAX_VALUE) {
+            wideRows = new int[narrowRows.length];
+            for (int i = 0; i < narrowRows.length; i++) {
+                wideRows[i] = narrowRows[i];
+            }
+            narrowRows = null;
+        }
+        if (narrowRows != null) {
+            narrowRows[position] = (char) id;
+        } else {
+            wideRows[position] = id;
+        }
+    }
+}
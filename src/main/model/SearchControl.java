@@ -0,0 +1,54 @@
+package model;
+
+import java.time.Duration;
+
+/*
+    Represents a way to stop a schedule search early: by a time limit, by calling cancel from another thread, or both
+
+    NOTE: a search checks its control every few thousand steps, so it stops shortly after the time limit passes or
+          cancel is called, not at once
+*/
+public class SearchControl {
+    private final long deadline;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+    private volatile boolean stopped;
+
+    // EFFECTS: constructs a control with no time limit that has not been cancelled
+    public SearchControl() {
+        deadline = 0;
+        hasDeadline = false;
+    }
+
+    // REQUIRES: timeLimit is not negative
+    // EFFECTS: constructs a control that stops searches once timeLimit has passed from now
+    public SearchControl(Duration timeLimit) {
+        deadline = System.nanoTime() + timeLimit.toNanos();
+        hasDeadline = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks every search using this control to stop
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // EFFECTS: returns true if a search using this control stopped before it was finished
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true and records that a search stopped if this control has been cancelled or its time limit
+    //          has passed, otherwise returns false
+    boolean shouldStop() {
+        if (cancelled || (hasDeadline && System.nanoTime() - deadline >= 0)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+}
@@ -0,0 +1,10 @@
+package model;
+
+/*
+    Represents something that is told how far a schedule search has got
+*/
+public interface SearchProgressListener {
+    // EFFECTS: reacts to a search that has taken nodes steps and found schedules schedules, and has covered about the
+    //          given fraction (from 0 to 1) of everything it has to search
+    void progress(long nodes, long schedules, double fraction);
+}
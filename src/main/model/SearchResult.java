@@ -0,0 +1,33 @@
+package model;
+
+import java.util.List;
+
+/*
+    Represents the schedules found by a search that may have been stopped early
+*/
+public class SearchResult {
+    private final List<Schedule> schedules;
+    private final boolean complete;
+    private final long nodes;
+
+    // EFFECTS: constructs a result holding schedules, found in nodes search steps by a search that finished if
+    //          complete is true, or was stopped early otherwise
+    public SearchResult(List<Schedule> schedules, boolean complete, long nodes) {
+        this.schedules = schedules;
+        this.complete = complete;
+        this.nodes = nodes;
+    }
+
+    // getters
+    public List<Schedule> getSchedules() {
+        return schedules;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getNodesExplored() {
+        return nodes;
+    }
+}
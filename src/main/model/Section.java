@@ -1,31 +1,44 @@
 package model;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import persistence.Writable;
-
 import java.time.DayOfWeek;
 import java.util.*;
 
 /*
-    Represents a section of a course with associated times
+    Represents a section of a course with an activity (e.g. lecture, lab or tutorial) and associated times
+
+    NOTE: a schedule that includes a course has one section of each of the course's activities. Changes to a section
+          are reported to its course, which keeps the combinations of its sections that can be taken together. The
+          timeslots are kept as an interned TimePattern, so sections that meet at the same times share them and
+          adding or deleting a timeslot swaps in another pattern rather than changing the current one
 */
-public class Section implements Writable, Iterable<Timeslot> {
+public class Section implements Iterable<Timeslot> {
+    public static final String DEFAULT_ACTIVITY = "Lecture";
+
     private String name;
+    private String activity;
     private Course course;
-    private Set<Timeslot> times;
+    private TimePattern times;
+    private Object loadedWith;
 
     // REQUIRES: the new section has a different name from any other section in the same course
-    // EFFECTS: otherwise constructs a new section of given course with given name and no timeslots
+    // EFFECTS: otherwise constructs a new lecture section of given course with given name and no timeslots
     //          if section name is empty, names the section "New Section"
     public Section(String name, Course course) {
+        this(name, DEFAULT_ACTIVITY, course);
+    }
+
+    // REQUIRES: the new section has a different name from any other section in the same course
+    // EFFECTS: otherwise constructs a new section of given course with given name and activity, and no timeslots
+    //          if section name is empty, names the section "New Section"; if activity is empty, makes it a lecture
+    public Section(String name, String activity, Course course) {
         if (name.equals("")) {
             this.name = "New Section";
         } else {
             this.name = name;
         }
+        this.activity = activity.equals("") ? DEFAULT_ACTIVITY : activity;
         this.course = course;
-        this.times = new HashSet<>();
+        this.times = TimePattern.EMPTY;
     }
 
     // getters
@@ -35,16 +48,52 @@ public class Section implements Writable, Iterable<Timeslot> {
 
     public void setName(String name) {
         this.name = name;
+        notifyCourse();
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    // MODIFIES: this, course of this section
+    // EFFECTS: sets the activity of this section, making it a lecture if activity is empty
+    public void setActivity(String activity) {
+        this.activity = activity.equals("") ? DEFAULT_ACTIVITY : activity;
+        notifyCourse();
     }
 
     public Course getCourse() {
         return course;
     }
 
+    // MODIFIES: this
+    // EFFECTS: makes this section belong to course
+    void setCourse(Course course) {
+        this.course = course;
+    }
+
+    // EFFECTS: returns an unmodifiable set of the timeslots of this section, ordered by term, start time and end time;
+    //          later changes to this section do not change the returned set
     public Set<Timeslot> getTimeslots() {
         return times;
     }
 
+    // REQUIRES: 0 <= i < numTimeslots()
+    // EFFECTS: returns the i-th timeslot of this section, in the order of getTimeslots
+    Timeslot timeslotAt(int i) {
+        return times.get(i);
+    }
+
+    // EFFECTS: returns the bitmap of the week blocks touched by this section's timeslots
+    long[] getOccupancy() {
+        return times.getOccupancy();
+    }
+
+    // EFFECTS: returns true if the occupancy bitmap marks exactly the time taken by this section's timeslots
+    boolean hasExactOccupancy() {
+        return times.isExact();
+    }
+
     // MODIFIES: this
     // EFFECTS: if there is not already a timeslot with conflicting time, adds given timeslot to this section
     //          and returns true; otherwise returns false
@@ -54,7 +103,8 @@ public class Section implements Writable, Iterable<Timeslot> {
                 return false;
             }
         }
-        times.add(timeslot);
+        times = times.with(timeslot);
+        notifyCourse();
         return true;
     }
 
@@ -62,7 +112,27 @@ public class Section implements Writable, Iterable<Timeslot> {
     // EFFECTS: if the given timeslot or a timeslot with identical time is in this section, removes it and returns true
     //          otherwise returns false
     public boolean deleteTimeslot(Timeslot timeslot) {
-        return times.remove(timeslot);
+        TimePattern fewer = times.without(timeslot);
+        if (fewer == times) {
+            return false;
+        }
+        times = fewer;
+        notifyCourse();
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: holds on to the sections this section was loaded with, so that its course does not drop them while
+    //          this section is in use
+    void keepWith(Object sections) {
+        loadedWith = sections;
+    }
+
+    // EFFECTS: tells the course of this section, if it has one, that this section has changed
+    private void notifyCourse() {
+        if (course != null) {
+            course.sectionChanged();
+        }
     }
 
     // EFFECTS: returns the number of timeslots in this section
@@ -77,6 +147,12 @@ public class Section implements Writable, Iterable<Timeslot> {
 
     // EFFECTS: returns true if the timeslots of this section conflict with the timeslots of other
     public boolean overlaps(Section other) {
+        if (!Occupancy.intersects(times.getOccupancy(), other.times.getOccupancy())) {
+            return false;
+        }
+        if (times == other.times || times.isExact() && other.times.isExact()) {
+            return true;
+        }
         for (Timeslot t1 : times) {
             for (Timeslot t2 : other) {
                 if (t1.overlaps(t2)) {
@@ -92,43 +168,23 @@ public class Section implements Writable, Iterable<Timeslot> {
         return course.getName() + " " + name;
     }
 
+    // EFFECTS: returns this section followed by its times, with the days that share a term, start time and end time
+    //          grouped together, e.g. "CPSC210 101: Term 1 12:00-13:00 MWF\t"
     public String scheduleRepresentation() {
-        String result = course.getName() + " " + name + ": ";
-        HashMap<String, List<DayOfWeek>> sectionGroups = new HashMap<>();
+        Map<String, EnumSet<DayOfWeek>> sectionGroups = new LinkedHashMap<>();
         for (Timeslot t : times) {
             String termAndTime = "Term " + t.getTerm() + " " + t.getStartTime() + "-" + t.getEndTime();
-            if (sectionGroups.containsKey(termAndTime)) {
-                sectionGroups.get(termAndTime).add(t.getDayOfWeek());
-            } else {
-                List<DayOfWeek> days = new ArrayList<>();
-                days.add(t.getDayOfWeek());
-                sectionGroups.put(termAndTime, days);
-            }
+            sectionGroups.computeIfAbsent(termAndTime, key -> EnumSet.noneOf(DayOfWeek.class)).add(t.getDayOfWeek());
         }
-        for (String termAndTime : sectionGroups.keySet()) {
-            result += termAndTime + " ";
-            List<DayOfWeek> days = sectionGroups.get(termAndTime);
-            Collections.sort(days);
-            for (DayOfWeek day : days) {
-                result += getAbbreviation(day);
+        StringBuilder result = new StringBuilder(toString()).append(": ");
+        for (Map.Entry<String, EnumSet<DayOfWeek>> group : sectionGroups.entrySet()) {
+            result.append(group.getKey()).append(' ');
+            for (DayOfWeek day : group.getValue()) {
+                result.append(getAbbreviation(day));
             }
-            result += "\t";
-        }
-        return result;
-    }
-
-    @Override
-    public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        JSONArray timesList = new JSONArray();
-
-        for (Timeslot t : times) {
-            timesList.put(t.toJson());
+            result.append('\t');
         }
-
-        json.put("name", name);
-        json.put("times", timesList);
-        return json;
+        return result.toString();
     }
 
     @Override
@@ -0,0 +1,93 @@
+package model;
+
+import java.util.Arrays;
+
+/*
+    Represents one way of taking a course: one section of each of the course's activities (e.g. a lecture, a lab and a
+    tutorial), none of which conflict with each other
+
+    NOTE: the occupancy of a bundle marks the blocks of all of its sections, so two bundles that do not intersect are
+          known not to conflict without comparing their sections
+*/
+final class SectionBundle {
+    private final Section[] sections;
+    private final long[] occupancy;
+    private final boolean exactOccupancy;
+
+    // REQUIRES: sections is not empty, and no two of the sections conflict
+    // EFFECTS: constructs a bundle of the given sections
+    SectionBundle(Section... sections) {
+        this.sections = sections;
+        long[] merged = Occupancy.empty();
+        boolean exact = true;
+        for (Section s : sections) {
+            if (s.getOccupancy().length > merged.length) {
+                merged = Arrays.copyOf(merged, s.getOccupancy().length);
+            }
+            Occupancy.or(merged, s.getOccupancy());
+            exact = exact && s.hasExactOccupancy();
+        }
+        occupancy = merged;
+        exactOccupancy = exact;
+    }
+
+    // EFFECTS: returns the number of sections in this bundle
+    int size() {
+        return sections.length;
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the i-th section of this bundle
+    Section getSection(int i) {
+        return sections[i];
+    }
+
+    // EFFECTS: returns the total length in minutes of the classes of the sections in this bundle
+    int minutes() {
+        int minutes = 0;
+        for (Section s : sections) {
+            for (int i = 0; i < s.numTimeslots(); i++) {
+                minutes += s.timeslotAt(i).getDurationMinutes();
+            }
+        }
+        return minutes;
+    }
+
+    // EFFECTS: returns the course the sections of this bundle belong to
+    Course getCourse() {
+        return sections[0].getCourse();
+    }
+
+    // EFFECTS: returns true if section is one of the sections of this bundle
+    boolean contains(Section section) {
+        for (Section s : sections) {
+            if (s == section) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns true if a section of this bundle conflicts with a section of other
+    boolean overlaps(SectionBundle other) {
+        if (!Occupancy.intersects(occupancy, other.occupancy)) {
+            return false;
+        }
+        if (exactOccupancy && other.exactOccupancy) {
+            return true;
+        }
+        for (Section s : sections) {
+            for (Section t : other.sections) {
+                if (s.overlaps(t)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(sections);
+    }
+}
@@ -0,0 +1,267 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+    Represents a course list compiled for schedule calculation: courses are numbered with required courses first,
+    the bundles of each course (see Course.getBundles) are numbered consecutively, and every pair of conflicting
+    bundles is recorded once in a bitset matrix so that the search never has to compare timeslots
+
+    NOTE: courses and sections are ordered by name, so the numbering does not depend on HashSet iteration order.
+          The numbering does not fix the order the search fills courses in: it asks mostConstrainedCourse which
+          course to branch on next. A course with one activity has one bundle for each of its sections, so the search
+          chooses between bundles exactly as it would between sections
+*/
+class SectionIndex {
+    static final int NO_COURSE = -1;
+
+    private static final Comparator<Course> COURSE_ORDER = Comparator.comparing(Course::getName);
+    private static final Comparator<Section> SECTION_ORDER = Comparator.comparing(Section::getName);
+
+    private final Course[] courses;
+    private final int numRequired;
+    private final SectionBundle[] bundles;
+    private final int[] firstBundle;
+    private final long[][] conflicts;
+    private final int words;
+
+    // EFFECTS: numbers the given courses and their bundles and records which bundles conflict
+    SectionIndex(Collection<Course> courseList) {
+        List<Course> ordered = orderCourses(courseList);
+        courses = ordered.toArray(new Course[0]);
+        numRequired = countRequired(ordered);
+        firstBundle = new int[courses.length + 1];
+        List<SectionBundle> orderedBundles = new ArrayList<>();
+        for (int c = 0; c < courses.length; c++) {
+            firstBundle[c] = orderedBundles.size();
+            orderedBundles.addAll(courses[c].getBundles());
+        }
+        firstBundle[courses.length] = orderedBundles.size();
+        bundles = orderedBundles.toArray(new SectionBundle[0]);
+        words = (bundles.length + Long.SIZE - 1) / Long.SIZE;
+        conflicts = new long[bundles.length][words];
+        recordConflicts();
+    }
+
+    // EFFECTS: returns the courses sorted by name, with all required courses before all electives
+    static List<Course> orderCourses(Collection<Course> courseList) {
+        List<Course> required = new ArrayList<>();
+        List<Course> electives = new ArrayList<>();
+        for (Course c : courseList) {
+            if (c.getRequired()) {
+                required.add(c);
+            } else {
+                electives.add(c);
+            }
+        }
+        required.sort(COURSE_ORDER);
+        electives.sort(COURSE_ORDER);
+        required.addAll(electives);
+        return required;
+    }
+
+    // EFFECTS: returns the sections of course sorted by name
+    static List<Section> orderSections(Course course) {
+        List<Section> ordered = new ArrayList<>(course.getSections());
+        ordered.sort(SECTION_ORDER);
+        return ordered;
+    }
+
+    // EFFECTS: returns the number of required courses in courseList
+    private static int countRequired(List<Course> courseList) {
+        int count = 0;
+        for (Course c : courseList) {
+            if (c.getRequired()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks every pair of bundles from different courses whose sections overlap as conflicting
+    private void recordConflicts() {
+        for (int c = 0; c < courses.length; c++) {
+            for (int i = firstBundle[c]; i < firstBundle[c + 1]; i++) {
+                for (int j = firstBundle[c + 1]; j < bundles.length; j++) {
+                    if (bundles[i].overlaps(bundles[j])) {
+                        conflicts[i][j / Long.SIZE] |= 1L << j;
+                        conflicts[j][i / Long.SIZE] |= 1L << i;
+                    }
+                }
+            }
+        }
+    }
+
+    // getters
+    int numCourses() {
+        return courses.length;
+    }
+
+    int numRequired() {
+        return numRequired;
+    }
+
+    int numBundles() {
+        return bundles.length;
+    }
+
+    Course getCourse(int course) {
+        return courses[course];
+    }
+
+    SectionBundle getBundle(int bundle) {
+        return bundles[bundle];
+    }
+
+    // EFFECTS: returns the numbers of the bundles that contain the given section, in increasing order
+    List<Integer> bundlesContaining(Section section) {
+        List<Integer> containing = new ArrayList<>();
+        for (int b = 0; b < bundles.length; b++) {
+            if (bundles[b].contains(section)) {
+                containing.add(b);
+            }
+        }
+        return containing;
+    }
+
+    // REQUIRES: 0 <= bundle < numBundles()
+    // EFFECTS: returns the number of the course the given bundle belongs to
+    int courseOf(int bundle) {
+        int course = 0;
+        while (firstBundle[course + 1] <= bundle) {
+            course++;
+        }
+        return course;
+    }
+
+    // EFFECTS: returns the number of the first bundle of the given course
+    int firstBundle(int course) {
+        return firstBundle[course];
+    }
+
+    // EFFECTS: returns one past the number of the last bundle of the given course
+    int endBundle(int course) {
+        return firstBundle[course + 1];
+    }
+
+    // EFFECTS: returns true if the two bundles conflict
+    boolean conflicts(int bundle, int other) {
+        return contains(conflicts[bundle], other);
+    }
+
+    // EFFECTS: returns true if the given course may be left out of a schedule of numCourses courses that has count
+    //          courses chosen and numDecided other courses chosen or left out, i.e. it is an elective and enough
+    //          undecided courses remain after it
+    boolean canLeaveOut(int course, int numDecided, int count, int numCourses) {
+        return course >= numRequired && count + (courses.length - 1 - numDecided) >= numCourses;
+    }
+
+    // EFFECTS: returns the undecided course to branch on next in a schedule of numCourses courses that has count
+    //          courses chosen: the required course with the fewest bundles left in available, or once every
+    //          required course is decided, the elective with the fewest bundles left (but at least one).
+    //          Returns NO_COURSE if a required course has no bundles left or too few courses can still be chosen
+    int mostConstrainedCourse(long[] available, boolean[] decided, int count, int numCourses) {
+        int best = NO_COURSE;
+        int fewest = Integer.MAX_VALUE;
+        int viable = 0;
+        for (int c = 0; c < courses.length; c++) {
+            if (c == numRequired && best != NO_COURSE) {
+                return best;
+            }
+            if (!decided[c]) {
+                int left = countBundles(available, firstBundle[c], firstBundle[c + 1]);
+                if (left == 0 && c < numRequired) {
+                    return NO_COURSE;
+                } else if (left > 0) {
+                    viable++;
+                    if (left < fewest) {
+                        best = c;
+                        fewest = left;
+                    }
+                }
+            }
+        }
+        return viable >= numCourses - count ? best : NO_COURSE;
+    }
+
+    // EFFECTS: returns a new set of bundle numbers, big enough to hold every bundle in this index
+    long[] newBundleSet() {
+        return new long[words];
+    }
+
+    // EFFECTS: returns a set containing every bundle in this index
+    long[] allBundles() {
+        long[] all = newBundleSet();
+        for (int b = 0; b < bundles.length; b++) {
+            all[b / Long.SIZE] |= 1L << b;
+        }
+        return all;
+    }
+
+    // MODIFIES: into
+    // EFFECTS: sets into to the bundles in from that do not conflict with the given bundle
+    void removeConflicts(long[] from, int bundle, long[] into) {
+        long[] row = conflicts[bundle];
+        for (int i = 0; i < words; i++) {
+            into[i] = from[i] & ~row[i];
+        }
+    }
+
+    // EFFECTS: returns true if the set contains the given bundle
+    static boolean contains(long[] set, int bundle) {
+        return (set[bundle / Long.SIZE] & (1L << bundle)) != 0;
+    }
+
+    // MODIFIES: set
+    // EFFECTS: removes the given bundle from set
+    static void remove(long[] set, int bundle) {
+        set[bundle / Long.SIZE] &= ~(1L << bundle);
+    }
+
+    // EFFECTS: returns the smallest bundle number in set that is >= from and < to, or to if there is none
+    static int nextBundle(long[] set, int from, int to) {
+        int word = from / Long.SIZE;
+        if (from >= to) {
+            return to;
+        }
+        long bits = set[word] & (-1L << from);
+        while (bits == 0) {
+            word++;
+            if (word * Long.SIZE >= to) {
+                return to;
+            }
+            bits = set[word];
+        }
+        return Math.min(word * Long.SIZE + Long.numberOfTrailingZeros(bits), to);
+    }
+
+    // EFFECTS: returns the number of bundles in set that are >= from and < to
+    static int countBundles(long[] set, int from, int to) {
+        int total = 0;
+        for (int word = from / Long.SIZE; word * Long.SIZE < to; word++) {
+            long bits = set[word];
+            if (word == from / Long.SIZE) {
+                bits &= -1L << from;
+            }
+            if ((word + 1) * Long.SIZE > to) {
+                bits &= (1L << to) - 1;
+            }
+            total += Long.bitCount(bits);
+        }
+        return total;
+    }
+
+    // REQUIRES: the given bundles do not conflict
+    // EFFECTS: returns a new schedule containing the sections of the first count of the given bundles
+    Schedule toSchedule(int[] chosen, int count) {
+        Schedule schedule = new Schedule(Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            schedule.fillBundle(bundles[chosen[i]]);
+        }
+        return schedule;
+    }
+}
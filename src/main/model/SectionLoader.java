@@ -0,0 +1,11 @@
+package model;
+
+/*
+    Represents a source of the sections of a course that are only read in once the course is first used
+*/
+public interface SectionLoader {
+
+    // MODIFIES: course
+    // EFFECTS: adds the sections of course to it, each with its timeslots
+    void loadSections(Course course);
+}
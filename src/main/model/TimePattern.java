@@ -0,0 +1,143 @@
+package model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+    Represents the meeting times of a section: an unmodifiable set of timeslots, ordered by term, start time and end
+    time, together with the bitmap of the week blocks they touch
+
+    NOTE: patterns and their timeslots are interned, so sections that meet at the same times share one TimePattern
+          and sections that meet at some of the same times share those Timeslot objects. Two patterns returned by
+          with or without are equal exactly when they are the same object. Patterns that no section uses any more
+          are dropped from the pool when they are garbage collected
+*/
+final class TimePattern extends AbstractSet<Timeslot> {
+    private static final Comparator<Timeslot> ORDER = Comparator.comparingInt(Timeslot::getTerm)
+            .thenComparingInt(Timeslot::getStartMinute)
+            .thenComparingInt(Timeslot::getEndMinute);
+    private static final Interner<TimePattern> PATTERNS = new Interner<>();
+    private static final Interner<Timeslot> TIMESLOTS = new Interner<>();
+
+    static final TimePattern EMPTY = PATTERNS.intern(new TimePattern(new Timeslot[0]));
+
+    private final Timeslot[] timeslots;
+    private final long[] occupancy;
+    private final boolean exact;
+    private final int hash;
+
+    // REQUIRES: timeslots is sorted in ORDER and has no two equal timeslots
+    // EFFECTS: constructs a pattern of the given timeslots
+    private TimePattern(Timeslot[] timeslots) {
+        long[] mask = Occupancy.empty();
+        boolean allExact = true;
+        int sum = 0;
+        for (Timeslot t : timeslots) {
+            mask = Occupancy.add(mask, t);
+            allExact = allExact && Occupancy.isExact(t);
+            sum += t.hashCode();
+        }
+        this.timeslots = timeslots;
+        this.occupancy = mask;
+        this.exact = allExact;
+        this.hash = sum;
+    }
+
+    // EFFECTS: returns the interned pattern with the timeslots of this pattern and timeslot, or this pattern if it
+    //          already contains a timeslot with identical time
+    TimePattern with(Timeslot timeslot) {
+        int index = Arrays.binarySearch(timeslots, timeslot, ORDER);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        Timeslot[] more = new Timeslot[timeslots.length + 1];
+        System.arraycopy(timeslots, 0, more, 0, insertAt);
+        more[insertAt] = TIMESLOTS.intern(timeslot);
+        System.arraycopy(timeslots, insertAt, more, insertAt + 1, timeslots.length - insertAt);
+        return PATTERNS.intern(new TimePattern(more));
+    }
+
+    // EFFECTS: returns the interned pattern with the timeslots of this pattern except the one with identical time to
+    //          timeslot, or this pattern if there is no such timeslot
+    TimePattern without(Timeslot timeslot) {
+        int index = Arrays.binarySearch(timeslots, timeslot, ORDER);
+        if (index < 0) {
+            return this;
+        }
+        Timeslot[] fewer = new Timeslot[timeslots.length - 1];
+        System.arraycopy(timeslots, 0, fewer, 0, index);
+        System.arraycopy(timeslots, index + 1, fewer, index, fewer.length - index);
+        return PATTERNS.intern(new TimePattern(fewer));
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the i-th timeslot of this pattern
+    Timeslot get(int i) {
+        return timeslots[i];
+    }
+
+    // EFFECTS: returns the bitmap of the week blocks touched by the timeslots of this pattern
+    long[] getOccupancy() {
+        return occupancy;
+    }
+
+    // EFFECTS: returns true if the occupancy bitmap marks exactly the time taken by the timeslots of this pattern
+    boolean isExact() {
+        return exact;
+    }
+
+    // EFFECTS: returns the number of interned patterns that have not been garbage collected yet
+    static int numInterned() {
+        return PATTERNS.size();
+    }
+
+    @Override
+    public int size() {
+        return timeslots.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Timeslot && Arrays.binarySearch(timeslots, (Timeslot) o, ORDER) >= 0;
+    }
+
+    @Override
+    public Iterator<Timeslot> iterator() {
+        return new Iterator<Timeslot>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < timeslots.length;
+            }
+
+            @Override
+            public Timeslot next() {
+                if (next >= timeslots.length) {
+                    throw new NoSuchElementException();
+                }
+                return timeslots[next++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof TimePattern) {
+            return hash == o.hashCode() && Arrays.equals(timeslots, ((TimePattern) o).timeslots);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
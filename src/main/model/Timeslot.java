@@ -1,90 +1,79 @@
 package model;
 
-import org.json.JSONObject;
-import persistence.Writable;
-
 import java.time.DayOfWeek;
 import java.time.LocalTime;
-import java.util.Objects;
 
 /*
-    Represents one block of a section with a specific term, day of week, start time, and end time
+    Represents one block of class time with a specific term, day of week, start time, and end time
+
+    NOTE: the day and times are stored as minutes since the start of the week (Monday 00:00), so the day of week and
+          LocalTime getters are worked out from those numbers on each call. Seconds and nanoseconds of the times given
+          to the constructor are dropped. Timeslots can not be changed, and sections that meet at the same time share
+          one Timeslot object (see TimePattern), so a timeslot does not refer back to a section
 */
-public class Timeslot implements Writable {
-    private Section section;
-    private int term;
-    private DayOfWeek dayOfWeek;
-    private LocalTime startTime;
-    private LocalTime endTime;
+public class Timeslot {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_INTERVAL = 30;
+
+    private final int term;
+    private final int start;
+    private final int end;
 
     // REQUIRES: startTime is before endTime
-    // EFFECTS: constructs a new timeslot in the section with the given term, day of week, start time, and end time
-    //          in 30-minute intervals
-    public Timeslot(int term, DayOfWeek day, LocalTime startTime, LocalTime endTime, Section section) {
+    // EFFECTS: constructs a new timeslot with the given term, day of week, start time, and end time
+    public Timeslot(int term, DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        int dayStart = (day.getValue() - 1) * MINUTES_PER_DAY;
         this.term = term;
-        this.dayOfWeek = day;
-        this.startTime = startTime;
-        this.endTime = endTime;
-        this.section = section;
+        this.start = dayStart + startTime.getHour() * 60 + startTime.getMinute();
+        this.end = dayStart + endTime.getHour() * 60 + endTime.getMinute();
     }
 
     // getters
     public LocalTime getStartTime() {
-        return startTime;
+        return toLocalTime(start);
     }
 
     public LocalTime getEndTime() {
-        return endTime;
+        return toLocalTime(end);
     }
 
     public DayOfWeek getDayOfWeek() {
-        return dayOfWeek;
+        return DayOfWeek.of(start / MINUTES_PER_DAY + 1);
     }
 
     public int getTerm() {
         return term;
     }
 
-    public Section getSection() {
-        return section;
+    // EFFECTS: returns the start time as a number of minutes since the start of the week
+    int getStartMinute() {
+        return start;
     }
 
-    // EFFECTS: returns the course this timeslot is associated with
-    public Course getCourse() {
-        return section.getCourse();
+    // EFFECTS: returns the end time as a number of minutes since the start of the week
+    int getEndMinute() {
+        return end;
     }
 
     // EFFECTS: returns true if this timeslot overlaps with timeslot other
     public boolean overlaps(Timeslot other) {
-        if (term == other.getTerm() && dayOfWeek == other.getDayOfWeek()) {
-            LocalTime endTime = getEndTime();
-            LocalTime otherStart = other.getStartTime();
-            LocalTime otherEnd = other.getEndTime();
-            if (startTime.isAfter(otherStart)) {
-                return startTime.isBefore(otherEnd);
-            } else if (startTime.equals(otherStart)) {
-                return true;
-            } else {
-                return endTime.isAfter(otherStart);
-            }
-        }
-        return false;
+        return term == other.term && start < other.end && other.start < end;
     }
 
-    // EFFECTS: returns the difference between start and end times as a number of 30-minute intervals
+    // EFFECTS: returns the difference between start and end times as a number of 30-minute intervals, counting a
+    //          part of an interval as a whole one
     public int getDuration() {
-        int duration = 0;
-        LocalTime current = endTime;
-        while (!current.equals(startTime)) {
-            current = current.minusMinutes(30);
-            duration++;
-        }
-        return duration;
+        return (end - start + MINUTES_PER_INTERVAL - 1) / MINUTES_PER_INTERVAL;
+    }
+
+    // EFFECTS: returns the difference between start and end times in minutes
+    public int getDurationMinutes() {
+        return end - start;
     }
 
     @Override
     public String toString() {
-        return "Term " + term + " " + dayOfWeek + " " + startTime + "-" + endTime;
+        return "Term " + term + " " + getDayOfWeek() + " " + getStartTime() + "-" + getEndTime();
     }
 
     @Override
@@ -96,24 +85,17 @@ public class Timeslot implements Writable {
             return false;
         }
         Timeslot timeslot = (Timeslot) o;
-        return term == timeslot.term
-                && dayOfWeek == timeslot.dayOfWeek
-                && Objects.equals(startTime, timeslot.startTime)
-                && Objects.equals(endTime, timeslot.endTime);
+        return term == timeslot.term && start == timeslot.start && end == timeslot.end;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(term, dayOfWeek, startTime, endTime);
+        return (term * 31 + start) * 31 + end;
     }
 
-    @Override
-    public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        json.put("term", term);
-        json.put("day", dayOfWeek);
-        json.put("start", startTime);
-        json.put("end", endTime);
-        return json;
+    // EFFECTS: returns the time of day of the given minute of the week
+    private static LocalTime toLocalTime(int minuteOfWeek) {
+        int minuteOfDay = minuteOfWeek % MINUTES_PER_DAY;
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
     }
 }
@@ -0,0 +1,188 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/*
+    A utility class for finding the highest scoring valid schedules of a course list with branch and bound
+
+    NOTE: the best schedules found so far are kept in a min-heap of at most k entries. Once the heap is full, any part
+          of the search whose bound cannot beat the worst schedule in the heap is skipped. Schedules with equal scores
+          are ranked in the order the search finds them. The bound is also told the most minutes of classes the
+          courses still to be chosen could add, which lets criteria such as SMALLEST_GAPS skip schedules whose gaps
+          are already too long to be filled. If the search is stopped by its control, the best of the schedules found
+          so far are returned
+*/
+class TopScheduleFinder {
+    private static final int CHECK_INTERVAL = 4096;
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble((Scored s) -> s.score)
+            .thenComparing(Comparator.comparingLong((Scored s) -> s.found).reversed());
+
+    private SectionIndex index;
+    private int numCourses;
+    private int size;
+    private ScheduleScorer scorer;
+    private Schedule partial;
+    private long[][] available;
+    private boolean[] decided;
+    private int[] mostMinutes;
+    private PriorityQueue<Scored> best;
+    private long found;
+    private SearchControl control;
+    private long nodes;
+    private boolean stopped;
+
+    // REQUIRES: k >= 0
+    // EFFECTS: constructs a TopScheduleFinder for the k best schedules of n courses from the courses in index
+    TopScheduleFinder(int n, SectionIndex index, int k, ScheduleScorer scorer) {
+        numCourses = n;
+        this.index = index;
+        this.size = k;
+        this.scorer = scorer;
+        partial = new Schedule(Math.max(n, 1));
+        available = new long[n + 1][];
+        for (int i = 0; i <= n; i++) {
+            available[i] = index.newBundleSet();
+        }
+        available[0] = index.allBundles();
+        decided = new boolean[index.numCourses()];
+        mostMinutes = mostMinutes(index, n);
+        best = new PriorityQueue<>(WORST_FIRST);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the search stop early once control says to
+    void limit(SearchControl control) {
+        this.control = control;
+    }
+
+    // EFFECTS: returns the number of search steps taken so far
+    long nodesExplored() {
+        return nodes;
+    }
+
+    // EFFECTS: returns true if the search was stopped by its control before it was finished
+    boolean wasStopped() {
+        return stopped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the k best valid schedules with numCourses courses, best first, or the k best of those found
+    //          before the control stopped the search
+    List<Schedule> bestSchedules() {
+        if (size > 0) {
+            search(0, 0);
+        }
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+        List<Schedule> schedules = new ArrayList<>();
+        for (Scored s : ranked) {
+            schedules.add(s.schedule);
+        }
+        return schedules;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds to best every schedule that finishes partial, unless it is known not to beat the schedules there
+    private void search(int numDecided, int count) {
+        if (shouldStop()) {
+            return;
+        }
+        if (best.size() == size && scorer.bound(partial, mostMinutes[numCourses - count]) <= best.peek().score) {
+            return;
+        }
+        if (count == numCourses) {
+            offer();
+            return;
+        }
+        int course = index.mostConstrainedCourse(available[count], decided, count, numCourses);
+        if (course == SectionIndex.NO_COURSE) {
+            return;
+        }
+        decided[course] = true;
+        searchBundles(course, numDecided, count);
+        if (index.canLeaveOut(course, numDecided, count, numCourses)) {
+            search(numDecided + 1, count);
+        }
+        decided[course] = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches each branch that adds an available bundle of the given course to partial
+    private void searchBundles(int course, int numDecided, int count) {
+        int end = index.endBundle(course);
+        for (int b = SectionIndex.nextBundle(available[count], index.firstBundle(course), end); b < end;
+                b = SectionIndex.nextBundle(available[count], b + 1, end)) {
+            SectionBundle bundle = index.getBundle(b);
+            index.removeConflicts(available[count], b, available[count + 1]);
+            partial.fillBundle(bundle);
+            search(numDecided + 1, count + 1);
+            partial.removeBundle(bundle);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts a search step and returns true if the search has been stopped, asking the control every
+    //          CHECK_INTERVAL steps
+    private boolean shouldStop() {
+        nodes++;
+        if (!stopped && control != null && nodes % CHECK_INTERVAL == 0) {
+            stopped = control.shouldStop();
+        }
+        return stopped;
+    }
+
+    // EFFECTS: returns an array whose r-th entry is the most minutes of classes that any r courses of index can add
+    //          to a schedule, for r from 0 to n
+    private static int[] mostMinutes(SectionIndex index, int n) {
+        int[] perCourse = new int[index.numCourses()];
+        for (int c = 0; c < perCourse.length; c++) {
+            for (int b = index.firstBundle(c); b < index.endBundle(c); b++) {
+                perCourse[c] = Math.max(perCourse[c], index.getBundle(b).minutes());
+            }
+        }
+        Arrays.sort(perCourse);
+        int[] most = new int[n + 1];
+        for (int r = 1; r <= n; r++) {
+            most[r] = most[r - 1] + (r <= perCourse.length ? perCourse[perCourse.length - r] : 0);
+        }
+        return most;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a copy of the complete schedule partial to best, removing the worst schedule if there are too many;
+    //          allocates nothing unless the schedule is kept
+    private void offer() {
+        double score = scorer.score(partial);
+        long order = found++;
+        // a later schedule only beats an earlier one with a strictly higher score
+        if (best.size() < size || score > best.peek().score) {
+            Schedule copy = new Schedule(numCourses);
+            for (int i = 0; i < partial.numSections(); i++) {
+                copy.fillSection(partial.sectionAt(i));
+            }
+            best.add(new Scored(score, order, copy));
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+    }
+
+    /*
+        Represents a schedule with its score and the order in which it was found
+    */
+    private static class Scored {
+        private final double score;
+        private final long found;
+        private final Schedule schedule;
+
+        private Scored(double score, long found, Schedule schedule) {
+            this.score = score;
+            this.found = found;
+            this.schedule = schedule;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package persistence;
+
+/*
+    Represents the layout of a binary catalog file, which holds the same information as a course list JSON file
+
+    NOTE: every number is a 4-byte big-endian int, so the file can be read in place from a mapped buffer. The file
+          starts with a header of HEADER_INTS ints: MAGIC, VERSION, and the number of strings, courses, sections and
+          timeslots. Then come, in order:
+            - the string table: one offset per string into the string data, plus one for the end of the data
+            - one record per course: its name, FLAG_REQUIRED if it is required, and the index and number of its
+              sections
+            - one record per section: its name, its activity, and the index and number of its timeslots
+            - one record per timeslot: its term, and its start and end in minutes after Monday 00:00
+            - the string data, in UTF-8
+          Names and activities are indexes into the string table, so each distinct string is stored only once. The
+          version is raised whenever the layout changes, and files of other versions are not read
+*/
+final class BinaryFormat {
+    static final int MAGIC = 0x43505343;
+    static final int VERSION = 1;
+    static final int HEADER_INTS = 6;
+    static final int COURSE_INTS = 4;
+    static final int SECTION_INTS = 4;
+    static final int TIMESLOT_INTS = 3;
+    static final int FLAG_REQUIRED = 1;
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private BinaryFormat() {
+    }
+}
@@ -0,0 +1,39 @@
+package persistence;
+
+import model.CourseList;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+Represents a reader that reads course list information from a binary catalog file (see BinaryFormat)
+
+NOTE: the file is mapped into memory rather than read, and only the names of the courses are read when it is
+      opened; the sections of each course are read from the mapped file the first time the course is used. The file
+      should not be changed while a course list read from it is in use
+ */
+
+public class BinaryReader {
+    private String source;
+
+    // EFFECTS: constructs reader to read from source file
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads course list from file and returns it; throws IOException if the file cannot be read or is not a
+    //          catalog of the current version
+    public CourseList read() throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Course catalog is too large");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new MappedCatalog(buffer).courseList();
+    }
+}
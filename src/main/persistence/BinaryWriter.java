@@ -0,0 +1,174 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Represents a writer that writes course list information to a binary catalog file (see BinaryFormat)
+
+NOTE: the catalog is written to a temporary file that replaces the destination when the writer is closed, so a
+      course list that is still reading its sections from the old catalog (see BinaryReader) is not disturbed
+ */
+
+public class BinaryWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String destination;
+    private String temporary;
+    private DataOutputStream writer;
+    private boolean written;
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private final List<Section> sections = new ArrayList<>();
+    private int numTimeslots;
+
+    // EFFECTS: constructs writer to write to destination file
+    public BinaryWriter(String destination) {
+        this.destination = destination;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer
+    public void open() throws FileNotFoundException {
+        temporary = destination + ".tmp";
+        written = false;
+        writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), BUFFER_SIZE));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes course list to file in the binary catalog format; throws IOException if it cannot be written
+    public void writeCourseList(CourseList list) throws IOException {
+        List<Course> courses = new ArrayList<>(list.getCourses());
+        collect(courses);
+
+        writer.writeInt(BinaryFormat.MAGIC);
+        writer.writeInt(BinaryFormat.VERSION);
+        writer.writeInt(strings.size());
+        writer.writeInt(courses.size());
+        writer.writeInt(sections.size());
+        writer.writeInt(numTimeslots);
+        writeStringTable();
+        writeCourses(courses);
+        writeSections();
+        writeTimeslots();
+        for (byte[] s : strings) {
+            writer.write(s);
+        }
+        written = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer and replaces the destination file with the catalog if it was written, or throws it away
+    //          otherwise; throws IOException if the destination file cannot be replaced
+    public void close() throws IOException {
+        writer.close();
+        if (written) {
+            Files.move(Paths.get(temporary), Paths.get(destination), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(Paths.get(temporary));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: numbers the strings, sections and timeslots of courses in the order they will be written
+    private void collect(List<Course> courses) {
+        stringIds.clear();
+        strings.clear();
+        sections.clear();
+        numTimeslots = 0;
+        for (Course c : courses) {
+            stringId(c.getName());
+            for (Section s : c) {
+                sections.add(s);
+                stringId(s.getName());
+                stringId(s.getActivity());
+                numTimeslots += s.numTimeslots();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the index of s in the string table, adding it if it is not there yet
+    private int stringId(String s) {
+        Integer id = stringIds.get(s);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(s, id);
+            strings.add(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the offset of each string in the string data, followed by the length of the string data
+    private void writeStringTable() throws IOException {
+        int offset = 0;
+        for (byte[] s : strings) {
+            writer.writeInt(offset);
+            offset += s.length;
+        }
+        writer.writeInt(offset);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the record of each course
+    private void writeCourses(List<Course> courses) throws IOException {
+        int firstSection = 0;
+        for (Course c : courses) {
+            int numSections = c.numSections();
+            writer.writeInt(stringId(c.getName()));
+            writer.writeInt(c.getRequired() ? BinaryFormat.FLAG_REQUIRED : 0);
+            writer.writeInt(firstSection);
+            writer.writeInt(numSections);
+            firstSection += numSections;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the record of each section
+    private void writeSections() throws IOException {
+        int firstTimeslot = 0;
+        for (Section s : sections) {
+            writer.writeInt(stringId(s.getName()));
+            writer.writeInt(stringId(s.getActivity()));
+            writer.writeInt(firstTimeslot);
+            writer.writeInt(s.numTimeslots());
+            firstTimeslot += s.numTimeslots();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the record of each timeslot of each section
+    private void writeTimeslots() throws IOException {
+        for (Section s : sections) {
+            for (Timeslot t : s) {
+                int day = (t.getDayOfWeek().getValue() - 1) * BinaryFormat.MINUTES_PER_DAY;
+                writer.writeInt(t.getTerm());
+                writer.writeInt(day + minuteOfDay(t.getStartTime()));
+                writer.writeInt(day + minuteOfDay(t.getEndTime()));
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of minutes from midnight to time
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
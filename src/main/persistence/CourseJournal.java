@@ -0,0 +1,324 @@
+package persistence;
+
+import model.CourseList;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+Represents a course list saved as a snapshot file and a journal of the edits made since the snapshot was written
+
+NOTE: saving only appends the edits made since the last save to the journal, one JSON record per line followed by a
+      commit record, and syncs it to disk; a save that was cut off by a crash has no commit record and is ignored
+      when the journal is replayed. Once the journal has grown larger than the snapshot, a new snapshot is written on
+      a background thread: it goes to a temporary file that replaces the old snapshot only once it is complete, and
+      then the journal is started again. The snapshot is an ordinary course list file that notes the generation of
+      the last journal it includes, and the journal starts by naming its own generation, so a journal that was
+      already included in the snapshot is never replayed twice
+ */
+
+public class CourseJournal implements Closeable {
+    private static final int COMPACT_MIN_BYTES = 1 << 16;
+
+    private final Path snapshot;
+    private final Path journal;
+    private final Path temporary;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "course-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel;
+    private CourseList saved;
+    private JournalImage image;
+    private int generation;
+    private long journalBytes;
+    private long snapshotBytes;
+    private Future<?> compaction;
+
+    // EFFECTS: constructs a journal that keeps its snapshot in the snapshot file, and its edits in a file of the same
+    //          name with .journal added
+    public CourseJournal(String snapshot) {
+        this.snapshot = Paths.get(snapshot);
+        this.journal = Paths.get(snapshot + ".journal");
+        this.temporary = Paths.get(snapshot + ".tmp");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the snapshot, or starts from an empty course list if there is none, replays the saves in the
+    //          journal on top of it and returns the result; later saves of that course list only add its edits to
+    //          the journal. Throws IOException if the files cannot be read or do not fit together
+    public synchronized CourseList load() throws IOException {
+        CourseList list = new CourseList();
+        int covered = 0;
+        snapshotBytes = 0;
+        if (Files.exists(snapshot)) {
+            JsonReader reader = new JsonReader(snapshot.toString());
+            list = reader.read();
+            covered = reader.getJournalGeneration();
+            snapshotBytes = Files.size(snapshot);
+        }
+        openJournal();
+        if (!replay(list, covered)) {
+            startJournal(covered + 1);
+        }
+        saved = list;
+        image = new JournalImage(list);
+        return list;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves list, by adding the edits made to it since it was loaded or last saved to the journal if it is
+    //          the course list that was, and by writing a new snapshot of it otherwise; may start writing a new
+    //          snapshot in the background. Throws IOException if list cannot be saved
+    public synchronized void save(CourseList list) throws IOException {
+        if (image == null || list != saved) {
+            rewrite(list);
+            return;
+        }
+        List<JSONObject> edits = new ArrayList<>();
+        try {
+            image.update(list, edits);
+            if (!edits.isEmpty()) {
+                append(edits);
+            }
+        } catch (IOException | RuntimeException e) {
+            image = null;
+            throw e;
+        }
+        if (journalBytes > Math.max(COMPACT_MIN_BYTES, snapshotBytes) && (compaction == null || compaction.isDone())) {
+            compaction = compactor.submit(this::compactInBackground);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a new snapshot of everything saved so far and starts the journal again; does nothing if
+    //          nothing has been loaded or saved. Throws IOException if the snapshot cannot be written
+    public synchronized void compact() throws IOException {
+        if (image != null) {
+            writeSnapshot(image.getCopy(), generation);
+            startJournal(generation + 1);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for a snapshot being written in the background and closes the journal file
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a new snapshot of list, which has not been saved to this journal before, and starts the
+    //          journal again
+    private void rewrite(CourseList list) throws IOException {
+        openJournal();
+        int covered = Math.max(generation, readGeneration());
+        saved = list;
+        image = new JournalImage(list);
+        writeSnapshot(image.getCopy(), covered);
+        startJournal(covered + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs compact, leaving the journal as it is if that fails; it is tried again after a later save
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException e) {
+            // the journal still holds every save, so nothing is lost
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes list to the temporary file, syncs it, and then moves it over the snapshot and syncs the
+    //          directory, so the snapshot is never left half written and the move is on disk before the journal is
+    //          started again
+    private void writeSnapshot(CourseList list, int covered) throws IOException {
+        JsonWriter writer = new JsonWriter(temporary.toString());
+        writer.open();
+        try {
+            writer.writeSnapshot(list, covered);
+            writer.sync();
+        } finally {
+            writer.close();
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        snapshotBytes = Files.size(snapshot);
+    }
+
+    // EFFECTS: syncs the directory that holds the snapshot, so that the entries moved into it are on disk; does
+    //          nothing where a directory cannot be opened (such as on Windows), leaving the move to the file system
+    private void syncDirectory() throws IOException {
+        FileChannel directory;
+        try {
+            directory = FileChannel.open(snapshot.toAbsolutePath().getParent(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (FileChannel d = directory) {
+            d.force(true);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the journal file if it is not open yet, creating it if it does not exist
+    private void openJournal() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties the journal file and starts it with the given generation
+    private void startJournal(int newGeneration) throws IOException {
+        channel.truncate(0);
+        generation = newGeneration;
+        journalBytes = 0;
+        append(new JSONObject().put("op", "begin").put("generation", newGeneration));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends edits and a commit record to the journal file and syncs it
+    private void append(List<JSONObject> edits) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (JSONObject edit : edits) {
+            lines.append(edit).append('\n');
+        }
+        lines.append(new JSONObject().put("op", "commit")).append('\n');
+        write(lines.toString());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends record to the journal file and syncs it
+    private void append(JSONObject record) throws IOException {
+        write(record.toString() + '\n');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends text to the end of the journal file and syncs it
+    private void write(String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            journalBytes += channel.write(bytes, journalBytes);
+        }
+        channel.force(false);
+    }
+
+    // MODIFIES: this, list
+    // EFFECTS: if the journal file was started after the snapshot was written, applies every save in it to list,
+    //          cuts off anything after the last complete save, carries on appending to it and returns true;
+    //          otherwise returns false
+    private boolean replay(CourseList list, int covered) throws IOException {
+        List<String> lines = readLines();
+        int journalGeneration = generationOf(lines);
+        if (journalGeneration <= covered) {
+            return false;
+        }
+        journalBytes = replaySaves(lines, list);
+        channel.truncate(journalBytes);
+        generation = journalGeneration;
+        return true;
+    }
+
+    // MODIFIES: list
+    // EFFECTS: applies to list every save in lines that ends with a commit record, stopping at the first line that
+    //          is not a record, and returns the length in bytes of the lines up to the last commit record
+    private static long replaySaves(List<String> lines, CourseList list) throws IOException {
+        long end = byteLength(lines.get(0));
+        long committed = end;
+        List<JSONObject> pending = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            JSONObject record = parse(line);
+            if (record == null) {
+                break;
+            }
+            end += byteLength(line);
+            if (record.optString("op").equals("commit")) {
+                for (JSONObject edit : pending) {
+                    JournalImage.apply(edit, list);
+                }
+                pending.clear();
+                committed = end;
+            } else {
+                pending.add(record);
+            }
+        }
+        return committed;
+    }
+
+    // EFFECTS: returns the length in bytes of line and its line break in the journal file
+    private static long byteLength(String line) {
+        return line.getBytes(StandardCharsets.UTF_8).length + 1;
+    }
+
+    // EFFECTS: returns the generation named at the start of the journal file, or 0 if it does not start with one
+    private int readGeneration() throws IOException {
+        return generationOf(readLines());
+    }
+
+    // EFFECTS: returns the generation named in the first of lines, or 0 if it does not name one
+    private static int generationOf(List<String> lines) {
+        JSONObject begin = lines.isEmpty() ? null : parse(lines.get(0));
+        if (begin == null || !begin.optString("op").equals("begin")) {
+            return 0;
+        }
+        return begin.optInt("generation", 0);
+    }
+
+    // EFFECTS: returns the complete lines of the journal file, leaving out a last line that has no line break
+    private List<String> readLines() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+        int read = 0;
+        while (bytes.hasRemaining() && read >= 0) {
+            read = channel.read(bytes, bytes.position());
+        }
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < bytes.position(); i++) {
+            if (bytes.get(i) == '\n') {
+                lines.add(new String(bytes.array(), start, i - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        return lines;
+    }
+
+    // EFFECTS: returns the record in line, or null if line is not a JSON object
+    private static JSONObject parse(String line) {
+        try {
+            return new JSONObject(line);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    Represents a private copy of a course list as it was last written to a journal, and the edits that turn a copy
+    into the course list as it is now
+
+    NOTE: courses and sections of the copy are matched to those of the course list by object, not by name, so a
+          renamed course is journalled as a rename rather than as a new course. Every edit is applied to the copy as
+          soon as it is found, using the same code that replays it when the journal is read, so the copy is always
+          the result of replaying the journal. Timeslots are immutable and are shared with the course list
+*/
+final class JournalImage {
+    private final CourseList copy = new CourseList();
+    private final Map<Course, Course> courses = new IdentityHashMap<>();
+    private final Map<Section, Section> sections = new IdentityHashMap<>();
+    private final Map<Section, Section> originals = new IdentityHashMap<>();
+
+    // EFFECTS: constructs a copy of list, matched to list
+    JournalImage(CourseList list) {
+        for (Course c : list) {
+            Course course = new Course(c.getName(), c.getRequired());
+            copy.addCourse(course);
+            courses.put(c, course);
+            for (Section s : c) {
+                addSectionCopy(s, course);
+            }
+        }
+    }
+
+    // EFFECTS: returns the copy of the course list
+    CourseList getCopy() {
+        return copy;
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: adds to edits the records of the changes made to list since this image was made or last brought up
+    //          to date, and applies them to the copy so that it matches list again
+    void update(CourseList list, List<JSONObject> edits) throws IOException {
+        Set<Course> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(list.getCourses());
+        for (Course c : courses.keySet().toArray(new Course[0])) {
+            if (!live.contains(c)) {
+                Course gone = courses.remove(c);
+                for (Section s : gone) {
+                    sections.remove(originals.remove(s));
+                }
+                edit(edits, courseRecord("deleteCourse", gone.getName()));
+            }
+        }
+        for (Course c : list) {
+            Course course = courses.get(c);
+            if (course != null && !course.getName().equals(c.getName())) {
+                renameCourse(course, c.getName(), edits);
+            }
+        }
+        for (Course c : list) {
+            updateCourse(c, edits);
+        }
+    }
+
+    // MODIFIES: list
+    // EFFECTS: applies the edit in record to list; throws IOException if the course or section it edits does not
+    //          exist, or it is not an edit
+    static void apply(JSONObject record, CourseList list) throws IOException {
+        String op = record.getString("op");
+        Course course = list.getCourseByName(record.getString("course"));
+        if (op.equals("addCourse")) {
+            list.addCourse(new Course(record.getString("course"), record.getBoolean("required")));
+        } else if (course == null) {
+            throw new IOException("Journal edits a missing course");
+        } else if (op.equals("deleteCourse")) {
+            list.deleteCourse(course);
+        } else if (op.equals("renameCourse")) {
+            list.changeCourseName(course, record.getString("name"));
+        } else if (op.equals("setRequired")) {
+            course.setRequired(record.getBoolean("required"));
+        } else {
+            applyToSection(record, course);
+        }
+    }
+
+    // MODIFIES: course
+    // EFFECTS: applies the edit in record to a section of course; throws IOException if the section it edits does
+    //          not exist, or it is not an edit
+    private static void applyToSection(JSONObject record, Course course) throws IOException {
+        String op = record.getString("op");
+        Section section = course.getSectionByName(record.getString("section"));
+        if (op.equals("addSection")) {
+            course.addSection(new Section(record.getString("section"), record.getString("activity"), course));
+        } else if (section == null) {
+            throw new IOException("Journal edits a missing section");
+        } else if (op.equals("deleteSection")) {
+            course.deleteSection(section);
+        } else if (op.equals("renameSection")) {
+            course.changeSectionName(section, record.getString("name"));
+        } else if (op.equals("setActivity")) {
+            section.setActivity(record.getString("activity"));
+        } else if (op.equals("addTimeslot")) {
+            section.addTimeslot(readTimeslot(record.getJSONObject("time")));
+        } else if (op.equals("deleteTimeslot")) {
+            section.deleteTimeslot(readTimeslot(record.getJSONObject("time")));
+        } else {
+            throw new IOException("Unknown journal edit " + op);
+        }
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies the changes made to c since it was last brought up to date, adding a copy of it
+    //          if it is new
+    private void updateCourse(Course c, List<JSONObject> edits) throws IOException {
+        Course course = courses.get(c);
+        if (course == null) {
+            edit(edits, courseRecord("addCourse", c.getName()).put("required", c.getRequired()));
+            course = copy.getCourseByName(c.getName());
+            courses.put(c, course);
+        } else if (course.getRequired() != c.getRequired()) {
+            edit(edits, courseRecord("setRequired", c.getName()).put("required", c.getRequired()));
+        }
+        deleteSections(c, course, edits);
+        for (Section s : c) {
+            Section section = sections.get(s);
+            if (section != null && !section.getName().equals(s.getName())) {
+                renameSection(section, s.getName(), edits);
+            }
+        }
+        for (Section s : c) {
+            updateSection(s, course, edits);
+        }
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies deleting the sections of course that are no longer in c, which it is a copy of
+    private void deleteSections(Course c, Course course, List<JSONObject> edits) throws IOException {
+        Set<Section> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        live.addAll(c.getSections());
+        for (Section s : course.getSections().toArray(new Section[0])) {
+            if (!live.contains(originals.get(s))) {
+                sections.remove(originals.remove(s));
+                edit(edits, sectionRecord("deleteSection", course, s.getName()));
+            }
+        }
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies the changes made to s since it was last brought up to date, adding a copy of it
+    //          to course if it is new
+    private void updateSection(Section s, Course course, List<JSONObject> edits) throws IOException {
+        Section section = sections.get(s);
+        if (section == null) {
+            edit(edits, sectionRecord("addSection", course, s.getName()).put("activity", s.getActivity()));
+            section = course.getSectionByName(s.getName());
+            sections.put(s, section);
+            originals.put(section, s);
+        } else if (!section.getActivity().equals(s.getActivity())) {
+            edit(edits, sectionRecord("setActivity", course, s.getName()).put("activity", s.getActivity()));
+        }
+        updateTimeslots(s, section, course, edits);
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies the timeslots deleted from and added to s since section, its copy in course, was
+    //          last brought up to date
+    private void updateTimeslots(Section s, Section section, Course course, List<JSONObject> edits)
+            throws IOException {
+        Set<Timeslot> before = section.getTimeslots();
+        Set<Timeslot> after = s.getTimeslots();
+        if (before.equals(after)) {
+            return;
+        }
+        for (Timeslot t : before) {
+            if (!after.contains(t)) {
+                edit(edits, sectionRecord("deleteTimeslot", course, s.getName()).put("time", timeRecord(t)));
+            }
+        }
+        for (Timeslot t : after) {
+            if (!before.contains(t)) {
+                edit(edits, sectionRecord("addTimeslot", course, s.getName()).put("time", timeRecord(t)));
+            }
+        }
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies renaming course to name, first moving any other course with that name out of the
+    //          way; that course is renamed again later since it no longer has that name in the course list
+    private void renameCourse(Course course, String name, List<JSONObject> edits) throws IOException {
+        Course blocking = copy.getCourseByName(name);
+        if (blocking != null) {
+            String temporary = name;
+            while (copy.containsCourseWithName(temporary)) {
+                temporary += "~";
+            }
+            renameCourse(blocking, temporary, edits);
+        }
+        edit(edits, courseRecord("renameCourse", course.getName()).put("name", name));
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: records and applies renaming section to name, first moving any other section of the same course with
+    //          that name out of the way; that section is renamed again later since it no longer has that name
+    private void renameSection(Section section, String name, List<JSONObject> edits) throws IOException {
+        Course course = section.getCourse();
+        Section blocking = course.getSectionByName(name);
+        if (blocking != null) {
+            String temporary = name;
+            while (course.containsSectionWithName(temporary)) {
+                temporary += "~";
+            }
+            renameSection(blocking, temporary, edits);
+        }
+        edit(edits, sectionRecord("renameSection", course, section.getName()).put("name", name));
+    }
+
+    // MODIFIES: this, edits
+    // EFFECTS: applies the edit in record to the copy and adds it to edits
+    private void edit(List<JSONObject> edits, JSONObject record) throws IOException {
+        apply(record, copy);
+        edits.add(record);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a copy of s to course, matched to s
+    private void addSectionCopy(Section s, Course course) {
+        Section section = new Section(s.getName(), s.getActivity(), course);
+        for (Timeslot t : s) {
+            section.addTimeslot(t);
+        }
+        course.addSection(section);
+        sections.put(s, section);
+        originals.put(section, s);
+    }
+
+    // EFFECTS: returns a record of the given edit to the course with the given name
+    private static JSONObject courseRecord(String op, String course) {
+        return new JSONObject().put("op", op).put("course", course);
+    }
+
+    // EFFECTS: returns a record of the given edit to the section of course with the given name
+    private static JSONObject sectionRecord(String op, Course course, String section) {
+        return courseRecord(op, course.getName()).put("section", section);
+    }
+
+    // EFFECTS: returns a JSON object for t, with the same members as the JSON representation of t but as plain text,
+    //          so that a record reads back the same as it was written
+    private static JSONObject timeRecord(Timeslot t) {
+        return new JSONObject().put("term", t.getTerm()).put("day", t.getDayOfWeek().name())
+                .put("start", t.getStartTime().toString()).put("end", t.getEndTime().toString());
+    }
+
+    // EFFECTS: converts a JSON object for a time to a Timeslot
+    private static Timeslot readTimeslot(JSONObject time) {
+        return new Timeslot(time.getInt("term"), DayOfWeek.valueOf(time.getString("day")),
+                LocalTime.parse(time.getString("start")), LocalTime.parse(time.getString("end")));
+    }
+}
@@ -0,0 +1,186 @@
+package persistence;
+
+import java.io.PrintWriter;
+
+/*
+    Represents a writer that writes a JSON document one token at a time to a character stream, either laid out with
+    one member per line or with no whitespace at all
+
+    NOTE: the emitter keeps track of the commas, line breaks and indentation itself, so callers only say where objects
+          and arrays begin and end. Strings and numbers are written straight to the stream without building a tree or
+          any intermediate text. Like PrintWriter, it does not throw on write errors; check the stream for them
+*/
+class JsonEmitter {
+    private static final int INDENT = 4;
+    private static final String SPACES = "                                ";
+
+    private final PrintWriter out;
+    private final boolean compact;
+    private int depth = 0;
+    private boolean first = true;
+    private boolean afterName = false;
+
+    // EFFECTS: constructs an emitter that writes to out, without whitespace if compact is true
+    JsonEmitter(PrintWriter out, boolean compact) {
+        this.out = out;
+        this.compact = compact;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the start of an object
+    void beginObject() {
+        open('{');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the end of the innermost object
+    void endObject() {
+        close('}');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the start of an array
+    void beginArray() {
+        open('[');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the end of the innermost array
+    void endArray() {
+        close(']');
+    }
+
+    // REQUIRES: an object has been begun and not ended, and the last thing written in it was a value
+    // MODIFIES: this
+    // EFFECTS: writes the name of the next member of the innermost object
+    void name(String name) {
+        beforeValue();
+        writeString(name);
+        out.write(':');
+        if (!compact) {
+            out.write(' ');
+        }
+        afterName = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a string value
+    void value(String value) {
+        beforeValue();
+        writeString(value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a number value
+    void value(int value) {
+        beforeValue();
+        long rest = value;
+        if (rest < 0) {
+            out.write('-');
+            rest = -rest;
+        }
+        long power = 1;
+        while (power * 10 <= rest) {
+            power *= 10;
+        }
+        for (; power > 0; power /= 10) {
+            out.write((char) ('0' + rest / power % 10));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a boolean value
+    void value(boolean value) {
+        beforeValue();
+        out.write(value ? "true" : "false");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes bracket to start an object or array one level deeper
+    private void open(char bracket) {
+        beforeValue();
+        out.write(bracket);
+        depth++;
+        first = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes bracket to end the innermost object or array, on its own line unless it is empty
+    private void close(char bracket) {
+        depth--;
+        if (!first) {
+            newLine();
+        }
+        out.write(bracket);
+        first = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the comma and line break that go before a value, unless it is the value of a member
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!first) {
+            out.write(',');
+        }
+        if (depth > 0) {
+            newLine();
+        }
+        first = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a new line indented to the current depth, unless compact
+    private void newLine() {
+        if (!compact) {
+            out.write('\n');
+            for (int left = depth * INDENT; left > 0; left -= SPACES.length()) {
+                out.write(SPACES, 0, Math.min(left, SPACES.length()));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes s in quotes, escaping quotes, backslashes and control characters
+    private void writeString(String s) {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == '"' || ch == '\\' || ch < ' ') {
+                out.write(s, start, i - start);
+                writeEscape(ch);
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the escape sequence for ch
+    private void writeEscape(char ch) {
+        out.write('\\');
+        switch (ch) {
+            case '\n':
+                out.write('n');
+                break;
+            case '\r':
+                out.write('r');
+                break;
+            case '\t':
+                out.write('t');
+                break;
+            case '"':
+            case '\\':
+                out.write(ch);
+                break;
+            default:
+                out.write("u00");
+                out.write(Character.forDigit(ch >> 4, 16));
+                out.write(Character.forDigit(ch & 0xF, 16));
+        }
+    }
+}
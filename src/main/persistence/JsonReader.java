@@ -4,19 +4,26 @@ import model.Course;
 import model.CourseList;
 import model.Section;
 import model.Timeslot;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /*
 Represents a reader that reads course list information from a file
+
+NOTE: the file is read one token at a time and turned straight into courses, sections and timeslots, so reading
+      takes no more memory than the course list it builds. Members of an object may come in any order, members
+      that are not part of a course list are skipped, and a malformed file is reported with a JSONException
  */
 
 public class JsonReader {
@@ -24,6 +31,8 @@ public class JsonReader {
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 
     private String source;
+    private final Map<String, LocalTime> times = new HashMap<>();
+    private int journalGeneration;
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
@@ -32,81 +41,197 @@ public class JsonReader {
 
     // EFFECTS: reads course list from file and returns it
     public CourseList read() throws IOException {
-        String content = readFile(source);
-        JSONObject jsonObject = new JSONObject(content);
-        return readCourseList(jsonObject);
+        try (Reader in = open()) {
+            return readCourseList(new JsonTokenizer(in));
+        }
     }
 
+    // EFFECTS: reads a single course, as written by the course scraper, from file and returns it
     public Course readCourseResult() throws IOException {
-        String content = readFile(source);
-        JSONObject jsonObject = new JSONObject(content);
-        return readCourse(jsonObject);
+        try (Reader in = open()) {
+            return readCourse(new JsonTokenizer(in));
+        }
     }
 
-    // EFFECTS: reads source file as string and returns it
-    // code copied from the method of the same name from JsonSerializationDemo
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
+    // EFFECTS: returns the generation of the last journal included in the course list that was read (see
+    //          CourseJournal), or 0 if it was not written with a journal
+    int getJournalGeneration() {
+        return journalGeneration;
+    }
 
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
-        }
+    // EFFECTS: opens source file for reading as UTF-8 text
+    private Reader open() throws IOException {
+        return new InputStreamReader(Files.newInputStream(Paths.get(source)), StandardCharsets.UTF_8);
+    }
 
-        return contentBuilder.toString();
+    // MODIFIES: json
+    // EFFECTS: reads a JSON object with a list of courses and converts it to a CourseList
+    private CourseList readCourseList(JsonTokenizer json) throws IOException {
+        CourseList courseList = null;
+        journalGeneration = 0;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (key.equals("journal")) {
+                journalGeneration = json.nextInt();
+            } else if (key.equals("courses")) {
+                courseList = new CourseList();
+                json.beginArray();
+                while (json.hasNext()) {
+                    courseList.addCourse(readCourse(json));
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return required(courseList, "courses", json);
     }
 
-    // EFFECTS: converts contents of JSON object to a CourseList
-    private CourseList readCourseList(JSONObject jsonObject) {
-        CourseList courseList = new CourseList();
+    // MODIFIES: json
+    // EFFECTS: reads a JSON object for a course and converts it to a Course
+    private Course readCourse(JsonTokenizer json) throws IOException {
+        String name = null;
+        Boolean required = null;
+        List<PendingSection> sectionList = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (key.equals("name")) {
+                name = json.nextString();
+            } else if (key.equals("required")) {
+                required = json.nextBoolean();
+            } else if (key.equals("sections")) {
+                sectionList = readSections(json);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
 
-        JSONArray courses = jsonObject.getJSONArray("courses");
-        for (Object o : courses) {
-            JSONObject courseObj = (JSONObject) o;
-            courseList.addCourse(readCourse(courseObj));
+        Course course = new Course(required(name, "name", json), required(required, "required", json));
+        for (PendingSection s : required(sectionList, "sections", json)) {
+            course.addSection(s.toSection(course));
         }
-        return courseList;
+        return course;
     }
 
-    // EFFECTS: converts contents of JSON object for a course to a Course
-    private Course readCourse(JSONObject courseObj) {
-        String name = courseObj.getString("name");
-        boolean required = courseObj.getBoolean("required");
-
-        Course course = new Course(name, required);
+    // MODIFIES: json
+    // EFFECTS: reads a JSON array of sections; they are kept aside until the course they belong to has been read
+    private List<PendingSection> readSections(JsonTokenizer json) throws IOException {
+        List<PendingSection> sectionList = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            sectionList.add(readSection(json));
+        }
+        json.endArray();
+        return sectionList;
+    }
 
-        JSONArray sectionList = courseObj.getJSONArray("sections");
-        for (Object o : sectionList) {
-            JSONObject sectionObj = (JSONObject) o;
-            course.addSection(readSection(sectionObj, course));
+    // MODIFIES: json
+    // EFFECTS: reads a JSON object for a section
+    private PendingSection readSection(JsonTokenizer json) throws IOException {
+        PendingSection section = new PendingSection();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (key.equals("name")) {
+                section.name = json.nextString();
+            } else if (key.equals("activity")) {
+                section.activity = json.nextString();
+            } else if (key.equals("times")) {
+                section.times = readTimeslots(json);
+            } else {
+                json.skipValue();
+            }
         }
+        json.endObject();
 
-        return course;
+        required(section.name, "name", json);
+        required(section.times, "times", json);
+        return section;
     }
 
-    // MODIFIES: c
-    // EFFECTS: converts contents of JSON object for a section to a Section of the given Course
-    private Section readSection(JSONObject sectionObj, Course c) {
-        String name = sectionObj.getString("name");
-
-        Section section = new Section(name, c);
+    // MODIFIES: this, json
+    // EFFECTS: reads a JSON array of times and converts it to a list of Timeslots
+    private List<Timeslot> readTimeslots(JsonTokenizer json) throws IOException {
+        List<Timeslot> timeslotList = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            timeslotList.add(readTimeslot(json));
+        }
+        json.endArray();
+        return timeslotList;
+    }
 
-        JSONArray timeslotList = sectionObj.getJSONArray("times");
-        for (Object o : timeslotList) {
-            JSONObject timeslotObj = (JSONObject) o;
-            section.addTimeslot(readTimeslot(timeslotObj, section));
+    // MODIFIES: this, json
+    // EFFECTS: reads a JSON object for a time and converts it to a Timeslot
+    private Timeslot readTimeslot(JsonTokenizer json) throws IOException {
+        Integer term = null;
+        DayOfWeek day = null;
+        LocalTime start = null;
+        LocalTime end = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            if (key.equals("term")) {
+                term = json.nextInt();
+            } else if (key.equals("day")) {
+                day = DayOfWeek.valueOf(json.nextString());
+            } else if (key.equals("start")) {
+                start = parseTime(json.nextString());
+            } else if (key.equals("end")) {
+                end = parseTime(json.nextString());
+            } else {
+                json.skipValue();
+            }
         }
+        json.endObject();
 
-        return section;
+        return new Timeslot(required(term, "term", json), required(day, "day", json),
+                required(start, "start", json), required(end, "end", json));
     }
 
-    // MODIFIES: s
-    // EFFECTS: converts contents of JSON object for a time to a Timeslot of the given Section
-    private Timeslot readTimeslot(JSONObject timeslotObj, Section s) {
-        int term = timeslotObj.getInt("term");
-        DayOfWeek day = DayOfWeek.valueOf(timeslotObj.getString("day"));
-        LocalTime start = LocalTime.parse(timeslotObj.getString("start"));
-        LocalTime end = LocalTime.parse(timeslotObj.getString("end"));
+    // MODIFIES: this
+    // EFFECTS: returns the time of day written in text; a file only has a handful of distinct times, so each is
+    //          parsed once
+    private LocalTime parseTime(String text) {
+        LocalTime time = times.get(text);
+        if (time == null) {
+            time = LocalTime.parse(text);
+            times.put(text, time);
+        }
+        return time;
+    }
+
+    // EFFECTS: returns value, or throws JSONException if the member with the given key was missing from the object
+    private static <T> T required(T value, String key, JsonTokenizer json) {
+        if (value == null) {
+            throw json.syntaxError("JSONObject[\"" + key + "\"] not found");
+        }
+        return value;
+    }
 
-        return new Timeslot(term, day, start, end, s);
+    /*
+    Represents a section that has been read but not yet added to its course
+     */
+    private static class PendingSection {
+        private String name;
+        private String activity = Section.DEFAULT_ACTIVITY;
+        private List<Timeslot> times;
+
+        // EFFECTS: returns a section of course with the name, activity and times that were read
+        private Section toSection(Course course) {
+            Section section = new Section(name, activity, course);
+            for (Timeslot t : times) {
+                section.addTimeslot(t);
+            }
+            return section;
+        }
     }
 }
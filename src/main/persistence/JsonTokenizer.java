@@ -0,0 +1,273 @@
+package persistence;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+    Represents a pull parser that reads the tokens of a JSON document one at a time from a character stream
+
+    NOTE: only the characters of the token being read are held in memory, so a document of any size can be read in
+          the space of a small buffer. Malformed documents are reported with the same JSONException as org.json, so
+          callers do not need to know which parser read the file
+*/
+class JsonTokenizer {
+    private static final int BUFFER_SIZE = 1 << 13;
+    private static final char END = '\0';
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position = 0;
+    private int limit = 0;
+    private long consumed = 0;
+    private boolean first = false;
+
+    // EFFECTS: constructs a tokenizer that reads from in, which it does not close
+    JsonTokenizer(Reader in) {
+        this.in = in;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the start of an object; throws JSONException if the next token is something else
+    void beginObject() throws IOException {
+        expect('{');
+        first = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the end of an object; throws JSONException if the next token is something else
+    void endObject() throws IOException {
+        expect('}');
+        first = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the start of an array; throws JSONException if the next token is something else
+    void beginArray() throws IOException {
+        expect('[');
+        first = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the end of an array; throws JSONException if the next token is something else
+    void endArray() throws IOException {
+        expect(']');
+        first = false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if the object or array being read has another member, reading the comma before it;
+    //          returns false if the next token ends the object or array
+    boolean hasNext() throws IOException {
+        char next = peekToken();
+        if (next == '}' || next == ']') {
+            return false;
+        }
+        if (first) {
+            first = false;
+        } else {
+            expect(',');
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the name of an object member and the colon after it, and returns the name
+    String nextName() throws IOException {
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a string and returns it; throws JSONException if the next token is not a string
+    String nextString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        for (char ch = read(); ch != '"'; ch = read()) {
+            text.append(ch == '\\' ? readEscape() : ch);
+        }
+        return text.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a whole number, or a string holding one, and returns it; throws JSONException otherwise
+    int nextInt() throws IOException {
+        if (peekToken() == '"') {
+            String value = nextString();
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Expected a number but found \"" + value + "\"");
+            }
+        }
+        boolean negative = peek() == '-';
+        if (negative) {
+            read();
+        }
+        if (!isDigit(peek())) {
+            throw syntaxError("Expected a number");
+        }
+        long value = 0;
+        while (isDigit(peek()) && value <= Integer.MAX_VALUE) {
+            value = value * 10 + (read() - '0');
+        }
+        if (value > Integer.MAX_VALUE || isDigit(peek()) || peek() == '.' || peek() == 'e' || peek() == 'E') {
+            throw syntaxError("Expected a whole number that fits in an int");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads true or false, or a string holding either in any case as org.json accepts, and returns it;
+    //          throws JSONException otherwise
+    boolean nextBoolean() throws IOException {
+        String value = peekToken() == '"' ? nextString() : nextLiteral();
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        } else if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw syntaxError("Expected a boolean but found " + value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads and discards the next value, including everything nested in it
+    void skipValue() throws IOException {
+        char next = peekToken();
+        if (next == '"') {
+            nextString();
+        } else if (next == '{') {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+        } else if (next == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+        } else {
+            nextLiteral();
+        }
+    }
+
+    // EFFECTS: returns a JSONException with the given message and the position reached in the document
+    JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + (consumed + position));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a number, true, false or null and returns its text
+    private String nextLiteral() throws IOException {
+        peekToken();
+        text.setLength(0);
+        while (isLiteralChar(peek())) {
+            text.append(read());
+        }
+        if (text.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        return text.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the character after a backslash in a string and returns the character it stands for
+    private char readEscape() throws IOException {
+        char ch = read();
+        switch (ch) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return readUnicodeEscape();
+            case '"':
+            case '\\':
+            case '/':
+                return ch;
+            default:
+                throw syntaxError("Illegal escape \\" + ch);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the four hex digits of a \\u escape and returns the character they stand for
+    private char readUnicodeEscape() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw syntaxError("Illegal \\u escape");
+            }
+            value = value * 16 + digit;
+        }
+        return (char) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace and reads the given character; throws JSONException if the next character is another
+    private void expect(char expected) throws IOException {
+        if (peekToken() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        read();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace and returns the next character without reading it, or END at the end of the document
+    private char peekToken() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            position++;
+        }
+        return peek();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next character without reading it, or END at the end of the document
+    private char peek() throws IOException {
+        if (position == limit && !fill()) {
+            return END;
+        }
+        return buffer[position];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next character and returns it; throws JSONException at the end of the document
+    private char read() throws IOException {
+        if (position == limit && !fill()) {
+            throw syntaxError("Unexpected end of document");
+        }
+        return buffer[position++];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refills the buffer from the stream, returning false if the stream has ended
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = Math.max(in.read(buffer), 0);
+        return limit > 0;
+    }
+
+    // EFFECTS: returns true if ch is an ASCII digit
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    // EFFECTS: returns true if ch can be part of a number, true, false or null
+    private static boolean isLiteralChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '-' || ch == '+' || ch == '.';
+    }
+}
@@ -1,40 +1,88 @@
 package persistence;
 
+import model.Course;
 import model.CourseList;
-import org.json.JSONObject;
+import model.Section;
+import model.Timeslot;
 
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
 
 /*
 Represents a writer that writes course list information to a file
+
+NOTE: the course list is written member by member as it is walked, through a buffer, so saving a large course list
+      does not build a JSON tree or a string of the whole file. The file is written in the same layout that
+      JsonReader reads
  */
 
 public class JsonWriter {
     // based on the JsonWriter class of the same name from JsonSerializationDemo
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     private String destination;
+    private boolean compact;
+    private FileOutputStream file;
     private PrintWriter writer;
-    private static final int TAB = 4;
+    private JsonEmitter json;
+    private final String[] times = new String[MINUTES_PER_DAY];
 
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write to destination file, laid out with one member per line
     public JsonWriter(String destination) {
+        this(destination, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file, without any whitespace if compact is true
+    public JsonWriter(String destination, boolean compact) {
         this.destination = destination;
+        this.compact = compact;
     }
 
     // MODIFIES: this
     // EFFECTS: opens writer
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        file = new FileOutputStream(destination);
+        writer = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(file, StandardCharsets.UTF_8), BUFFER_SIZE));
+        json = new JsonEmitter(writer, compact);
     }
 
     // MODIFIES: this
     // EFFECTS: writes JSON representation of course list to file
     public void writeCourseList(CourseList list) {
-        JSONObject listAsJson = list.toJson();
-        writer.print(listAsJson.toString(TAB));
+        json.beginObject();
+        writeCourses(list);
+        json.endObject();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of course list to file, noting that it includes every journal up to the
+    //          given generation (see CourseJournal)
+    void writeSnapshot(CourseList list, int generation) {
+        json.beginObject();
+        json.name("journal");
+        json.value(generation);
+        writeCourses(list);
+        json.endObject();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure everything written so far is on disk; throws IOException if anything could not be written
+    void sync() throws IOException {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Could not write " + destination);
+        }
+        file.getFD().sync();
     }
 
     // MODIFIES: this
@@ -43,4 +91,73 @@ public class JsonWriter {
         writer.close();
     }
 
+    // MODIFIES: this
+    // EFFECTS: writes the courses member of the JSON representation of course list
+    private void writeCourses(CourseList list) {
+        json.name("courses");
+        json.beginArray();
+        for (Course c : list) {
+            writeCourse(c);
+        }
+        json.endArray();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of course
+    private void writeCourse(Course course) {
+        json.beginObject();
+        json.name("name");
+        json.value(course.getName());
+        json.name("required");
+        json.value(course.getRequired());
+        json.name("sections");
+        json.beginArray();
+        for (Section s : course) {
+            writeSection(s);
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of section
+    private void writeSection(Section section) {
+        json.beginObject();
+        json.name("name");
+        json.value(section.getName());
+        json.name("activity");
+        json.value(section.getActivity());
+        json.name("times");
+        json.beginArray();
+        for (Timeslot t : section) {
+            writeTimeslot(t);
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of timeslot
+    private void writeTimeslot(Timeslot timeslot) {
+        json.beginObject();
+        json.name("term");
+        json.value(timeslot.getTerm());
+        json.name("day");
+        json.value(timeslot.getDayOfWeek().name());
+        json.name("start");
+        json.value(timeText(timeslot.getStartTime()));
+        json.name("end");
+        json.value(timeText(timeslot.getEndTime()));
+        json.endObject();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns time as text, e.g. 09:30; each time of day is only turned into text once
+    private String timeText(LocalTime time) {
+        int minute = time.getHour() * 60 + time.getMinute();
+        if (times[minute] == null) {
+            times[minute] = time.toString();
+        }
+        return times[minute];
+    }
 }
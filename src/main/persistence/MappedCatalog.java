@@ -0,0 +1,169 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/*
+    Represents a binary catalog file (see BinaryFormat) that has been mapped into memory
+
+    NOTE: the whole file is checked when it is opened, which only reads ints in place, so a course can always be
+          loaded later without errors. Strings are only decoded when they are first needed, and the sections of a
+          course are only built when the course is first used, and built again if the course has dropped them (see
+          Course). The mapping is released once every course has been edited, or the course list is garbage collected
+*/
+final class MappedCatalog {
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private final int numCourses;
+    private final int numSections;
+    private final int numTimeslots;
+    private final int stringTable;
+    private final int courses;
+    private final int sections;
+    private final int timeslots;
+    private final int stringData;
+
+    // EFFECTS: reads the header of the catalog in buffer and checks the rest of it; throws IOException if buffer does
+    //          not hold a whole catalog of the current version
+    MappedCatalog(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < BinaryFormat.HEADER_INTS * Integer.BYTES || buffer.getInt(0) != BinaryFormat.MAGIC) {
+            throw new IOException("Not a course catalog");
+        } else if (buffer.getInt(Integer.BYTES) != BinaryFormat.VERSION) {
+            throw new IOException("Unsupported course catalog version " + buffer.getInt(Integer.BYTES));
+        }
+        int numStrings = count(2);
+        numCourses = count(3);
+        numSections = count(4);
+        numTimeslots = count(5);
+        strings = new String[numStrings];
+        stringTable = BinaryFormat.HEADER_INTS * Integer.BYTES;
+        courses = table(stringTable, numStrings + 1, 1);
+        sections = table(courses, numCourses, BinaryFormat.COURSE_INTS);
+        timeslots = table(sections, numSections, BinaryFormat.SECTION_INTS);
+        stringData = table(timeslots, numTimeslots, BinaryFormat.TIMESLOT_INTS);
+        check();
+    }
+
+    // EFFECTS: returns a course list with a course for each course record, whose sections are loaded from this
+    //          catalog when they are first needed
+    CourseList courseList() {
+        CourseList list = new CourseList();
+        for (int i = 0; i < numCourses; i++) {
+            int record = courses + i * BinaryFormat.COURSE_INTS * Integer.BYTES;
+            boolean required = (intAt(record, 1) & BinaryFormat.FLAG_REQUIRED) != 0;
+            int index = i;
+            list.addCourse(new Course(string(intAt(record, 0)), required, c -> loadSections(c, index)));
+        }
+        return list;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: adds the sections of the course with the given index to course
+    private void loadSections(Course course, int index) {
+        int record = courses + index * BinaryFormat.COURSE_INTS * Integer.BYTES;
+        int first = intAt(record, 2);
+        for (int i = first; i < first + intAt(record, 3); i++) {
+            int sectionRecord = sections + i * BinaryFormat.SECTION_INTS * Integer.BYTES;
+            Section section = new Section(string(intAt(sectionRecord, 0)), string(intAt(sectionRecord, 1)), course);
+            int firstTimeslot = intAt(sectionRecord, 2);
+            for (int j = firstTimeslot; j < firstTimeslot + intAt(sectionRecord, 3); j++) {
+                section.addTimeslot(timeslot(j));
+            }
+            course.addSection(section);
+        }
+    }
+
+    // EFFECTS: returns the timeslot with the given index
+    private Timeslot timeslot(int index) {
+        int record = timeslots + index * BinaryFormat.TIMESLOT_INTS * Integer.BYTES;
+        int start = intAt(record, 1);
+        int end = intAt(record, 2);
+        return new Timeslot(intAt(record, 0), DayOfWeek.of(start / BinaryFormat.MINUTES_PER_DAY + 1),
+                timeOfDay(start), timeOfDay(end));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the string with the given index, decoding it if it has not been used before
+    private String string(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int from = intAt(stringTable, index);
+            byte[] bytes = new byte[intAt(stringTable, index + 1) - from];
+            ByteBuffer data = buffer.duplicate();
+            data.position(stringData + from);
+            data.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    // EFFECTS: checks that every record refers to strings, sections and timeslots that are in the file and that every
+    //          timeslot ends after it starts, on the same day of the week; throws IOException otherwise
+    private void check() throws IOException {
+        for (int i = 0; i < strings.length; i++) {
+            int from = intAt(stringTable, i);
+            checkRange(from, intAt(stringTable, i + 1) - from, buffer.capacity() - stringData);
+        }
+        for (int i = 0; i < numCourses; i++) {
+            int record = courses + i * BinaryFormat.COURSE_INTS * Integer.BYTES;
+            checkRange(intAt(record, 0), 1, strings.length);
+            checkRange(intAt(record, 2), intAt(record, 3), numSections);
+        }
+        for (int i = 0; i < numSections; i++) {
+            int record = sections + i * BinaryFormat.SECTION_INTS * Integer.BYTES;
+            checkRange(intAt(record, 0), 1, strings.length);
+            checkRange(intAt(record, 1), 1, strings.length);
+            checkRange(intAt(record, 2), intAt(record, 3), numTimeslots);
+        }
+        for (int i = 0; i < numTimeslots; i++) {
+            int record = timeslots + i * BinaryFormat.TIMESLOT_INTS * Integer.BYTES;
+            int start = intAt(record, 1);
+            int lastMinuteOfDay = start - start % BinaryFormat.MINUTES_PER_DAY + BinaryFormat.MINUTES_PER_DAY - 1;
+            checkRange(start, 1, 7 * BinaryFormat.MINUTES_PER_DAY);
+            checkRange(start + 1, intAt(record, 2) - start - 1, lastMinuteOfDay);
+        }
+    }
+
+    // EFFECTS: throws IOException unless 0 <= from, 0 <= length and from + length <= limit
+    private static void checkRange(int from, int length, int limit) throws IOException {
+        if (from < 0 || length < 0 || (long) from + length > limit) {
+            throw new IOException("Corrupt course catalog");
+        }
+    }
+
+    // EFFECTS: returns the count in the given int of the header; throws IOException if it is negative
+    private int count(int headerInt) throws IOException {
+        int count = intAt(0, headerInt);
+        checkRange(0, count, Integer.MAX_VALUE);
+        return count;
+    }
+
+    // EFFECTS: returns the position just after a table that starts at the given position and has numRecords
+    //          records of recordInts ints each; throws IOException if the table does not fit in the file
+    private int table(int start, int numRecords, int recordInts) throws IOException {
+        long end = start + (long) numRecords * recordInts * Integer.BYTES;
+        checkRange(start, (int) Math.min(end - start, Integer.MAX_VALUE), buffer.capacity());
+        return (int) end;
+    }
+
+    // EFFECTS: returns the i-th int of the record at the given position
+    private int intAt(int record, int i) {
+        return buffer.getInt(record + i * Integer.BYTES);
+    }
+
+    // EFFECTS: returns the time of day of the given minute of the week
+    private static LocalTime timeOfDay(int minuteOfWeek) {
+        int minute = minuteOfWeek % BinaryFormat.MINUTES_PER_DAY;
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+}
@@ -2,8 +2,9 @@ package ui;
 
 import exceptions.ScheduleSizeException;
 import model.*;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.CourseJournal;
 
 import javax.sound.sampled.*;
 import javax.swing.*;
@@ -16,14 +17,17 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
 
 import static javax.swing.ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS;
 
@@ -31,7 +35,14 @@ import static javax.swing.ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS;
     GUI for the schedule application
 */
 public class CourseEditor {
+    private static final String RANDOM_ORDER = "Random selection";
+    private static final String ALL_ORDER = "All schedules";
+    private static final int MAX_KEPT_SCHEDULES = 2000000;
+    private static final Duration CALCULATION_TIME_LIMIT = Duration.ofMinutes(1);
+    private static final long SCHEDULE_CACHE_BUDGET = 128L << 20;
     private CourseList courseList;
+    private ScheduleRecalculator recalculator;
+    private ScheduleCache scheduleCache = new ScheduleCache(SCHEDULE_CACHE_BUDGET);
     private JTabbedPane mainPanel;
     private DefaultListModel<Course> courses = new DefaultListModel<>();
     private DefaultListModel<Section> sections = new DefaultListModel<>();
@@ -43,6 +54,8 @@ public class CourseEditor {
     // EFFECTS: creates a course list panel that will display contents of the given course list
     public CourseEditor() {
         courseList = new CourseList();
+        courseList.setScheduleCache(scheduleCache);
+        recalculator = new ScheduleRecalculator(courseList, MAX_KEPT_SCHEDULES);
         createMainPanel();
     }
 
@@ -164,21 +177,24 @@ public class CourseEditor {
         return coursePanel;
     }
 
-    // EFFECTS: returns a JPanel with a text field to edit the section name and buttons to save section info
-    //          or add a new section to selected course
+    // EFFECTS: returns a JPanel with text fields to edit the section name and activity, and buttons to save section
+    //          info or add a new section to selected course
     private JPanel createSectionEditPanel() {
         JPanel sectionPanel = createTitledPanel("Add/edit sections");
         sectionPanel.setPreferredSize(new Dimension(300, 300));
         JTextField name = new JTextField(10);
         name.setMaximumSize(new Dimension(200, 30));
-        JLabel nameLabel = createCenterAlignedLabel("Section name:");
+        JTextField activity = new JTextField(Section.DEFAULT_ACTIVITY, 10);
+        activity.setMaximumSize(new Dimension(200, 30));
         JLabel feedback = createCenterAlignedLabel("");
-        sectionPanel.add(nameLabel);
+        sectionPanel.add(createCenterAlignedLabel("Section name:"));
         sectionPanel.add(name);
+        sectionPanel.add(createCenterAlignedLabel("Activity (e.g. Lecture, Laboratory):"));
+        sectionPanel.add(activity);
         sectionPanel.add(Box.createVerticalGlue());
         sectionPanel.add(feedback);
 
-        SectionEditListener listener = new SectionEditListener(name, feedback);
+        SectionEditListener listener = new SectionEditListener(name, activity, feedback);
         sectionPanel.add(createButtonPanel(listener));
         return sectionPanel;
     }
@@ -249,6 +265,8 @@ public class CourseEditor {
 
         createButtonAndCommand(saveLoadPanel, "Save", listener);
         createButtonAndCommand(saveLoadPanel, "Load", listener);
+        createButtonAndCommand(saveLoadPanel, "Save catalog", listener);
+        createButtonAndCommand(saveLoadPanel, "Load catalog", listener);
         return saveLoadPanel;
     }
 
@@ -259,13 +277,18 @@ public class CourseEditor {
         JTextField scheduleSize = new JTextField();
         scheduleSize.setMaximumSize(new Dimension(100, 30));
         JLabel scheduleSizeLabel = createCenterAlignedLabel("Number of courses in the schedule: ");
+        JComboBox<Object> scheduleOrder = createScheduleOrderField();
         JLabel feedback = createCenterAlignedLabel("");
         JTextArea displayedSchedule = new JTextArea(10, 10);
-        CalculationListener listener = new CalculationListener(scheduleSize, displayedSchedule, feedback);
+        CalculationListener listener = new CalculationListener(scheduleSize, scheduleOrder, displayedSchedule,
+                feedback);
 
         calcPanel.add(scheduleSizeLabel);
         calcPanel.add(scheduleSize);
+        calcPanel.add(createCenterAlignedLabel("Schedules to show: "));
+        calcPanel.add(scheduleOrder);
         createButtonAndCommand(calcPanel, "Calculate", listener);
+        createButtonAndCommand(calcPanel, "Stop", listener);
         calcPanel.add(feedback);
         calcPanel.add(displayedSchedule);
         createButtonAndCommand(calcPanel, "Previous", listener);
@@ -276,6 +299,19 @@ public class CourseEditor {
         return calcPanel;
     }
 
+    // EFFECTS: returns a combo box for choosing which schedules to show: a random selection, all of them, or the best
+    //          ones by one of the built-in criteria
+    private JComboBox<Object> createScheduleOrderField() {
+        JComboBox<Object> scheduleOrder = new JComboBox<>();
+        scheduleOrder.addItem(RANDOM_ORDER);
+        scheduleOrder.addItem(ALL_ORDER);
+        for (ScheduleCriterion criterion : ScheduleCriterion.values()) {
+            scheduleOrder.addItem(criterion);
+        }
+        scheduleOrder.setMaximumSize(new Dimension(200, 30));
+        return scheduleOrder;
+    }
+
     // MODIFIES: panel
     // EFFECTS: adds a button to panel with text and actionCommand equal to command and ActionListener listener
     private void createButtonAndCommand(JPanel panel, String command, ActionListener listener) {
@@ -550,11 +586,13 @@ public class CourseEditor {
      */
     private class SectionEditListener implements ActionListener {
         private JTextField sectionNameField;
+        private JTextField activityField;
         private JLabel feedback;
 
-        // EFFECTS: constructs an ActionListener with access to the given text field and label
-        private SectionEditListener(JTextField name, JLabel feedback) {
+        // EFFECTS: constructs an ActionListener with access to the given text fields and label
+        private SectionEditListener(JTextField name, JTextField activity, JLabel feedback) {
             sectionNameField = name;
+            activityField = activity;
             this.feedback = feedback;
         }
 
@@ -572,12 +610,13 @@ public class CourseEditor {
         }
 
         // MODIFIES: this
-        // EFFECTS: updates selectedSection with sectionNameField if doing so would not create duplicate sections,
-        //          and shows feedback
+        // EFFECTS: updates selectedSection with sectionNameField and activityField if doing so would not create
+        //          duplicate sections, and shows feedback
         private void updateSelectedSection() {
             String name = sectionNameField.getText();
             if (selectedSection != null) {
-                if (selectedCourse.changeSectionName(selectedSection, name)) {
+                if (name.equals(selectedSection.getName()) || selectedCourse.changeSectionName(selectedSection, name)) {
+                    selectedSection.setActivity(activityField.getText());
                     showSuccessMessage(feedback, "saved");
                 } else {
                     showFailMessage(feedback, "save");
@@ -586,10 +625,10 @@ public class CourseEditor {
         }
 
         // MODIFIES: this
-        // EFFECTS: adds a section to selectedCourse with sectionNameField
+        // EFFECTS: adds a section to selectedCourse with sectionNameField and activityField
         //          if doing so would not create duplicate sections, and shows feedback
         private void addNewSection() {
-            Section newSection = new Section(sectionNameField.getText(), selectedCourse);
+            Section newSection = new Section(sectionNameField.getText(), activityField.getText(), selectedCourse);
             boolean success = selectedCourse.addSection(newSection);
             if (success) {
                 sections.addElement(newSection);
@@ -667,7 +706,7 @@ public class CourseEditor {
             } catch (DateTimeParseException dtpe) {
                 return false;
             }
-            Timeslot t = new Timeslot(term, DayOfWeek.of(dayOfWeek), start, end, selectedSection);
+            Timeslot t = new Timeslot(term, DayOfWeek.of(dayOfWeek), start, end);
             boolean success = selectedSection.addTimeslot(t);
             if (success) {
                 timeslots.addElement(t);
@@ -678,27 +717,35 @@ public class CourseEditor {
     }
 
     /*
-        Handles saving and loading course lists
+        Handles saving and loading course lists, either through the course journal or as a binary catalog
      */
     private class SaveLoadListener implements ActionListener {
-        private JsonReader reader;
-        private JsonWriter writer;
+        private CourseJournal journal;
         private JLabel feedback;
         private static final String FILE_NAME = "./data/courselist.json";
+        private static final String CATALOG_FILE_NAME = "./data/courselist.bin";
 
         // EFFECTS: constructs an ActionListener with access to the given label
         private SaveLoadListener(JLabel feedback) {
-            reader = new JsonReader(FILE_NAME);
-            writer = new JsonWriter(FILE_NAME);
+            journal = new CourseJournal(FILE_NAME);
             this.feedback = feedback;
         }
 
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (e.getActionCommand().equals("Save")) {
-                writeCourseList();
-            } else if (e.getActionCommand().equals("Load")) {
-                readCourseList();
+            switch (e.getActionCommand()) {
+                case "Save":
+                    writeCourseList();
+                    break;
+                case "Load":
+                    readCourseList();
+                    break;
+                case "Save catalog":
+                    writeCatalog();
+                    break;
+                case "Load catalog":
+                    readCatalog();
+                    break;
             }
         }
 
@@ -706,11 +753,9 @@ public class CourseEditor {
         // EFFECTS: writes the current course list to file and shows feedback
         private void writeCourseList() {
             try {
-                writer.open();
-                writer.writeCourseList(courseList);
-                writer.close();
+                journal.save(courseList);
                 showSuccessMessage(feedback, "saved course list");
-            } catch (FileNotFoundException fileNotFoundException) {
+            } catch (IOException ioException) {
                 showFailMessage(feedback, "save course list");
             }
         }
@@ -719,28 +764,77 @@ public class CourseEditor {
         // EFFECTS: loads the current course list from file and shows feedback
         private void readCourseList() {
             try {
-                courseList = reader.read();
-                clearCoursesAndLoad();
+                showCourseList(journal.load());
                 showSuccessMessage(feedback, "loaded course list");
             } catch (IOException ioException) {
                 showFailMessage(feedback, "load course list");
             }
         }
+
+        // EFFECTS: writes the current course list to the catalog file and shows feedback
+        private void writeCatalog() {
+            BinaryWriter writer = new BinaryWriter(CATALOG_FILE_NAME);
+            try {
+                writer.open();
+                try {
+                    writer.writeCourseList(courseList);
+                } finally {
+                    writer.close();
+                }
+                showSuccessMessage(feedback, "saved catalog");
+            } catch (IOException ioException) {
+                showFailMessage(feedback, "save catalog");
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: loads the current course list from the catalog file and shows feedback
+        private void readCatalog() {
+            try {
+                showCourseList(new BinaryReader(CATALOG_FILE_NAME).read());
+                showSuccessMessage(feedback, "loaded catalog");
+            } catch (IOException ioException) {
+                showFailMessage(feedback, "load catalog");
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: makes list the current course list and shows its courses
+        private void showCourseList(CourseList list) {
+            courseList = list;
+            courseList.setScheduleCache(scheduleCache);
+            recalculator = new ScheduleRecalculator(courseList, MAX_KEPT_SCHEDULES);
+            clearCoursesAndLoad();
+        }
     }
 
     /*
         Handles calculating and displaying schedules
+
+        NOTE: schedules are calculated on a background thread, so the window stays responsive and the calculation can
+              be stopped with the Stop button or by running out of time. The course list tab is disabled while it runs,
+              so the course list cannot be edited, saved or loaded under the search, and the chosen order is read
+              before it starts. When all schedules are shown and there are too many to keep in memory, they are
+              written to a temporary spill file that is read one schedule at a time as the display moves, and that is
+              deleted when the next calculation starts
      */
     private class CalculationListener implements ActionListener {
+        private static final int SELECTION_SIZE = 10;
         private JTextField scheduleSizeField;
+        private JComboBox<Object> scheduleOrderField;
         private JTextArea displayedSchedule;
         private JLabel feedback;
         private List<Schedule> selection = new ArrayList<>();
+        private Random random = new Random();
         private int currentIndex;
+        private SearchControl control;
+        private Path spillPath;
+        private ScheduleFile spilled;
 
-        // EFFECTS: constructs an ActionListener with access to the given text field, text area, and label
-        private CalculationListener(JTextField size, JTextArea display, JLabel feedback) {
+        // EFFECTS: constructs an ActionListener with access to the given text field, combo box, text area, and label
+        private CalculationListener(JTextField size, JComboBox<Object> order, JTextArea display, JLabel feedback) {
             scheduleSizeField = size;
+            scheduleOrderField = order;
             displayedSchedule = display;
             this.feedback = feedback;
         }
@@ -751,6 +845,9 @@ public class CourseEditor {
                 case "Calculate":
                     calculateAndDisplaySchedules();
                     break;
+                case "Stop":
+                    stopCalculation();
+                    break;
                 case "Previous":
                     goToPrevious();
                     break;
@@ -779,50 +876,168 @@ public class CourseEditor {
         }
 
         // MODIFIES: this
-        // EFFECTS: sets text in displayedSchedule to the schedule at currentIndex
+        // EFFECTS: sets text in displayedSchedule to the schedule at currentIndex, or clears it if there are none
         private void setScheduleAreaText() {
+            if (selection.isEmpty()) {
+                displayedSchedule.setText("");
+                return;
+            }
             String currentSchedule = selection.get(currentIndex).toString();
-            String display = "Schedule #" + (currentIndex + 1) + "\n" + currentSchedule;
+            String display = "Schedule #" + (currentIndex + 1) + " of " + selection.size() + "\n" + currentSchedule;
             displayedSchedule.setText(display);
         }
 
         // MODIFIES: this
-        // EFFECTS: calculates all possible schedules with size specified in scheduleSizeField and shows feedback
+        // EFFECTS: unless a calculation is already running, starts counting all possible schedules with size
+        //          specified in scheduleSizeField and selecting SELECTION_SIZE of them to display in the order chosen
+        //          in scheduleOrderField; the schedules from the last calculation are updated rather than
+        //          recalculated where possible
         private void calculateAndDisplaySchedules() {
+            if (control != null) {
+                return;
+            }
+            stopShowingAllSchedules();
             int size = 0;
             try {
                 size = Integer.parseInt(scheduleSizeField.getText());
             } catch (NumberFormatException nfe) {
                 // do nothing
             }
-            List<Schedule> schedules = null;
-            try {
-                schedules = courseList.allValidSchedules(size);
-                fillSelection(10, schedules);
-            } catch (ScheduleSizeException e) {
-                showFailMessage(feedback, "calculate schedules");
+            control = new SearchControl(CALCULATION_TIME_LIMIT);
+            setEditingEnabled(false);
+            new CalculationWorker(size, scheduleOrderField.getSelectedItem()).execute();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: enables or disables the course list tab, which holds every control that edits, saves or loads the
+        //          course list
+        private void setEditingEnabled(boolean enabled) {
+            mainPanel.setEnabledAt(mainPanel.indexOfTab("Course list"), enabled);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: asks the running calculation to stop, if there is one
+        private void stopCalculation() {
+            if (control != null) {
+                control.cancel();
             }
         }
 
         // MODIFIES: this
-        // EFFECTS: clears previous schedules, and
-        //          if the number of schedules < selectionSize, loads all schedules into selection
-        //          otherwise, randomly selects selectionSize schedules and loads them into selection
-        private void fillSelection(int selectionSize, List<Schedule> schedules) {
-            selection.clear();
+        // EFFECTS: if all schedules of the last calculation are shown, stops showing them, since the next calculation
+        //          changes the kept schedules; deletes the spill file of the last calculation if there is one
+        private void stopShowingAllSchedules() {
+            if (selection instanceof ScheduleSet || spilled != null) {
+                selection = new ArrayList<>();
+                setScheduleAreaText();
+            }
+            if (spilled != null) {
+                try {
+                    spilled.close();
+                } catch (IOException e) {
+                    showFailMessage(feedback, "delete the old spill file");
+                }
+                spilled = null;
+            }
+        }
 
-            showSuccessMessage(feedback, "calculated " + schedules.size() + " schedules");
+        // MODIFIES: this
+        // EFFECTS: returns the best SELECTION_SIZE schedules with size courses by the criterion order, all of them if
+        //          order is ALL_ORDER, or a random selection of them otherwise; reports the progress of any search for
+        //          all schedules to listener
+        private SearchResult selectSchedules(int size, Object order, SearchProgressListener listener)
+                throws ScheduleSizeException, IOException {
+            if (order instanceof ScheduleScorer && recalculator.isComplete()) {
+                return courseList.bestSchedules(size, SELECTION_SIZE, (ScheduleScorer) order, control);
+            }
+            return new SearchResult(selectUnranked(size, order, listener), true, 0);
+        }
 
-            int listLength = Math.min(selectionSize, schedules.size());
-            if (schedules.size() > selectionSize) {
-                Collections.shuffle(schedules);
+        // MODIFIES: this
+        // EFFECTS: returns all schedules with size courses if order is ALL_ORDER, or a random selection of them
+        //          otherwise
+        private List<Schedule> selectUnranked(int size, Object order, SearchProgressListener listener)
+                throws ScheduleSizeException, IOException {
+            ScheduleSet kept = recalculator.getSchedules();
+            if (ALL_ORDER.equals(order) && kept == null) {
+                return spillAllSchedules(size, listener);
+            } else if (ALL_ORDER.equals(order)) {
+                return kept;
             }
-            for (int i = 0; i < listLength; i++) {
-                selection.add(schedules.get(i));
+            return recalculator.sample(SELECTION_SIZE, random);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: writes all schedules with size courses to the spill file, creating it if needed, and returns them
+        private List<Schedule> spillAllSchedules(int size, SearchProgressListener listener)
+                throws ScheduleSizeException, IOException {
+            if (spillPath == null) {
+                spillPath = Files.createTempFile("schedules", ".bin");
+                spillPath.toFile().deleteOnExit();
             }
+            spilled = courseList.spillValidSchedules(size, spillPath, control, listener);
+            return spilled;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: replaces previous schedules with the selected schedules
+        private void fillSelection(long numSchedules, SearchResult result) {
+            if (!recalculator.isComplete()) {
+                showFailMessage(feedback, "finish: stopped after finding " + numSchedules + " schedules");
+            } else if (!result.isComplete()) {
+                showFailMessage(feedback, "finish: showing the best schedules found before stopping");
+            } else if (spilled != null && !spilled.isComplete()) {
+                showFailMessage(feedback, "finish: stopped after saving " + spilled.size() + " of " + numSchedules
+                        + " schedules");
+            } else {
+                showSuccessMessage(feedback, "calculated " + numSchedules + " schedules");
+            }
+
+            selection = result.getSchedules();
             currentIndex = 0;
             setScheduleAreaText();
         }
+
+        /*
+            Calculates schedules on a background thread and shows the progress and the results in the calculation
+            panel
+         */
+        private class CalculationWorker extends SwingWorker<Long, Double> {
+            private final int size;
+            private final Object order;
+            private SearchResult result;
+
+            // EFFECTS: constructs a worker that calculates schedules with size courses and selects them by order
+            private CalculationWorker(int size, Object order) {
+                this.size = size;
+                this.order = order;
+            }
+
+            @Override
+            protected Long doInBackground() throws ScheduleSizeException, IOException {
+                SearchProgressListener listener = (nodes, found, fraction) -> publish(fraction);
+                long numSchedules = recalculator.update(size, control, listener);
+                result = selectSchedules(size, order, listener);
+                return numSchedules;
+            }
+
+            @Override
+            protected void process(List<Double> fractions) {
+                double fraction = fractions.get(fractions.size() - 1);
+                feedback.setText("Calculating... " + Math.round(fraction * 100) + "% searched");
+            }
+
+            @Override
+            protected void done() {
+                control = null;
+                setEditingEnabled(true);
+                try {
+                    fillSelection(get(), result);
+                } catch (InterruptedException | ExecutionException e) {
+                    showFailMessage(feedback, "calculate schedules");
+                }
+            }
+        }
     }
 
     /*
@@ -3,12 +3,18 @@ package ui;
 import exceptions.InvalidSyntaxException;
 import exceptions.ScheduleSizeException;
 import model.*;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.CourseJournal;
 
-import java.io.FileNotFoundException;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
@@ -16,17 +22,21 @@ import java.util.*;
 public class ScheduleApp {
     private CourseList courseList;
     private Scanner input;
-    private JsonReader reader;
-    private JsonWriter writer;
+    private CourseJournal journal;
     private static final String FILE_NAME = "./data/courselist.json";
+    private static final String CATALOG_FILE_NAME = "./data/courselist.bin";
+    private static final Duration PRINT_TIME_LIMIT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 10;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private Path spillPath;
+    private ScheduleFile keptSchedules;
 
     // EFFECTS: runs the schedule calculation application
     public ScheduleApp() {
         courseList = new CourseList();
         input = new Scanner(System.in);
         input.useDelimiter("\n");
-        reader = new JsonReader(FILE_NAME);
-        writer = new JsonWriter(FILE_NAME);
+        journal = new CourseJournal(FILE_NAME);
         runApp();
     }
 
@@ -53,19 +63,26 @@ public class ScheduleApp {
             if (splitList.get(0).equals("quit")) {
                 keepGoing = false;
             } else {
-                try {
-                    processCommand(splitList);
-                } catch (IndexOutOfBoundsException | InvalidSyntaxException e) {
-                    invalidCommand();
-                } catch (DateTimeParseException e) {
-                    System.out.println("Invalid time format (use 09:00 not 9:00): try again.");
-                }
+                tryCommand(splitList);
             }
         }
         saveBeforeQuitting();
+        deleteKeptSchedules();
         input.close();
     }
 
+    // MODIFIES: this, command
+    // EFFECTS: processes command, telling the user if it is not valid
+    private void tryCommand(ArrayList<String> command) {
+        try {
+            processCommand(command);
+        } catch (IndexOutOfBoundsException | InvalidSyntaxException e) {
+            invalidCommand();
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid time format (use 09:00 not 9:00): try again.");
+        }
+    }
+
     // MODIFIES: this, command
     // EFFECTS: processes user's commands from console
     private void processCommand(ArrayList<String> command) throws InvalidSyntaxException {
@@ -80,13 +97,13 @@ public class ScheduleApp {
                 break;
             case "calculate": calculateSchedules(command);
                 break;
-            case "display": displayCourses();
+            case "display": display(command);
                 break;
             case "help": showHowToUse();
                 break;
-            case "save": saveCourses();
+            case "save": save(command);
                 break;
-            case "load": loadCourses();
+            case "load": load(command);
                 break;
             default: invalidCommand();
         }
@@ -96,6 +113,7 @@ public class ScheduleApp {
     private void showHowToUse() {
         System.out.println("Add a course:                     add course cpsc110 true");
         System.out.println("Add a section to a course:        course cpsc110 add section 101");
+        System.out.println("Add a lab section to a course:    course cpsc110 add section L1A Laboratory");
         System.out.println("Add a time to a section:          course cpsc110 section 101 add time 1 24 14:00 15:30");
         System.out.println("Change a course's status:         set course cpsc110 false");
         System.out.println("Delete a course:                  delete course cpsc110");
@@ -103,12 +121,14 @@ public class ScheduleApp {
         System.out.println("Delete a time:                    course cpsc110 section 101 delete time 1 24 14:00 15:30");
         System.out.println("Calculate all n-course schedules: calculate n");
         System.out.println("Show course list:                 display courses");
-        System.out.println("Show calculated schedules:        display schedules");
+        System.out.println("Show kept schedules from the 1st: display schedules 1");
 
         System.out.println("\nTo get help:                      help");
         System.out.println("To exit app:                      quit");
         System.out.println("Save course list:                 save");
         System.out.println("Load course list:                 load");
+        System.out.println("Save course list as a catalog:    save catalog");
+        System.out.println("Load course list from a catalog:  load catalog");
     }
 
     // EFFECTS: prints message that the command is invalid
@@ -157,7 +177,7 @@ public class ScheduleApp {
         if (!command.get(0).equals("course")) {
             throw new InvalidSyntaxException();
         }
-        Course c = courseList.getCourseByName(command.get(1));
+        Course c = courseList.findCourse(command.get(1));
         if (c != null) {
             String commandKey = command.get(2);
             switch (commandKey) {
@@ -185,7 +205,8 @@ public class ScheduleApp {
             throw new InvalidSyntaxException();
         }
         String name = command.get(2);
-        if (courseList.deleteCourse(new Course(name, false))) {
+        Course c = courseList.findCourse(name);
+        if (c != null && courseList.deleteCourse(c)) {
             System.out.println("Successfully deleted course " + name + ".");
         } else {
             System.out.println("Unsuccessful delete: course not found.");
@@ -204,22 +225,23 @@ public class ScheduleApp {
             throw new InvalidSyntaxException();
         }
         boolean required = Boolean.parseBoolean(booleanExpected);
-        Course c = courseList.getCourseByName(name);
+        Course c = courseList.findCourse(name);
         c.setRequired(required);
         System.out.println("Successfully changed status to " + c + ".");
     }
 
     // MODIFIES: this, command
-    // EFFECTS: adds a new section, and optionally its timeslots, to c
+    // EFFECTS: adds a new section, optionally with its activity and timeslots, to c
     private void addSection(ArrayList<String> command, Course c) throws InvalidSyntaxException {
         if (!command.get(0).equals("section")) {
             throw new InvalidSyntaxException();
         }
         String name = command.get(1);
-        Section s = new Section(name, c);
+        boolean hasActivity = command.size() > 2 && !command.get(2).equals("time");
+        Section s = new Section(name, hasActivity ? command.get(2) : "", c);
         if (c.addSection(s)) {
-            System.out.println("Successfully added section " + name + " to course " + c + ".");
-            command.subList(0, 2).clear();
+            System.out.println("Successfully added " + s.getActivity() + " section " + name + " to course " + c + ".");
+            command.subList(0, hasActivity ? 3 : 2).clear();
             if (command.size() > 0) {
                 addTimeslots(command, s);
             }
@@ -235,7 +257,7 @@ public class ScheduleApp {
         if (!command.get(0).equals("section")) {
             throw new InvalidSyntaxException();
         }
-        Section s = c.getSectionByName(command.get(1));
+        Section s = c.findSection(command.get(1));
         if (s != null) {
             String commandKey = command.get(2);
             command.subList(0, 3).clear();
@@ -261,7 +283,8 @@ public class ScheduleApp {
             throw new InvalidSyntaxException();
         }
         String name = command.get(1);
-        if (c.deleteSection(new Section(name, c))) {
+        Section s = c.findSection(name);
+        if (s != null && c.deleteSection(s)) {
             System.out.println("Successfully deleted section " + name + " from course " + c + ".");
         } else {
             System.out.println("Unsuccessful delete: section not found.");
@@ -281,7 +304,7 @@ public class ScheduleApp {
         for (char ch : days.toCharArray()) {
             int day = Character.getNumericValue(ch);
             DayOfWeek dayOfWeek = DayOfWeek.of(day);
-            Timeslot time = new Timeslot(term, dayOfWeek, start, end, s);
+            Timeslot time = new Timeslot(term, dayOfWeek, start, end);
             if (s.addTimeslot(time)) {
                 System.out.println("Successfully added time " + time + " to section " + s.getName() + ".");
             } else {
@@ -300,7 +323,7 @@ public class ScheduleApp {
         LocalTime start = LocalTime.parse(command.get(3));
         LocalTime end = LocalTime.parse(command.get(4));
         DayOfWeek day = DayOfWeek.of(Integer.parseInt(command.get(2)));
-        Timeslot time = new Timeslot(term, day, start, end, s);
+        Timeslot time = new Timeslot(term, day, start, end);
         if (s.deleteTimeslot(time)) {
             System.out.println("Successfully deleted time " + time + " from section " + s.getName() + ".");
         } else {
@@ -309,38 +332,148 @@ public class ScheduleApp {
     }
 
     // REQUIRES: first string in command is "calculate"
-    // MODIFIES: this
-    // EFFECTS: courseList now contains all valid schedules that can be made from the courses it currently contains
+    // EFFECTS: counts all valid schedules that can be made from the courses courseList currently contains, and
+    //          prints as many of them as the user asks for
     private void calculateSchedules(ArrayList<String> command) throws InvalidSyntaxException {
         int numCourses = Integer.parseInt(command.get(1));
         try {
-            List<Schedule> schedules = courseList.allValidSchedules(numCourses);
-            displaySchedules(schedules);
+            displaySchedules(numCourses);
             System.out.println("Successfully calculated schedules.");
         } catch (ScheduleSizeException e) {
             System.out.println("Unsuccessful calculation: no schedules possible.");
         }
     }
 
-    // EFFECTS: prints all valid schedules that can be made from the current course list to console
-    private void displaySchedules(List<Schedule> allSchedules) throws InvalidSyntaxException {
-        System.out.println("Retrieved " + allSchedules.size() + " possible schedules.");
-        System.out.println("How many schedules would you like to see? Enter a number or \"all\" to show all.");
+    // EFFECTS: prints the number of valid schedules with numCourses courses, and prints all or some of them to console
+    private void displaySchedules(int numCourses) throws InvalidSyntaxException, ScheduleSizeException {
+        ScheduleCounter counter = courseList.scheduleCounter(numCourses);
+        printCount(counter);
+        System.out.println("How many schedules would you like to see? Enter a number, \"all\" to show all, or \"keep\""
+                + " to keep all of them to show with display schedules.");
 
         String numSchedules = input.next().toLowerCase();
 
         if (numSchedules.equals("all")) {
-            printAllSchedules(allSchedules);
+            SearchControl control = new SearchControl(PRINT_TIME_LIMIT);
+            printSchedules(courseList.validSchedulesIterator(numCourses, control, null));
+            if (control.isStopped()) {
+                System.out.println("Stopped after " + PRINT_TIME_LIMIT.getSeconds() + " seconds.");
+            }
+        } else if (numSchedules.equals("keep")) {
+            keepAllSchedules(numCourses);
         } else {
             try {
                 int batchSize = Integer.parseInt(numSchedules);
-                printSomeSchedules(allSchedules, batchSize);
+                printSomeSchedules(counter, batchSize);
             } catch (NumberFormatException e) {
                 System.out.println("Not a number: try again.");
             }
         }
     }
 
+    // MODIFIES: counter
+    // EFFECTS: counts the schedules of counter for at most PRINT_TIME_LIMIT and prints the count, saying so if
+    //          counting was stopped before it finished or if there are more than fit in a long
+    private void printCount(ScheduleCounter counter) {
+        counter.limit(new SearchControl(PRINT_TIME_LIMIT));
+        long numFound;
+        try {
+            numFound = counter.countValidSchedules();
+        } catch (ArithmeticException e) {
+            System.out.println("Retrieved more than " + String.format(Locale.ROOT, "%,d", Long.MAX_VALUE)
+                    + " possible schedules.");
+            return;
+        }
+        if (counter.wasStopped()) {
+            System.out.println("Stopped counting after " + PRINT_TIME_LIMIT.getSeconds()
+                    + " seconds: retrieved at least " + numFound + " possible schedules.");
+        } else {
+            System.out.println("Retrieved " + numFound + " possible schedules.");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all valid schedules with numCourses courses to the spill file, replacing the schedules kept
+    //          before, so that they can be shown a page at a time without keeping them in memory
+    private void keepAllSchedules(int numCourses) throws ScheduleSizeException {
+        deleteKeptSchedules();
+        try {
+            if (spillPath == null) {
+                spillPath = Files.createTempFile("schedules", ".bin");
+                spillPath.toFile().deleteOnExit();
+            }
+            SearchControl control = new SearchControl(PRINT_TIME_LIMIT);
+            keptSchedules = courseList.spillValidSchedules(numCourses, spillPath, control, null);
+            if (!keptSchedules.isComplete()) {
+                System.out.println("Stopped after " + PRINT_TIME_LIMIT.getSeconds() + " seconds.");
+            }
+            System.out.println("Kept " + keptSchedules.size() + " schedules: show them with display schedules 1.");
+        } catch (IOException e) {
+            System.out.println("There was a problem keeping the schedules: try again.");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops keeping the schedules kept before and deletes their spill file, if there are any
+    private void deleteKeptSchedules() {
+        if (keptSchedules != null) {
+            try {
+                keptSchedules.close();
+            } catch (IOException e) {
+                System.out.println("There was a problem deleting the kept schedules.");
+            }
+            keptSchedules = null;
+        }
+    }
+
+    // REQUIRES: first string in command is "display"
+    // EFFECTS: prints the kept schedules if command is display schedules, otherwise prints the course list
+    private void display(ArrayList<String> command) throws InvalidSyntaxException {
+        if (command.size() > 1 && command.get(1).equals("schedules")) {
+            displayKeptSchedules(command);
+        } else {
+            displayCourses();
+        }
+    }
+
+    // REQUIRES: first two strings in command are "display schedules"
+    // EFFECTS: prints PAGE_SIZE kept schedules, starting from the schedule numbered by the third string in command,
+    //          or from the first schedule if there is no third string
+    private void displayKeptSchedules(ArrayList<String> command) throws InvalidSyntaxException {
+        if (keptSchedules == null) {
+            System.out.println("No kept schedules: calculate them and enter \"keep\" first.");
+            return;
+        }
+        int first;
+        try {
+            first = command.size() > 2 ? Integer.parseInt(command.get(2)) : 1;
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException();
+        }
+        if (first < 1 || first > keptSchedules.size()) {
+            System.out.println("No schedule #" + first + ": " + keptSchedules.size() + " schedules are kept.");
+            return;
+        }
+        printKeptSchedules(first);
+    }
+
+    // REQUIRES: 1 <= first <= number of kept schedules
+    // EFFECTS: prints PAGE_SIZE kept schedules to console through a buffer, starting from the schedule numbered first
+    private void printKeptSchedules(int first) {
+        ScheduleRenderer renderer = new ScheduleRenderer(false);
+        Writer out = consoleWriter();
+        try {
+            for (int i = first - 1; i < Math.min(first - 1 + PAGE_SIZE, keptSchedules.size()); i++) {
+                out.append("Schedule #" + (i + 1) + " of " + keptSchedules.size()).append(System.lineSeparator());
+                renderer.render(keptSchedules.get(i), out);
+                out.append(System.lineSeparator());
+            }
+            out.flush();
+        } catch (IOException e) {
+            System.out.println("There was a problem printing the schedules.");
+        }
+    }
+
     // EFFECTS: prints to console all courses currently in courseList
     private void displayCourses() {
         for (Course c : courseList) {
@@ -348,44 +481,76 @@ public class ScheduleApp {
         }
     }
 
-    // EFFECTS: prints all schedules in list of schedules
-    private void printAllSchedules(List<Schedule> schedules) {
-        for (Schedule s : schedules) {
-            System.out.println(s);
+    // EFFECTS: randomly selects batchSize different schedules from those counted by counter and prints them out, or
+    //          tells the user if there are too many to count
+    private void printSomeSchedules(ScheduleCounter counter, int batchSize) throws InvalidSyntaxException {
+        if (batchSize < 0) {
+            throw new InvalidSyntaxException();
+        }
+        try {
+            printSchedules(counter.sample(batchSize, new Random()).iterator());
+        } catch (ArithmeticException e) {
+            System.out.println("Too many schedules to pick from at random: enter \"all\" to show them instead.");
+        }
+    }
+
+    // EFFECTS: prints the schedules given by the iterator to console through a buffer, each followed by a blank line,
+    //          calculating them as they are printed if the iterator does
+    private void printSchedules(Iterator<Schedule> schedules) {
+        ScheduleRenderer renderer = new ScheduleRenderer(false);
+        Writer out = consoleWriter();
+        try {
+            while (schedules.hasNext()) {
+                renderer.render(schedules.next(), out);
+                out.append(System.lineSeparator());
+            }
+            out.flush();
+        } catch (IOException e) {
+            System.out.println("There was a problem printing the schedules.");
         }
     }
 
-    // EFFECTS: randomly selects batchSize schedules from list of schedules and prints them out
-    private void printSomeSchedules(List<Schedule> schedules, int batchSize) throws InvalidSyntaxException {
-        if (batchSize < 0) {
-            throw new InvalidSyntaxException();
+    // EFFECTS: returns a buffered writer to the console, which has to be flushed but not closed
+    private static Writer consoleWriter() {
+        return new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE);
+    }
+
+    // EFFECTS: saves the course list as a binary catalog if command is save catalog, otherwise to the course list file
+    private void save(ArrayList<String> command) {
+        if (command.size() > 1 && command.get(1).equals("catalog")) {
+            saveCatalog();
+        } else {
+            saveCourses();
         }
-        if (batchSize > schedules.size()) {
-            printAllSchedules(schedules);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads the course list from the binary catalog if command is load catalog, otherwise from the course
+    //          list file
+    private void load(ArrayList<String> command) {
+        if (command.size() > 1 && command.get(1).equals("catalog")) {
+            loadCatalog();
         } else {
-            for (int i = 0; i < batchSize; i++) {
-                Random r = new Random();
-                int index = r.nextInt(schedules.size());
-                System.out.println(schedules.get(index));
-            }
+            loadCourses();
         }
     }
 
-    // EFFECTS: prompts user to save current course list to file, replacing any previous contents
-    // based on the saving method from JsonSerializationDemo
-    private void saveCourses() {
-        System.out.println("Saving will replace any previously saved course list. Do you wish to continue?");
+    // EFFECTS: prints question with yes and no options and returns true if the user answers yes
+    private boolean userAgrees(String question) {
+        System.out.println(question);
         System.out.println("\ty -> yes");
         System.out.println("\tn -> no");
+        return input.next().toLowerCase().equals("y");
+    }
 
-        String proceed = input.next().toLowerCase();
-        if (proceed.equals("y")) {
+    // EFFECTS: prompts user to save current course list to file, replacing any previous contents
+    // based on the saving method from JsonSerializationDemo
+    private void saveCourses() {
+        if (userAgrees("Saving will replace any previously saved course list. Do you wish to continue?")) {
             try {
-                writer.open();
-                writer.writeCourseList(courseList);
-                writer.close();
+                journal.save(courseList);
                 System.out.println("Successfully saved course list.");
-            } catch (FileNotFoundException e) {
+            } catch (IOException e) {
                 System.out.println("There was a problem saving: try again.");
             }
         }
@@ -395,14 +560,9 @@ public class ScheduleApp {
     // EFFECTS: prompts user to load course list from file, replacing the current course list
     // based on the loading method from JsonSerializationDemo
     private void loadCourses() {
-        System.out.println("Loading will replace any courses added during this session. Do you wish to continue?");
-        System.out.println("\ty -> yes");
-        System.out.println("\tn -> no");
-
-        String proceed = input.next().toLowerCase();
-        if (proceed.equals("y")) {
+        if (userAgrees("Loading will replace any courses added during this session. Do you wish to continue?")) {
             try {
-                courseList = reader.read();
+                courseList = journal.load();
                 System.out.println("Successfully loaded course list.");
             } catch (IOException e) {
                 System.out.println("There was a problem loading: try again.");
@@ -410,4 +570,35 @@ public class ScheduleApp {
         }
     }
 
+    // EFFECTS: prompts user to save current course list to the binary catalog file, replacing any previous catalog
+    private void saveCatalog() {
+        if (userAgrees("Saving will replace any previously saved catalog. Do you wish to continue?")) {
+            BinaryWriter writer = new BinaryWriter(CATALOG_FILE_NAME);
+            try {
+                writer.open();
+                try {
+                    writer.writeCourseList(courseList);
+                } finally {
+                    writer.close();
+                }
+                System.out.println("Successfully saved catalog.");
+            } catch (IOException e) {
+                System.out.println("There was a problem saving the catalog: try again.");
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: prompts user to load course list from the binary catalog file, replacing the current course list
+    private void loadCatalog() {
+        if (userAgrees("Loading will replace any courses added during this session. Do you wish to continue?")) {
+            try {
+                courseList = new BinaryReader(CATALOG_FILE_NAME).read();
+                System.out.println("Successfully loaded catalog.");
+            } catch (IOException e) {
+                System.out.println("There was a problem loading the catalog: try again.");
+            }
+        }
+    }
+
 }
\ No newline at end of file
@@ -2,18 +2,25 @@ package model;
 
 import exceptions.InvalidSyntaxException;
 import exceptions.ScheduleSizeException;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import persistence.JsonReader;
 import ui.ScheduleApp;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -174,6 +181,45 @@ public class CourseListTest {
         assertNull(courses.getCourseByName("A"));
     }
 
+    @Test
+    public void testGetCourseByNameAfterChangeAndDelete() {
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+        courses.changeCourseName(courseA, "C");
+        assertNull(courses.getCourseByName("A"));
+        assertSame(courseA, courses.getCourseByName("C"));
+
+        courses.deleteCourse(new Course("C", false));
+        assertNull(courses.getCourseByName("C"));
+        assertFalse(courses.containsCourseWithName("C"));
+        assertSame(courseB, courses.getCourseByName("B"));
+    }
+
+    @Test
+    public void testFindCourse() {
+        Course spaced = new Course("CPSC 110", false);
+        courses.addCourse(spaced);
+        courses.addCourse(courseA);
+        assertSame(spaced, courses.findCourse("cpsc110"));
+        assertSame(spaced, courses.findCourse("CPSC 110"));
+        assertSame(courseA, courses.findCourse("a"));
+        assertNull(courses.getCourseByName("cpsc110"));
+        assertNull(courses.findCourse("cpsc 210"));
+    }
+
+    @Test
+    public void testFindCourseAmbiguous() {
+        Course spaced = new Course("CPSC 110", false);
+        Course unspaced = new Course("cpsc110", false);
+        courses.addCourse(spaced);
+        courses.addCourse(unspaced);
+        assertSame(unspaced, courses.findCourse("cpsc110"));
+        assertNull(courses.findCourse("Cpsc110"));
+
+        courses.deleteCourse(unspaced);
+        assertSame(spaced, courses.findCourse("Cpsc110"));
+    }
+
     @Test
     public void testAllValidSchedulesEmpty() {
         int numSchedules;
@@ -199,7 +245,7 @@ public class CourseListTest {
     @Test
     public void testAllValidSchedulesOneSection() {
         Section sectionB1 = new Section("B1", courseB);
-        Timeslot timeB1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(13,0), LocalTime.of(14, 0), sectionB1);
+        Timeslot timeB1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(13,0), LocalTime.of(14, 0));
 
         sectionB1.addTimeslot(timeB1);
         courseB.addSection(sectionB1);
@@ -332,6 +378,58 @@ public class CourseListTest {
         assertTrue(containsScheduleWithSections(schedules, new Section[]{sectionA2}));
     }
 
+    @Test
+    public void testAllValidSchedulesWithActivities() {
+        courseA = new Course("A", true);
+        addSection(courseA, "A1", 1, DayOfWeek.MONDAY, LocalTime.of(9, 0), 4);
+        Section sectionA2 = addSection(courseA, "A2", 1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), 4);
+        Section labL1 = addSection(courseA, "L1", 1, DayOfWeek.MONDAY, LocalTime.of(10, 0), 4);
+        Section labL2 = addSection(courseA, "L2", 1, DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), 4);
+        labL1.setActivity("Laboratory");
+        labL2.setActivity("Laboratory");
+        courseB = makeCourseWithSection("B", false, 1, DayOfWeek.WEDNESDAY, LocalTime.of(10, 0), 4);
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+
+        try {
+            // L1 conflicts with A1, and B's only section conflicts with L2
+            List<Schedule> schedules = courses.allValidSchedules(1);
+            assertEquals(3, schedules.size());
+            for (Schedule s : schedules) {
+                assertEquals(2, s.numSections());
+                assertEquals(1, s.numCourses());
+            }
+            schedules = courses.allValidSchedules(2);
+            assertEquals(1, schedules.size());
+            assertTrue(scheduleContainsSections(schedules.get(0), new Section[]{sectionA2, labL1}));
+            assertEquals(3, schedules.get(0).numSections());
+            assertEquals(1, courses.countValidSchedules(2));
+            assertEquals(3, courses.validScheduleSet(1).size());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesActivityWithNoFreeSection() {
+        courseA = makeCourseWithSection("A", false, 1, DayOfWeek.MONDAY, LocalTime.of(9, 0), 4);
+        Section lab = addSection(courseA, "L1", 1, DayOfWeek.MONDAY, LocalTime.of(10, 0), 4);
+        lab.setActivity("Laboratory");
+        courseB = makeCourseWithSection("B", false, 1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), 4);
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+
+        try {
+            // A's lecture and lab conflict, so A can not be taken at all
+            List<Schedule> schedules = courses.allValidSchedules(1);
+            assertEquals(1, schedules.size());
+            assertTrue(schedules.get(0).containsCourse(courseB));
+            assertEquals(0, courses.allValidSchedules(2).size());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
     @Test
     public void testAllValidSchedulesTwoTerms() {
         courseA = makeCourseWithSection("A", true, 1, DayOfWeek.MONDAY, LocalTime.of(14,0), 2);
@@ -490,6 +588,480 @@ public class CourseListTest {
         assertTrue(containsScheduleWithSections(schedules, new Section[]{sectionA2, sectionC1, sectionD1, sectionE2}));
     }
 
+    @Test
+    public void testAllValidSchedulesParallelInvalidSize() {
+        try {
+            courses.allValidSchedules(1, 4);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesParallelSameOrder() {
+        makeFiveCourses();
+        try {
+            for (int n = 3; n <= 5; n++) {
+                List<Schedule> sequential = courses.allValidSchedules(n);
+                for (int threads = 1; threads <= 4; threads++) {
+                    List<Schedule> parallel = courses.allValidSchedules(n, threads);
+                    assertEquals(sequential.size(), parallel.size());
+                    for (int i = 0; i < sequential.size(); i++) {
+                        assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+                    }
+                }
+            }
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesLimitedInvalidSize() {
+        courses.addCourse(courseA);
+        try {
+            courses.allValidSchedules(2, new SearchControl(), null);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesLimitedFinishes() {
+        makeFiveCourses();
+        List<Double> fractions = new ArrayList<>();
+        try {
+            List<Schedule> all = courses.allValidSchedules(3);
+            SearchResult result = courses.allValidSchedules(3, new SearchControl(Duration.ofMinutes(1)),
+                    (nodes, found, fraction) -> fractions.add(fraction));
+            assertTrue(result.isComplete());
+            assertTrue(result.getNodesExplored() > all.size());
+            assertEquals(all.size(), result.getSchedules().size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(all.get(i).toString(), result.getSchedules().get(i).toString());
+            }
+            assertEquals(1, fractions.size());
+            assertEquals(1.0, fractions.get(0));
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesCancelled() {
+        makeTwentyElectives();
+        SearchControl control = new SearchControl();
+        control.cancel();
+        try {
+            SearchResult result = courses.allValidSchedules(10, control, null);
+            assertFalse(result.isComplete());
+            assertTrue(control.isStopped());
+            assertTrue(result.getSchedules().size() > 0);
+            assertTrue(result.getSchedules().size() < result.getNodesExplored());
+            assertEquals(10, result.getSchedules().get(0).numCourses());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesOutOfTime() {
+        makeTwentyElectives();
+        List<Double> fractions = new ArrayList<>();
+        List<Long> found = new ArrayList<>();
+        SearchControl control = new SearchControl(Duration.ofMillis(50));
+        try {
+            SearchResult result = courses.allValidSchedules(10, control, (nodes, schedules, fraction) -> {
+                fractions.add(fraction);
+                found.add(schedules);
+            });
+            assertFalse(result.isComplete());
+            assertTrue(control.isStopped());
+            assertFalse(control.isCancelled());
+            assertEquals(result.getSchedules().size(), (long) found.get(found.size() - 1));
+            for (int i = 1; i < fractions.size(); i++) {
+                assertTrue(fractions.get(i) >= fractions.get(i - 1));
+            }
+            assertTrue(fractions.get(fractions.size() - 1) < 1);
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testValidSchedulesIteratorCancelled() {
+        makeTwentyElectives();
+        SearchControl control = new SearchControl();
+        try {
+            Iterator<Schedule> schedules = courses.validSchedulesIterator(10, control, null);
+            assertTrue(schedules.hasNext());
+            schedules.next();
+            control.cancel();
+            int more = 0;
+            while (schedules.hasNext()) {
+                schedules.next();
+                more++;
+            }
+            assertTrue(more < 4096);
+            assertTrue(control.isStopped());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testSpillValidSchedulesInvalidSize() throws IOException {
+        courses.addCourse(courseA);
+        Path path = Files.createTempFile("courseListTest", ".bin");
+        try {
+            courses.spillValidSchedules(2, path, new SearchControl(), null);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testSpillValidSchedulesSameAsAll() throws IOException, ScheduleSizeException {
+        makeFiveCourses();
+        Path path = Files.createTempFile("courseListTest", ".bin");
+        for (int n = 3; n <= 5; n++) {
+            List<Schedule> all = courses.allValidSchedules(n);
+            try (ScheduleFile spilled = courses.spillValidSchedules(n, path, new SearchControl(), null)) {
+                assertTrue(spilled.isComplete());
+                assertEquals(all.size(), spilled.size());
+                for (int i = 0; i < all.size(); i++) {
+                    assertEquals(all.get(i).toString(), spilled.get(i).toString());
+                }
+            }
+            assertFalse(Files.exists(path));
+        }
+    }
+
+    @Test
+    public void testSpillValidSchedulesCancelled() throws IOException, ScheduleSizeException {
+        makeTwentyElectives();
+        SearchControl control = new SearchControl();
+        control.cancel();
+        Path path = Files.createTempFile("courseListTest", ".bin");
+        try (ScheduleFile spilled = courses.spillValidSchedules(10, path, control, null)) {
+            assertFalse(spilled.isComplete());
+            assertTrue(spilled.size() < courses.countValidSchedules(10));
+        }
+    }
+
+    @Test
+    public void testAllValidSchedulesCached() throws ScheduleSizeException {
+        makeFiveCourses();
+        List<Schedule> uncached = courses.allValidSchedules(3);
+        ScheduleCache cache = new ScheduleCache(1 << 20);
+        courses.setScheduleCache(cache);
+        assertSame(cache, courses.getScheduleCache());
+
+        assertEquals(uncached.toString(), courses.allValidSchedules(3).toString());
+        assertEquals(0, cache.getHits());
+        assertEquals(uncached.toString(), courses.allValidSchedules(3).toString());
+        assertEquals(uncached.toString(), courses.validScheduleSet(3).toString());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        courses.setScheduleCache(null);
+        assertEquals(uncached.toString(), courses.allValidSchedules(3).toString());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testAllValidSchedulesCachedAfterEdit() throws ScheduleSizeException {
+        makeFiveCourses();
+        ScheduleCache cache = new ScheduleCache(1 << 20);
+        courses.setScheduleCache(cache);
+        List<Schedule> before = courses.allValidSchedules(3);
+        Section removed = courseA.getSections().iterator().next();
+        courseA.deleteSection(removed);
+        courses.setScheduleCache(null);
+        List<Schedule> uncachedAfter = courses.allValidSchedules(3);
+        courses.setScheduleCache(cache);
+        assertEquals(uncachedAfter.toString(), courses.allValidSchedules(3).toString());
+        assertEquals(0, cache.getHits());
+
+        courseA.addSection(removed);
+        assertEquals(before.toString(), courses.allValidSchedules(3).toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.numEntries());
+    }
+
+    @Test
+    public void testValidScheduleSetInvalidSize() {
+        courses.addCourse(courseA);
+        try {
+            courses.validScheduleSet(2);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testValidScheduleSetSameAsAll() {
+        makeFiveCourses();
+        try {
+            for (int n = 3; n <= 5; n++) {
+                List<Schedule> all = courses.allValidSchedules(n);
+                ScheduleSet set = courses.validScheduleSet(n);
+                assertEquals(all.size(), set.size());
+                for (int i = 0; i < all.size(); i++) {
+                    assertEquals(all.get(i).toString(), set.get(i).toString());
+                }
+            }
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testStreamValidSchedulesInvalidSize() {
+        courses.addCourse(courseA);
+        try {
+            courses.streamValidSchedules(2);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testStreamValidSchedulesSameAsAll() {
+        makeFiveCourses();
+        try {
+            List<Schedule> all = courses.allValidSchedules(4);
+            List<Schedule> streamed = courses.streamValidSchedules(4).collect(Collectors.toList());
+            assertEquals(3, streamed.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(all.get(i).toString(), streamed.get(i).toString());
+            }
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testStreamValidSchedulesLimit() {
+        makeFiveCourses();
+        try {
+            List<Schedule> firstTwo = courses.streamValidSchedules(4).limit(2).collect(Collectors.toList());
+            assertEquals(2, firstTwo.size());
+            assertEquals(4, firstTwo.get(0).numCourses());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testValidSchedulesIteratorExhausted() {
+        courseA = makeCourseWithSection("A", true, 1, DayOfWeek.MONDAY, LocalTime.of(14,0), 2);
+        courses.addCourse(courseA);
+        try {
+            Iterator<Schedule> schedules = courses.validSchedulesIterator(1);
+            assertTrue(schedules.hasNext());
+            assertTrue(schedules.hasNext());
+            assertEquals(1, schedules.next().numSections());
+            assertFalse(schedules.hasNext());
+            schedules.next();
+            fail("NoSuchElementException not thrown");
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCountValidSchedulesInvalidSize() {
+        try {
+            courses.countValidSchedules(1);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCountValidSchedules() {
+        makeFiveCourses();
+        try {
+            assertEquals(3, courses.countValidSchedules(4));
+            assertEquals(courses.allValidSchedules(3).size(), courses.countValidSchedules(3));
+            assertEquals(courses.allValidSchedules(5).size(), courses.countValidSchedules(5));
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testCountValidSchedulesTooManyToList() {
+        // 20 electives with 3 sections each, none of which conflict: C(20, 10) * 3^10 schedules of 10 courses
+        for (int i = 0; i < 20; i++) {
+            Course c = new Course("Course" + i, false);
+            for (int j = 0; j < 3; j++) {
+                addSection(c, Integer.toString(j), 1, DayOfWeek.MONDAY, LocalTime.of(i, 0), 1);
+            }
+            courses.addCourse(c);
+        }
+        try {
+            assertEquals(10909657044L, courses.countValidSchedules(10));
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testScheduleCounter() {
+        makeFiveCourses();
+        try {
+            ScheduleCounter counter = courses.scheduleCounter(4);
+            assertEquals(3, counter.countValidSchedules());
+            assertEquals(2, counter.sample(2, new Random(210)).size());
+            assertEquals(3, counter.sample(10, new Random(210)).size());
+            assertEquals(3, counter.countValidSchedules());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testSampleValidSchedulesInvalidSize() {
+        try {
+            courses.sampleValidSchedules(1, 1, new Random());
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSampleValidSchedules() {
+        makeFiveCourses();
+        try {
+            List<Schedule> sample = courses.sampleValidSchedules(4, 2, new Random(210));
+            assertEquals(2, sample.size());
+            assertNotEquals(sample.get(0).toString(), sample.get(1).toString());
+            assertEquals(3, courses.sampleValidSchedules(4, 10, new Random(210)).size());
+            assertEquals(0, courses.sampleValidSchedules(4, 0, new Random(210)).size());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testBestSchedulesMatchFullSearch() {
+        Random random = new Random(210);
+        for (int i = 0; i < 7; i++) {
+            Course c = new Course("Course" + i, i < 2);
+            for (int j = 0; j < 3; j++) {
+                DayOfWeek day = DayOfWeek.of(1 + random.nextInt(5));
+                addSection(c, Integer.toString(j), 1, day, LocalTime.of(8 + random.nextInt(10), 0),
+                        1 + random.nextInt(4));
+            }
+            courses.addCourse(c);
+        }
+        try {
+            List<Schedule> all = courses.allValidSchedules(4);
+            for (ScheduleCriterion criterion : ScheduleCriterion.values()) {
+                List<Double> scores = new ArrayList<>();
+                for (Schedule schedule : all) {
+                    scores.add(criterion.score(schedule));
+                }
+                scores.sort(Collections.reverseOrder());
+                List<Schedule> best = courses.bestSchedules(4, 5, criterion);
+                assertEquals(5, best.size());
+                for (int i = 0; i < best.size(); i++) {
+                    assertEquals(scores.get(i), criterion.score(best.get(i)), criterion.toString());
+                }
+            }
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testBestSchedulesInvalidSize() {
+        try {
+            courses.bestSchedules(1, 1, ScheduleCriterion.FEWEST_DAYS);
+            fail("ScheduleSizeException not thrown");
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBestSchedules() {
+        courseA = new Course("A", true);
+        courseB = new Course("B", false);
+        Course courseC = new Course("C", false);
+        Section sectionA1 = addSection(courseA, "1", 1, DayOfWeek.MONDAY, LocalTime.of(9, 0), 2);
+        Section sectionB1 = addSection(courseB, "1", 1, DayOfWeek.MONDAY, LocalTime.of(11, 0), 2);
+        addSection(courseB, "2", 1, DayOfWeek.TUESDAY, LocalTime.of(8, 0), 2);
+        Section sectionC1 = addSection(courseC, "1", 1, DayOfWeek.MONDAY, LocalTime.of(14, 0), 2);
+        addSection(courseC, "2", 1, DayOfWeek.FRIDAY, LocalTime.of(10, 0), 2);
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+        courses.addCourse(courseC);
+
+        try {
+            List<Schedule> best = courses.bestSchedules(3, 2, ScheduleCriterion.FEWEST_DAYS);
+            assertEquals(2, best.size());
+            assertTrue(scheduleContainsSections(best.get(0), new Section[]{sectionA1, sectionB1, sectionC1}));
+            assertEquals(-2, ScheduleCriterion.FEWEST_DAYS.score(best.get(1)));
+
+            List<Schedule> latest = courses.bestSchedules(2, 10, ScheduleCriterion.LATEST_START);
+            assertEquals(4, latest.size());
+            assertEquals(9 * 60, ScheduleCriterion.LATEST_START.score(latest.get(0)));
+            assertEquals(8 * 60, ScheduleCriterion.LATEST_START.score(latest.get(3)));
+
+            assertEquals(0, courses.bestSchedules(2, 0, ScheduleCriterion.SMALLEST_GAPS).size());
+        } catch (ScheduleSizeException e) {
+            fail("Unexpected ScheduleSizeException");
+        }
+    }
+
+    @Test
+    public void testBestSchedulesStopped() throws ScheduleSizeException {
+        for (int c = 0; c < 12; c++) {
+            Course course = new Course("C" + c, false);
+            for (int h = 0; h < 12; h++) {
+                addSection(course, "S" + h, 1, DayOfWeek.MONDAY, LocalTime.of(8 + h, 0), 2);
+            }
+            courses.addCourse(course);
+        }
+        ScheduleScorer unbounded = new ScheduleScorer() {
+            @Override
+            public double score(Schedule schedule) {
+                return 0;
+            }
+
+            @Override
+            public double bound(Schedule partial) {
+                return Double.MAX_VALUE;
+            }
+        };
+        SearchResult finished = courses.bestSchedules(3, 5, unbounded, new SearchControl(Duration.ofHours(1)));
+        assertTrue(finished.isComplete());
+        assertEquals(courses.bestSchedules(3, 5, unbounded).size(), finished.getSchedules().size());
+
+        SearchControl control = new SearchControl();
+        control.cancel();
+        SearchResult stopped = courses.bestSchedules(6, 5, unbounded, control);
+        assertFalse(stopped.isComplete());
+        assertTrue(stopped.getSchedules().size() <= 5);
+        for (Schedule s : stopped.getSchedules()) {
+            assertEquals(6, s.numCourses());
+        }
+    }
+
     @Test
     // A temporary test to make sure the InvalidSyntaxException is thrown for code coverage
     // Note that not all test cases for the exception are covered because UI tests are not required
@@ -503,34 +1075,48 @@ public class CourseListTest {
         }
     }
 
-    @Test
-    public void testToJsonEmptyCourses() {
-        JSONObject json = courses.toJson();
-        JSONArray courseList = (JSONArray) json.get("courses");
-        assertEquals(0, courseList.length());
-    }
-
-    @Test
-    public void testToJson() {
-        courses.addCourse(courseA);
+    // MODIFIES: this
+    // EFFECTS: adds the five courses from testAllValidSchedules to courses, which have 3 schedules of 4 courses
+    private void makeFiveCourses() {
+        courseA = new Course("A", true);
+        courseB = new Course("B", true);
+        Course courseC = new Course("C", true);
+        Course courseD = new Course("D", false);
+        Course courseE = new Course("E", false);
 
-        JSONObject json = courses.toJson();
-        JSONArray courseList = json.getJSONArray("courses");
-        assertEquals(1, courseList.length());
+        addSectionMWF(courseA, "1", 1, LocalTime.of(9, 0), 2);
+        addSectionMWF(courseA, "2", 1, LocalTime.of(12, 0), 2);
+        addSectionMWF(courseB, "1", 1, LocalTime.of(12, 0), 2);
+        addSectionMWF(courseB, "2", 1, LocalTime.of(13, 0), 2);
+        addSectionMWF(courseC, "1", 1, LocalTime.of(10, 0), 2);
+        addSectionMWF(courseC, "2", 1, LocalTime.of(13, 0), 2);
+        addSectionMWF(courseD, "1", 1, LocalTime.of(9, 0), 2);
+        addSectionMWF(courseE, "1", 1, LocalTime.of(12, 0), 2);
+        addSectionMWF(courseE, "2", 1, LocalTime.of(13, 0), 2);
 
-        JSONObject course = courseList.getJSONObject(0);
-        assertEquals("A", course.get("name"));
-        assertEquals(false, course.get("required"));
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+        courses.addCourse(courseC);
+        courses.addCourse(courseD);
+        courses.addCourse(courseE);
+    }
 
-        JSONArray sections = course.getJSONArray("sections");
-        assertEquals(0, sections.length());
+    // 20 electives with 3 sections each, none of which conflict
+    private void makeTwentyElectives() {
+        for (int i = 0; i < 20; i++) {
+            Course c = new Course("Course" + i, false);
+            for (int j = 0; j < 3; j++) {
+                addSection(c, Integer.toString(j), 1, DayOfWeek.MONDAY, LocalTime.of(i, 0), 1);
+            }
+            courses.addCourse(c);
+        }
     }
 
     private Course makeCourseWithSection(String name, boolean required, int term, DayOfWeek day, LocalTime start, int
             duration) {
         Course course = new Course(name, required);
         Section section = new Section(name + "1", course);
-        Timeslot timeslot = new Timeslot(term, day, start, start.plusMinutes(duration * 30), section);
+        Timeslot timeslot = new Timeslot(term, day, start, start.plusMinutes(duration * 30));
         section.addTimeslot(timeslot);
         course.addSection(section);
 
@@ -539,7 +1125,7 @@ public class CourseListTest {
 
     private Section addSection(Course course, String name, int term, DayOfWeek day, LocalTime start, int duration) {
         Section section = new Section(name, course);
-        Timeslot timeslot = new Timeslot(term, day, start, start.plusMinutes(duration * 30), section);
+        Timeslot timeslot = new Timeslot(term, day, start, start.plusMinutes(duration * 30));
         section.addTimeslot(timeslot);
         course.addSection(section);
         return section;
@@ -548,7 +1134,7 @@ public class CourseListTest {
     private Section addSectionMWF(Course course, String name, int term, LocalTime start, int duration) {
         Section section = new Section(name, course);
         for (int i = 1; i <= 5; i+=2) {
-            Timeslot timeslot = new Timeslot(term, DayOfWeek.of(i), start, start.plusMinutes(duration * 30), section);
+            Timeslot timeslot = new Timeslot(term, DayOfWeek.of(i), start, start.plusMinutes(duration * 30));
             section.addTimeslot(timeslot);
         }
         course.addSection(section);
@@ -1,12 +1,11 @@
 package model;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +26,72 @@ class CourseTest {
         assertEquals("New Course", emptyName.getName());
     }
 
+    @Test
+    public void testLoaderRunsOnFirstUse() {
+        int[] runs = new int[1];
+        Course lazy = new Course("B", true, c -> {
+            runs[0]++;
+            c.addSection(new Section("101", c));
+            c.addSection(new Section("L1A", "Lab", c));
+        });
+        assertEquals("B", lazy.getName());
+        assertTrue(lazy.getRequired());
+        assertFalse(lazy.isLoaded());
+        assertEquals(0, runs[0]);
+
+        assertNotNull(lazy.getSectionByName("L1A"));
+        assertTrue(lazy.isLoaded());
+        assertEquals(2, lazy.numSections());
+        assertEquals(1, lazy.getBundles().size());
+        assertEquals(1, runs[0]);
+    }
+
+    @Test
+    public void testLoaderRunsBeforeEdit() {
+        Course lazy = new Course("B", true, c -> c.addSection(new Section("101", c)));
+        assertFalse(lazy.addSection(new Section("101", lazy)));
+        assertTrue(lazy.addSection(new Section("102", lazy)));
+        assertEquals(2, lazy.numSections());
+    }
+
+    @Test
+    public void testEvictedSectionsLoadAgain() {
+        int[] runs = new int[1];
+        Course lazy = new Course("B", true, c -> {
+            runs[0]++;
+            Section s = new Section("101", c);
+            s.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00")));
+            c.addSection(s);
+        });
+        assertEquals(1, lazy.getBundles().size());
+        lazy.evictSections();
+        assertFalse(lazy.isLoaded());
+        assertEquals(1, runs[0]);
+
+        assertEquals(1, lazy.getSectionByName("101").numTimeslots());
+        assertEquals(1, lazy.getBundles().size());
+        assertTrue(lazy.isLoaded());
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    public void testEditedSectionsKept() {
+        int[] runs = new int[1];
+        Course lazy = new Course("B", true, c -> {
+            runs[0]++;
+            c.addSection(new Section("101", c));
+        });
+        lazy.getSectionByName("101").setActivity("Lab");
+        lazy.evictSections();
+        assertTrue(lazy.isLoaded());
+        assertEquals("Lab", lazy.getSectionByName("101").getActivity());
+
+        lazy.addSection(new Section("102", lazy));
+        lazy.evictSections();
+        assertEquals(2, lazy.numSections());
+        assertEquals(1, runs[0]);
+    }
+
     @Test
     public void testSetName() {
         testCourse.setName("B");
@@ -75,6 +140,76 @@ class CourseTest {
         assertTrue(testCourse.containsSectionWithName("101"));
     }
 
+    @Test
+    public void testGetActivities() {
+        assertTrue(testCourse.getActivities().isEmpty());
+        testCourse.addSection(new Section("L1", "Laboratory", testCourse));
+        testCourse.addSection(new Section("101", testCourse));
+        testCourse.addSection(new Section("L2", "Laboratory", testCourse));
+        assertEquals(2, testCourse.getActivities().size());
+        assertEquals("Laboratory", testCourse.getActivities().first());
+        assertEquals("Lecture", testCourse.getActivities().last());
+    }
+
+    @Test
+    public void testActivitiesIgnoreCase() {
+        // sections added at the console have lower case activities, mixed with sections that have the default
+        Section lecture1 = addSection("101", Section.DEFAULT_ACTIVITY, 9);
+        Section lecture2 = addSection("102", "lecture", 11);
+        Section lab1 = addSection("L1", "laboratory", 14);
+        Section lab2 = addSection("L2", "Laboratory", 16);
+        assertEquals(2, testCourse.getActivities().size());
+        assertTrue(testCourse.getActivities().first().equalsIgnoreCase("Laboratory"));
+        assertTrue(testCourse.getActivities().last().equalsIgnoreCase("Lecture"));
+
+        List<SectionBundle> bundles = testCourse.getBundles();
+        assertEquals(4, bundles.size());
+        assertBundle(bundles.get(0), lab1, lecture1);
+        assertBundle(bundles.get(1), lab1, lecture2);
+        assertBundle(bundles.get(2), lab2, lecture1);
+        assertBundle(bundles.get(3), lab2, lecture2);
+    }
+
+    @Test
+    public void testGetBundlesNoSections() {
+        assertTrue(testCourse.getBundles().isEmpty());
+    }
+
+    @Test
+    public void testGetBundles() {
+        Section lecture1 = addSection("101", "Lecture", 9);
+        Section lecture2 = addSection("102", "Lecture", 11);
+        Section lab1 = addSection("L1", "Laboratory", 9);
+        Section lab2 = addSection("L2", "Laboratory", 14);
+
+        // L1 conflicts with 101, so three of the four combinations are left, ordered by activity then section name
+        List<SectionBundle> bundles = testCourse.getBundles();
+        assertEquals(3, bundles.size());
+        assertBundle(bundles.get(0), lab1, lecture2);
+        assertBundle(bundles.get(1), lab2, lecture1);
+        assertBundle(bundles.get(2), lab2, lecture2);
+    }
+
+    @Test
+    public void testGetBundlesKeptUntilChange() {
+        Section lecture = addSection("101", "Lecture", 9);
+        Section lab = addSection("L1", "Laboratory", 14);
+        List<SectionBundle> bundles = testCourse.getBundles();
+        assertSame(bundles, testCourse.getBundles());
+
+        lab.addTimeslot(new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertNotSame(bundles, testCourse.getBundles());
+        assertEquals(1, testCourse.getBundles().size());
+
+        lecture.addTimeslot(new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(9, 30), LocalTime.of(10, 30)));
+        assertTrue(testCourse.getBundles().isEmpty());
+
+        lab.setActivity("Lecture");
+        assertEquals(2, testCourse.getBundles().size());
+        testCourse.deleteSection(lecture);
+        assertEquals(1, testCourse.getBundles().size());
+    }
+
     @Test
     public void testContainsSectionWithNameTrue() {
         Section testSection = new Section("101", testCourse);
@@ -172,6 +307,40 @@ class CourseTest {
         assertNull(testCourse.getSectionByName("102"));
     }
 
+    @Test
+    public void testGetSectionByNameAfterChangeAndDelete() {
+        Section testSection = new Section("101", testCourse);
+        testCourse.addSection(testSection);
+        testCourse.changeSectionName(testSection, "102");
+        assertNull(testCourse.getSectionByName("101"));
+        assertSame(testSection, testCourse.getSectionByName("102"));
+
+        assertTrue(testCourse.deleteSection(new Section("102", testCourse)));
+        assertNull(testCourse.getSectionByName("102"));
+        assertFalse(testCourse.containsSectionWithName("102"));
+    }
+
+    @Test
+    public void testSectionsAfterCourseRename() {
+        Section testSection = new Section("101", testCourse);
+        testCourse.addSection(testSection);
+        testCourse.setName("B");
+
+        assertTrue(testCourse.getSections().contains(testSection));
+        assertSame(testSection, testCourse.getSectionByName("101"));
+        assertTrue(testCourse.deleteSection(testSection));
+        assertEquals(0, testCourse.numSections());
+    }
+
+    @Test
+    public void testFindSection() {
+        Section testSection = new Section("L1A", "Laboratory", testCourse);
+        testCourse.addSection(testSection);
+        assertSame(testSection, testCourse.findSection("l1a"));
+        assertNull(testCourse.getSectionByName("l1a"));
+        assertNull(testCourse.findSection("L1B"));
+    }
+
     @Test
     public void testToString() {
         Course courseB = new Course("B", true);
@@ -201,57 +370,17 @@ class CourseTest {
         assertEquals(testCourse.hashCode(), course1.hashCode());
     }
 
-    @Test
-    public void testToJsonEmptySections() {
-        JSONObject json = testCourse.toJson();
-        assertEquals("A", json.get("name"));
-        assertEquals(false, json.get("required"));
-
-        JSONArray sections = json.getJSONArray("sections");
-        assertEquals(0, sections.length());
+    private Section addSection(String name, String activity, int hour) {
+        Section section = new Section(name, activity, testCourse);
+        section.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0)));
+        testCourse.addSection(section);
+        return section;
     }
 
-    @Test
-    public void testToJsonEmptyTimes() {
-        Section testSection = new Section("101", testCourse);
-        testCourse.addSection(testSection);
-
-        JSONObject json = testCourse.toJson();
-        assertEquals("A", json.get("name"));
-        assertEquals(false, json.get("required"));
-
-        JSONArray sections = json.getJSONArray("sections");
-        assertEquals(1, sections.length());
-
-        JSONObject section = sections.getJSONObject(0);
-        assertEquals("101", section.get("name"));
-        JSONArray times = section.getJSONArray("times");
-        assertEquals(0, times.length());
-    }
-
-    @Test
-    public void testToJson() {
-        Section testSection = new Section("101", testCourse);
-        Timeslot testTime = new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.parse("12:00"), LocalTime.parse("13:00"), testSection);
-        testSection.addTimeslot(testTime);
-        testCourse.addSection(testSection);
-
-        JSONObject json = testCourse.toJson();
-        assertEquals("A", json.get("name"));
-        assertEquals(false, json.get("required"));
-
-        JSONArray sections = json.getJSONArray("sections");
-        assertEquals(1, sections.length());
-
-        JSONObject section = sections.getJSONObject(0);
-        assertEquals("101", section.get("name"));
-        JSONArray times = section.getJSONArray("times");
-
-        assertEquals(1, times.length());
-        JSONObject time = times.getJSONObject(0);
-        assertEquals(1, time.get("term"));
-        assertEquals(DayOfWeek.FRIDAY, time.get("day"));
-        assertEquals(LocalTime.parse("12:00"), time.get("start"));
-        assertEquals(LocalTime.parse("13:00"), time.get("end"));
+    private void assertBundle(SectionBundle bundle, Section... sections) {
+        assertEquals(sections.length, bundle.size());
+        for (int i = 0; i < sections.length; i++) {
+            assertSame(sections[i], bundle.getSection(i));
+        }
     }
-}
\ No newline at end of file
+}
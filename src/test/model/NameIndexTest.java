@@ -0,0 +1,78 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameIndexTest {
+    private NameIndex<Course> index;
+    private Course spaced;
+    private Course unspaced;
+
+    @BeforeEach
+    public void setup() {
+        index = new NameIndex<>(Course::getName);
+        spaced = new Course("CPSC 110", false);
+        unspaced = new Course("cpsc110", true);
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("cpsc110", NameIndex.normalize("CPSC 110"));
+        assertEquals("cpsc110", NameIndex.normalize(" Cpsc\t110 "));
+        assertEquals("", NameIndex.normalize(""));
+    }
+
+    @Test
+    public void testGetExact() {
+        index.add(spaced);
+        assertSame(spaced, index.get("CPSC 110"));
+        assertNull(index.get("cpsc110"));
+        assertNull(index.get("MATH 100"));
+    }
+
+    @Test
+    public void testFindLoose() {
+        index.add(spaced);
+        assertSame(spaced, index.find("cpsc110"));
+        assertSame(spaced, index.find("CPSC  110"));
+        assertNull(index.find("cpsc 111"));
+    }
+
+    @Test
+    public void testSharedKey() {
+        index.add(spaced);
+        index.add(unspaced);
+        assertSame(spaced, index.get("CPSC 110"));
+        assertSame(unspaced, index.get("cpsc110"));
+        assertSame(unspaced, index.find("cpsc110"));
+        assertNull(index.find("Cpsc 110"));
+
+        index.remove("CPSC 110");
+        assertNull(index.get("CPSC 110"));
+        assertSame(unspaced, index.find("Cpsc 110"));
+    }
+
+    @Test
+    public void testRemove() {
+        index.add(spaced);
+        index.remove("cpsc110");
+        assertSame(spaced, index.get("CPSC 110"));
+        index.remove("CPSC 110");
+        assertNull(index.get("CPSC 110"));
+        assertNull(index.find("cpsc110"));
+        index.remove("CPSC 110");
+        assertNull(index.get("CPSC 110"));
+    }
+
+    @Test
+    public void testRenameByRemovingAndAdding() {
+        index.add(spaced);
+        index.remove(spaced.getName());
+        spaced.setName("CPSC 210");
+        index.add(spaced);
+        assertNull(index.find("cpsc110"));
+        assertSame(spaced, index.find("cpsc210"));
+    }
+}
@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancyTest {
+    @Test
+    public void testAddOneBlock() {
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(0, 0), LocalTime.of(0, 30));
+        long[] mask = Occupancy.add(Occupancy.empty(), t);
+        assertEquals(1, mask.length);
+        assertEquals(1L, mask[0]);
+        assertTrue(Occupancy.isExact(t));
+    }
+
+    @Test
+    public void testAddDoesNotModifyOriginal() {
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        long[] original = Occupancy.empty();
+        long[] mask = Occupancy.add(original, t);
+        assertEquals(0, original.length);
+        assertEquals(2, Long.bitCount(mask[0]));
+    }
+
+    @Test
+    public void testAddOffGridCoversTouchedBlocks() {
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(0, 10), LocalTime.of(0, 40));
+        long[] mask = Occupancy.add(Occupancy.empty(), t);
+        assertEquals(3L, mask[0]);
+        assertFalse(Occupancy.isExact(t));
+    }
+
+    @Test
+    public void testAddLaterTermGrowsMask() {
+        Timeslot t = new Timeslot(2, DayOfWeek.SUNDAY, LocalTime.of(23, 0), LocalTime.of(23, 30));
+        long[] mask = Occupancy.add(Occupancy.empty(), t);
+        int block = 2 * Occupancy.BLOCKS_PER_TERM - 2;
+        assertEquals(block / Long.SIZE + 1, mask.length);
+        assertEquals(1L << block, mask[block / Long.SIZE]);
+    }
+
+    @Test
+    public void testTermOutsideBitmapNotExact() {
+        Timeslot t = new Timeslot(Occupancy.MAX_TERMS + 1, DayOfWeek.MONDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0));
+        Timeslot folded = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        assertFalse(Occupancy.isExact(t));
+        assertArrayEquals(Occupancy.add(Occupancy.empty(), folded), Occupancy.add(Occupancy.empty(), t));
+    }
+
+    @Test
+    public void testIntersects() {
+        Timeslot t1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        Timeslot t2 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 30), LocalTime.of(11, 0));
+        Timeslot t3 = new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        long[] m1 = Occupancy.add(Occupancy.empty(), t1);
+        assertTrue(Occupancy.intersects(m1, Occupancy.add(Occupancy.empty(), t2)));
+        assertFalse(Occupancy.intersects(m1, Occupancy.add(Occupancy.empty(), t3)));
+        assertFalse(Occupancy.intersects(m1, Occupancy.empty()));
+    }
+
+    @Test
+    public void testOrAndXor() {
+        Timeslot t1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        Timeslot t2 = new Timeslot(2, DayOfWeek.FRIDAY, LocalTime.of(15, 0), LocalTime.of(16, 0));
+        long[] m1 = Occupancy.add(Occupancy.empty(), t1);
+        long[] m2 = Occupancy.add(Occupancy.empty(), t2);
+        long[] total = new long[Occupancy.WORDS];
+
+        Occupancy.or(total, m1);
+        Occupancy.or(total, m2);
+        assertTrue(Occupancy.intersects(total, m1));
+        assertTrue(Occupancy.intersects(total, m2));
+
+        Occupancy.xor(total, m1);
+        assertFalse(Occupancy.intersects(total, m1));
+        assertTrue(Occupancy.intersects(total, m2));
+    }
+}
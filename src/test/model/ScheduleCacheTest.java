@@ -0,0 +1,185 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCacheTest {
+    private ScheduleCache cache;
+    private List<Course> courses;
+
+    @BeforeEach
+    public void setup() {
+        cache = new ScheduleCache(1 << 20);
+        courses = makeCourses(9);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(1 << 20, cache.getMemoryBudget());
+        assertEquals(0, cache.getMemoryUsed());
+        assertEquals(0, cache.numEntries());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void testMissThenHit() {
+        ScheduleCache.Key key = cache.keyFor(courses, 2);
+        assertNull(cache.get(key));
+        ScheduleSet schedules = calculate(courses, 2);
+        cache.put(key, schedules);
+        assertEquals(1, cache.numEntries());
+        assertTrue(cache.getMemoryUsed() > 0);
+
+        ScheduleSet cached = cache.get(cache.keyFor(courses, 2));
+        assertNotSame(schedules, cached);
+        assertSameSchedules(schedules, cached);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testHitBoundToCurrentSections() {
+        cache.put(cache.keyFor(courses, 2), calculate(courses, 2));
+        List<Course> sameContents = makeCourses(9);
+        ScheduleSet cached = cache.get(cache.keyFor(sameContents, 2));
+        assertNotNull(cached);
+        assertSameSchedules(calculate(sameContents, 2), cached);
+        for (int row = 0; row < cached.size(); row++) {
+            for (int c = 0; c < cached.width(); c++) {
+                Section section = cached.bundleAt(row, c).getSection(0);
+                assertTrue(sameContents.contains(section.getCourse()));
+                assertSame(section.getCourse().getSectionByName(section.getName()), section);
+            }
+        }
+    }
+
+    @Test
+    public void testKeyChangesWithContents() {
+        cache.put(cache.keyFor(courses, 2), calculate(courses, 2));
+        assertNull(cache.get(cache.keyFor(courses, 3)));
+
+        courses.get(1).setRequired(false);
+        assertNull(cache.get(cache.keyFor(courses, 2)));
+        courses.get(1).setRequired(true);
+
+        Section section = courses.get(0).getSectionByName("1");
+        Timeslot extra = new Timeslot(2, DayOfWeek.FRIDAY, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        section.addTimeslot(extra);
+        assertNull(cache.get(cache.keyFor(courses, 2)));
+        section.deleteTimeslot(extra);
+
+        courses.get(2).changeSectionName(courses.get(2).getSectionByName("2"), "3");
+        assertNull(cache.get(cache.keyFor(courses, 2)));
+        courses.get(2).changeSectionName(courses.get(2).getSectionByName("3"), "2");
+
+        assertNotNull(cache.get(cache.keyFor(courses, 2)));
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testNamesCannotRunTogether() {
+        List<Course> joined = new ArrayList<>();
+        joined.add(new Course("AB", false));
+        joined.add(new Course("C", false));
+        List<Course> split = new ArrayList<>();
+        split.add(new Course("A", false));
+        split.add(new Course("BC", false));
+        cache.put(cache.keyFor(joined, 1), calculate(joined, 1));
+        assertNull(cache.get(cache.keyFor(split, 1)));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        List<Course> first = makeCourses(9);
+        List<Course> second = makeCourses(13);
+        List<Course> third = makeCourses(15);
+        cache.put(cache.keyFor(first, 2), calculate(first, 2));
+        long entrySize = cache.getMemoryUsed();
+        cache = new ScheduleCache(2 * entrySize);
+        cache.put(cache.keyFor(first, 2), calculate(first, 2));
+        cache.put(cache.keyFor(second, 2), calculate(second, 2));
+        assertNotNull(cache.get(cache.keyFor(first, 2)));
+        cache.put(cache.keyFor(third, 2), calculate(third, 2));
+
+        assertEquals(2, cache.numEntries());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2 * entrySize, cache.getMemoryUsed());
+        assertNull(cache.get(cache.keyFor(second, 2)));
+        assertNotNull(cache.get(cache.keyFor(first, 2)));
+        assertNotNull(cache.get(cache.keyFor(third, 2)));
+    }
+
+    @Test
+    public void testTooBigToCache() {
+        cache = new ScheduleCache(10);
+        cache.put(cache.keyFor(courses, 2), calculate(courses, 2));
+        assertEquals(0, cache.numEntries());
+        assertEquals(0, cache.getMemoryUsed());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void testReplaceEntry() {
+        ScheduleCache.Key key = cache.keyFor(courses, 2);
+        cache.put(key, calculate(courses, 2));
+        long used = cache.getMemoryUsed();
+        cache.put(key, calculate(courses, 2));
+        assertEquals(1, cache.numEntries());
+        assertEquals(used, cache.getMemoryUsed());
+    }
+
+    @Test
+    public void testSectionNotInKey() {
+        ScheduleCache.Key key = cache.keyFor(courses, 2);
+        ScheduleSet schedules = calculate(makeCourses(9), 2);
+        cache.put(key, schedules);
+        assertEquals(0, cache.numEntries());
+    }
+
+    @Test
+    public void testClear() {
+        cache.put(cache.keyFor(courses, 2), calculate(courses, 2));
+        cache.clear();
+        assertEquals(0, cache.numEntries());
+        assertEquals(0, cache.getMemoryUsed());
+        assertNull(cache.get(cache.keyFor(courses, 2)));
+    }
+
+    private ScheduleSet calculate(List<Course> courseList, int numCourses) {
+        ScheduleSet schedules = new ScheduleSet(numCourses);
+        new ScheduleCalculator(numCourses, new SectionIndex(courseList)).addAllTo(schedules);
+        return schedules;
+    }
+
+    private void assertSameSchedules(ScheduleSet expected, ScheduleSet actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    private List<Course> makeCourses(int firstHour) {
+        List<Course> courseList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Course course = new Course("Course" + i, i == 1);
+            for (int j = 0; j < 2; j++) {
+                Section section = new Section(Integer.toString(j + 1), course);
+                LocalTime start = LocalTime.of(firstHour + i + j, 0);
+                section.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, start, start.plusHours(1)));
+                course.addSection(section);
+            }
+            courseList.add(course);
+        }
+        return courseList;
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCounterTest {
+    private Set<Course> courses;
+
+    @BeforeEach
+    public void setup() {
+        // B1 clashes with A1, C1 with A2 and C2 with B2, while D1 clashes with nothing
+        courses = new HashSet<>();
+        courses.add(TestCourses.course("A", true, 9, 10));
+        courses.add(TestCourses.course("B", false, 9, 11));
+        courses.add(TestCourses.course("C", false, 10, 11));
+        courses.add(TestCourses.course("D", false, 12));
+    }
+
+    @Test
+    public void testCountMatchesCalculator() {
+        SectionIndex index = new SectionIndex(courses);
+        for (int n = 1; n <= 4; n++) {
+            ScheduleCounter counter = new ScheduleCounter(n, index);
+            assertEquals(new ScheduleCalculator(n, index).allValidSchedules().size(), counter.countValidSchedules());
+        }
+    }
+
+    @Test
+    public void testScheduleAtCoversEverySchedule() {
+        SectionIndex index = new SectionIndex(courses);
+        for (int n = 1; n <= 4; n++) {
+            Set<Set<Section>> all = new HashSet<>();
+            for (Schedule s : new ScheduleCalculator(n, index).allValidSchedules()) {
+                all.add(TestCourses.sectionsOf(s));
+            }
+            ScheduleCounter counter = new ScheduleCounter(n, index);
+            Set<Set<Section>> ranked = new HashSet<>();
+            for (int rank = 0; rank < all.size(); rank++) {
+                ranked.add(TestCourses.sectionsOf(counter.scheduleAt(rank)));
+            }
+            assertEquals(all, ranked);
+        }
+    }
+
+    @Test
+    public void testSampleFewerThanAll() {
+        SectionIndex index = new SectionIndex(courses);
+        ScheduleCounter counter = new ScheduleCounter(3, index);
+        List<Schedule> sample = counter.sample(3, new Random(210));
+        assertEquals(3, sample.size());
+
+        Set<String> different = new HashSet<>();
+        for (Schedule s : sample) {
+            assertEquals(3, s.numCourses());
+            different.add(s.toString());
+        }
+        assertEquals(3, different.size());
+    }
+
+    @Test
+    public void testSampleMoreThanAll() {
+        SectionIndex index = new SectionIndex(courses);
+        ScheduleCounter counter = new ScheduleCounter(4, index);
+        long total = counter.countValidSchedules();
+        List<Schedule> sample = counter.sample(100, new Random(210));
+        assertEquals(total, sample.size());
+    }
+
+    @Test
+    public void testSampleEveryScheduleCanBeChosen() {
+        SectionIndex index = new SectionIndex(courses);
+        ScheduleCounter counter = new ScheduleCounter(2, index);
+        long total = counter.countValidSchedules();
+        Set<String> seen = new HashSet<>();
+        Random random = new Random(110);
+        for (int i = 0; i < 200; i++) {
+            seen.add(counter.sample(1, random).get(0).toString());
+        }
+        assertEquals(total, seen.size());
+    }
+
+    @Test
+    public void testLimitNotReached() {
+        SectionIndex index = new SectionIndex(TestCourses.crowdedElectives(12, 12));
+        ScheduleCounter counter = new ScheduleCounter(6, index);
+        counter.limit(new SearchControl(Duration.ofHours(1)));
+        assertEquals(new ScheduleCounter(6, index).countValidSchedules(), counter.countValidSchedules());
+        assertFalse(counter.wasStopped());
+    }
+
+    @Test
+    public void testLimitStopsCount() {
+        SectionIndex index = new SectionIndex(TestCourses.crowdedElectives(12, 12));
+        long total = new ScheduleCounter(6, index).countValidSchedules();
+        ScheduleCounter counter = new ScheduleCounter(6, index);
+        SearchControl control = new SearchControl();
+        control.cancel();
+        counter.limit(control);
+        long partial = counter.countValidSchedules();
+        assertTrue(counter.wasStopped());
+        assertTrue(partial > 0 && partial < total);
+        assertEquals(partial, counter.countValidSchedules());
+
+        List<Schedule> sample = counter.sample(50, new Random(210));
+        assertEquals(Math.min(50, partial), sample.size());
+        Set<Set<Section>> different = new HashSet<>();
+        for (Schedule s : sample) {
+            assertEquals(6, s.numCourses());
+            different.add(TestCourses.sectionsOf(s));
+        }
+        assertEquals(sample.size(), different.size());
+    }
+
+    @Test
+    public void testCountTooLarge() {
+        // 100^10 schedules, which is more than fits in a long
+        List<Course> required = new ArrayList<>();
+        DayOfWeek[] days = {DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+                DayOfWeek.FRIDAY};
+        for (int c = 0; c < 10; c++) {
+            Course course = new Course("C" + c, true);
+            for (int s = 0; s < 100; s++) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes(s);
+                Section section = new Section("S" + s, course);
+                section.addTimeslot(new Timeslot(1 + c / 5, days[c % 5], start, start.plusHours(1)));
+                course.addSection(section);
+            }
+            required.add(course);
+        }
+        ScheduleCounter counter = new ScheduleCounter(10, new SectionIndex(required));
+        try {
+            counter.countValidSchedules();
+            fail("ArithmeticException not thrown");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        try {
+            counter.sample(5, new Random(210));
+            fail("ArithmeticException not thrown");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+}
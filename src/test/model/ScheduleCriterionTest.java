@@ -0,0 +1,110 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCriterionTest {
+    private Schedule testSchedule;
+    private Section morning;
+    private Section afternoon;
+    private Section otherTerm;
+
+    @BeforeEach
+    public void setup() {
+        Course courseA = new Course("A", true);
+        Course courseB = new Course("B", true);
+        Course courseC = new Course("C", false);
+        morning = makeSection(courseA, 1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        morning.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        afternoon = makeSection(courseB, 1, DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(14, 30));
+        otherTerm = makeSection(courseC, 2, DayOfWeek.MONDAY, LocalTime.of(11, 0), LocalTime.of(12, 0));
+        testSchedule = new Schedule();
+    }
+
+    @Test
+    public void testEmptySchedule() {
+        assertEquals(0, ScheduleCriterion.FEWEST_DAYS.score(testSchedule));
+        assertEquals(24 * 60, ScheduleCriterion.LATEST_START.score(testSchedule));
+        assertEquals(0, ScheduleCriterion.SMALLEST_GAPS.score(testSchedule));
+    }
+
+    @Test
+    public void testFewestDays() {
+        testSchedule.fillSection(morning);
+        testSchedule.fillSection(afternoon);
+        assertEquals(-2, ScheduleCriterion.FEWEST_DAYS.score(testSchedule));
+        testSchedule.fillSection(otherTerm);
+        assertEquals(-3, ScheduleCriterion.FEWEST_DAYS.score(testSchedule));
+        assertEquals(-3, ScheduleCriterion.FEWEST_DAYS.bound(testSchedule));
+    }
+
+    @Test
+    public void testFewestDaysLateTerms() {
+        Section lateTerm = makeSection(new Course("D", false), 9, DayOfWeek.MONDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0));
+        lateTerm.addTimeslot(new Timeslot(9, DayOfWeek.MONDAY, LocalTime.of(15, 0), LocalTime.of(16, 0)));
+        lateTerm.addTimeslot(new Timeslot(9, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        testSchedule.fillSection(morning);
+        testSchedule.fillSection(lateTerm);
+        assertEquals(-4, ScheduleCriterion.FEWEST_DAYS.score(testSchedule));
+        assertEquals(-300, ScheduleCriterion.SMALLEST_GAPS.score(testSchedule));
+    }
+
+    @Test
+    public void testLatestStart() {
+        testSchedule.fillSection(afternoon);
+        assertEquals(13 * 60, ScheduleCriterion.LATEST_START.score(testSchedule));
+        testSchedule.fillSection(otherTerm);
+        assertEquals(11 * 60, ScheduleCriterion.LATEST_START.score(testSchedule));
+        assertEquals(11 * 60, ScheduleCriterion.LATEST_START.bound(testSchedule));
+    }
+
+    @Test
+    public void testSmallestGaps() {
+        testSchedule.fillSection(morning);
+        testSchedule.fillSection(otherTerm);
+        assertEquals(0, ScheduleCriterion.SMALLEST_GAPS.score(testSchedule));
+        testSchedule.fillSection(afternoon);
+        assertEquals(-180, ScheduleCriterion.SMALLEST_GAPS.score(testSchedule));
+        assertEquals(0, ScheduleCriterion.SMALLEST_GAPS.bound(testSchedule));
+        assertEquals(-120, ScheduleCriterion.SMALLEST_GAPS.bound(testSchedule, 60));
+        assertEquals(0, ScheduleCriterion.SMALLEST_GAPS.bound(testSchedule, 180));
+    }
+
+    @Test
+    public void testEvenDays() {
+        assertEquals(0, ScheduleCriterion.EVEN_DAYS.score(testSchedule));
+        testSchedule.fillSection(morning);
+        assertEquals(0, ScheduleCriterion.EVEN_DAYS.score(testSchedule));
+        testSchedule.fillSection(afternoon);
+        assertEquals(-90, ScheduleCriterion.EVEN_DAYS.score(testSchedule));
+        testSchedule.fillSection(otherTerm);
+        assertEquals(-90, ScheduleCriterion.EVEN_DAYS.score(testSchedule));
+        assertEquals(0, ScheduleCriterion.EVEN_DAYS.bound(testSchedule));
+        assertEquals(-60, ScheduleCriterion.EVEN_DAYS.bound(testSchedule, 30));
+        assertEquals(0, ScheduleCriterion.EVEN_DAYS.bound(testSchedule, 90));
+    }
+
+    @Test
+    public void testDefaultBound() {
+        testSchedule.fillSection(morning);
+        assertEquals(-2, ScheduleCriterion.FEWEST_DAYS.bound(testSchedule, 1000));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("Fewest days on campus", ScheduleCriterion.FEWEST_DAYS.toString());
+    }
+
+    private Section makeSection(Course course, int term, DayOfWeek day, LocalTime start, LocalTime end) {
+        Section section = new Section("1", course);
+        section.addTimeslot(new Timeslot(term, day, start, end));
+        course.addSection(section);
+        return section;
+    }
+}
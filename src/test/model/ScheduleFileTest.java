@@ -0,0 +1,144 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleFileTest {
+    private Path path;
+    private SectionIndex index;
+    private ScheduleFile schedules;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        path = Files.createTempFile("scheduleFileTest", ".bin");
+        index = TestCourses.twoCourseIndex();
+        schedules = new ScheduleFile(path, 2, index);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        schedules.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, schedules.size());
+        assertFalse(schedules.iterator().hasNext());
+        assertFalse(schedules.isComplete());
+    }
+
+    @Test
+    public void testAddAndGet() throws IOException {
+        schedules.add(new int[]{0, 2});
+        schedules.add(new int[]{1, 3, 0});
+        schedules.setComplete(true);
+        assertEquals(2, schedules.size());
+        assertTrue(schedules.isComplete());
+
+        Schedule second = schedules.get(1);
+        assertEquals(2, second.numSections());
+        assertTrue(second.containsSection(index.getBundle(1).getSection(0)));
+        assertTrue(second.containsSection(index.getBundle(3).getSection(0)));
+        Iterator<Schedule> it = schedules.iterator();
+        assertTrue(it.next().containsSection(index.getBundle(0).getSection(0)));
+        assertTrue(it.next().containsSection(index.getBundle(1).getSection(0)));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testGetOutOfBounds() throws IOException {
+        schedules.add(new int[]{0, 2});
+        try {
+            schedules.get(1);
+            fail("IndexOutOfBoundsException not thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            schedules.get(-1);
+            fail("IndexOutOfBoundsException not thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        schedules.add(new int[]{0, 2});
+        assertTrue(Files.exists(path));
+        schedules.close();
+        assertFalse(Files.exists(path));
+        try {
+            schedules.get(0);
+            fail("IllegalStateException not thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        schedules.close();
+    }
+
+    @Test
+    public void testReusePath() throws IOException {
+        schedules.add(new int[]{0, 2});
+        schedules.add(new int[]{0, 3});
+        schedules.close();
+        schedules = new ScheduleFile(path, 2, index);
+        assertEquals(0, schedules.size());
+        schedules.add(new int[]{1, 2});
+        assertTrue(schedules.get(0).containsSection(index.getBundle(1).getSection(0)));
+    }
+
+    @Test
+    public void testReuseFileStillInUse() throws IOException {
+        schedules.add(new int[]{0, 2});
+        schedules.add(new int[]{0, 3});
+        ScheduleFile reused = new ScheduleFile(path, 2, index);
+        try {
+            assertEquals(0, reused.size());
+            reused.add(new int[]{1, 2});
+            assertEquals(1, reused.size());
+            assertTrue(reused.get(0).containsSection(index.getBundle(1).getSection(0)));
+        } finally {
+            reused.close();
+        }
+    }
+
+    @Test
+    public void testManyChunks() throws IOException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            // both sections of a course meet in an hour of their own, so no two courses clash
+            courses.add(TestCourses.course("C" + i, true, 7 + i, 7 + i));
+        }
+        SectionIndex wide = new SectionIndex(courses);
+        schedules.close();
+        schedules = new ScheduleFile(path, 16, wide);
+        // rows of 16 two-byte section numbers, so a 64 MiB chunk holds 2^21 rows
+        int numRows = (1 << 21) + 100;
+        int[] chosen = new int[16];
+        for (int row = 0; row < numRows; row++) {
+            for (int c = 0; c < 16; c++) {
+                chosen[c] = 2 * c + ((row >> c) & 1);
+            }
+            schedules.add(chosen);
+        }
+        assertEquals(numRows, schedules.size());
+        for (int row : new int[]{0, 12345, (1 << 21) - 1, 1 << 21, numRows - 1}) {
+            Schedule schedule = schedules.get(row);
+            for (int c = 0; c < 16; c++) {
+                assertTrue(schedule.containsSection(wide.getBundle(2 * c + ((row >> c) & 1)).getSection(0)));
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package model;
+
+import exceptions.ScheduleSizeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleRecalculatorTest {
+    private CourseList courses;
+    private ScheduleRecalculator recalculator;
+    private Course courseA;
+    private Course courseB;
+    private Course courseC;
+    private Course courseD;
+
+    @BeforeEach
+    public void setup() {
+        // A is required; B1 clashes with A1 and C1 with A2, so that removing sections and taking timeslots away both
+        // change which schedules are valid, while D1 clashes with nothing until a test gives it another timeslot
+        courseA = TestCourses.course("A", true, 9, 10);
+        courseB = TestCourses.course("B", false, 9, 11);
+        courseC = TestCourses.course("C", false, 10, 13);
+        courseD = TestCourses.course("D", false, 12);
+        courses = new CourseList();
+        courses.addCourse(courseA);
+        courses.addCourse(courseB);
+        courses.addCourse(courseC);
+        courses.addCourse(courseD);
+        recalculator = new ScheduleRecalculator(courses, 100);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertNull(recalculator.getSchedules());
+        assertFalse(recalculator.wasIncremental());
+    }
+
+    @Test
+    public void testFirstUpdate() throws ScheduleSizeException {
+        assertEquals(courses.countValidSchedules(3), recalculator.update(3));
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+    }
+
+    @Test
+    public void testUpdateInvalidSize() {
+        try {
+            recalculator.update(5);
+            fail();
+        } catch (ScheduleSizeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNoChanges() throws ScheduleSizeException {
+        recalculator.update(3);
+        List<Schedule> before = recalculator.getSchedules();
+        recalculator.update(3);
+        assertTrue(recalculator.wasIncremental());
+        assertEquals(before, recalculator.getSchedules());
+    }
+
+    @Test
+    public void testDeleteSection() throws ScheduleSizeException {
+        recalculator.update(3);
+        courseC.deleteSection(courseC.getSectionByName("2"));
+        recalculator.update(3);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+    }
+
+    @Test
+    public void testDeleteElective() throws ScheduleSizeException {
+        recalculator.update(2);
+        courses.deleteCourse(courseD);
+        recalculator.update(2);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+    }
+
+    @Test
+    public void testAddTimeslot() throws ScheduleSizeException {
+        recalculator.update(3);
+        Section d1 = courseD.getSectionByName("1");
+        d1.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        recalculator.update(3);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+        for (Schedule s : recalculator.getSchedules()) {
+            // kept schedules still work as schedules after one of their sections changed
+            if (s.containsSection(d1)) {
+                s.removeSection(d1);
+                assertTrue(s.fillSection(d1));
+            }
+        }
+    }
+
+    @Test
+    public void testDeleteTimeslot() throws ScheduleSizeException {
+        recalculator.update(3);
+        Section b1 = courseB.getSectionByName("1");
+        b1.deleteTimeslot(b1.getTimeslots().iterator().next());
+        recalculator.update(3);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+    }
+
+    @Test
+    public void testRepeatedEditsDropUnusedBundles() throws ScheduleSizeException {
+        recalculator.update(3);
+        Section b1 = courseB.getSectionByName("1");
+        Timeslot extra = new Timeslot(2, DayOfWeek.FRIDAY, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        for (int i = 0; i < 20; i++) {
+            b1.addTimeslot(extra);
+            recalculator.update(3);
+            b1.deleteTimeslot(extra);
+            recalculator.update(3);
+            assertTrue(recalculator.wasIncremental());
+        }
+        assertMatchesFullSearch(3);
+        // one bundle for each of the 7 sections, however many times they were searched again
+        assertTrue(recalculator.getSchedules().numBundleIds() <= 7);
+    }
+
+    @Test
+    public void testAddSections() throws ScheduleSizeException {
+        recalculator.update(3);
+        TestCourses.addSection(courseA, "3", LocalTime.of(13, 0));
+        TestCourses.addSection(courseB, "3", LocalTime.of(14, 0));
+        recalculator.update(3);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+    }
+
+    @Test
+    public void testAddElective() throws ScheduleSizeException {
+        recalculator.update(1);
+        Course courseE = TestCourses.course("E", false, 9);
+        courses.addCourse(courseE);
+        recalculator.update(1);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(1);
+
+        recalculator.update(4);
+        assertFalse(recalculator.wasIncremental());
+        TestCourses.addSection(courseE, "2", LocalTime.of(15, 0));
+        recalculator.update(4);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(4);
+    }
+
+    @Test
+    public void testChangeRequired() throws ScheduleSizeException {
+        recalculator.update(2);
+        courseD.setRequired(true);
+        recalculator.update(2);
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+
+        courses.deleteCourse(courseD);
+        recalculator.update(2);
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+    }
+
+    @Test
+    public void testAddActivity() throws ScheduleSizeException {
+        recalculator.update(2);
+        TestCourses.addSection(courseB, "L1", "Laboratory", LocalTime.of(13, 0));
+        recalculator.update(2);
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+
+        courseB.deleteSection(courseB.getSectionByName("L1"));
+        recalculator.update(2);
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+    }
+
+    @Test
+    public void testEditSectionsWithActivities() throws ScheduleSizeException {
+        TestCourses.addSection(courseA, "L1", "Laboratory", LocalTime.of(11, 0));
+        Section labL2 = TestCourses.addSection(courseA, "L2", "Laboratory", LocalTime.of(13, 0));
+        recalculator.update(2);
+        assertMatchesFullSearch(2);
+
+        TestCourses.addSection(courseA, "L3", "Laboratory", LocalTime.of(12, 0));
+        recalculator.update(2);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+
+        labL2.setActivity("Lecture");
+        recalculator.update(2);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+
+        courseA.getSectionByName("L3").addTimeslot(new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0)));
+        recalculator.update(2);
+        assertTrue(recalculator.wasIncremental());
+        assertMatchesFullSearch(2);
+    }
+
+    @Test
+    public void testTooManyToKeep() throws ScheduleSizeException {
+        recalculator = new ScheduleRecalculator(courses, 3);
+        assertEquals(courses.countValidSchedules(2), recalculator.update(2));
+        assertNull(recalculator.getSchedules());
+
+        // A2 with two of B2, C2 and D1
+        courseA.deleteSection(courseA.getSectionByName("1"));
+        courseB.deleteSection(courseB.getSectionByName("1"));
+        assertEquals(3, recalculator.update(3));
+        assertFalse(recalculator.wasIncremental());
+        assertMatchesFullSearch(3);
+
+        TestCourses.addSection(courseB, "3", LocalTime.of(14, 0));
+        assertEquals(courses.countValidSchedules(3), recalculator.update(3));
+        assertNull(recalculator.getSchedules());
+    }
+
+    @Test
+    public void testSample() throws ScheduleSizeException {
+        long total = recalculator.update(3);
+        assertNotNull(recalculator.getSchedules());
+        assertEquals(2, recalculator.sample(2, new Random(210)).size());
+        assertEquals(total, recalculator.sample(100, new Random(210)).size());
+
+        recalculator = new ScheduleRecalculator(courses, 1);
+        total = recalculator.update(3);
+        assertNull(recalculator.getSchedules());
+        List<Schedule> sample = recalculator.sample(100, new Random(210));
+        assertEquals(total, sample.size());
+        Set<String> distinct = new HashSet<>();
+        for (Schedule s : sample) {
+            distinct.add(s.toString());
+        }
+        assertEquals(total, distinct.size());
+    }
+
+    @Test
+    public void testStoppedUpdate() throws ScheduleSizeException {
+        for (int i = 0; i < 12; i++) {
+            courses.addCourse(TestCourses.course("Course" + i, false, i + 1, i + 1, i + 1));
+        }
+        recalculator = new ScheduleRecalculator(courses, 1000000);
+        SearchControl control = new SearchControl();
+        control.cancel();
+        long found = recalculator.update(8, control, null);
+        assertFalse(recalculator.isComplete());
+        assertEquals(found, recalculator.getSchedules().size());
+        assertTrue(found < courses.countValidSchedules(8));
+
+        recalculator.update(8, control, null);
+        assertFalse(recalculator.wasIncremental());
+        assertFalse(recalculator.isComplete());
+
+        courses.deleteCourse(courseD);
+        recalculator.update(1);
+        assertFalse(recalculator.wasIncremental());
+        assertTrue(recalculator.isComplete());
+        assertMatchesFullSearch(1);
+    }
+
+    @Test
+    public void testStoppedCount() throws ScheduleSizeException {
+        for (Course c : TestCourses.crowdedElectives(12, 12)) {
+            courses.addCourse(c);
+        }
+        recalculator = new ScheduleRecalculator(courses, 0);
+        SearchControl control = new SearchControl();
+        control.cancel();
+        long found = recalculator.update(8, control, null);
+        assertFalse(recalculator.isComplete());
+        assertNull(recalculator.getSchedules());
+        assertTrue(found < courses.countValidSchedules(8));
+        assertEquals(Math.min(found, 5), recalculator.sample(5, new Random(210)).size());
+    }
+
+    @Test
+    public void testFullSearchCached() throws ScheduleSizeException {
+        ScheduleCache cache = new ScheduleCache(1 << 20);
+        courses.setScheduleCache(cache);
+        recalculator.update(3);
+        assertEquals(1, cache.numEntries());
+        assertEquals(0, cache.getHits());
+
+        ScheduleRecalculator other = new ScheduleRecalculator(courses, 100);
+        assertEquals(recalculator.getSchedules().size(), other.update(3));
+        assertEquals(1, cache.getHits());
+        assertFalse(other.wasIncremental());
+        assertEquals(recalculator.getSchedules().toString(), other.getSchedules().toString());
+
+        other = new ScheduleRecalculator(courses, 1);
+        assertEquals(recalculator.getSchedules().size(), other.update(3));
+        assertEquals(2, cache.getHits());
+        assertNull(other.getSchedules());
+    }
+
+    private void assertMatchesFullSearch(int n) throws ScheduleSizeException {
+        Set<Set<Section>> expected = new HashSet<>();
+        for (Schedule s : courses.allValidSchedules(n)) {
+            expected.add(TestCourses.sectionsOf(s));
+        }
+        Set<Set<Section>> actual = new HashSet<>();
+        for (Schedule s : recalculator.getSchedules()) {
+            assertEquals(n, s.numCourses());
+            actual.add(TestCourses.sectionsOf(s));
+        }
+        assertEquals(expected.size(), recalculator.getSchedules().size());
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleRendererTest {
+    private Section sectionA;
+    private Section sectionB;
+    private Schedule schedule;
+
+    @BeforeEach
+    public void setup() {
+        sectionA = new Section("101", new Course("CPSC 210", true));
+        sectionA.addTimeslot(new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        sectionA.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        sectionB = new Section("L1A", "Laboratory", new Course("MATH 100", false));
+        sectionB.addTimeslot(new Timeslot(2, DayOfWeek.TUESDAY, LocalTime.of(14, 0), LocalTime.of(15, 50)));
+
+        schedule = new Schedule();
+        schedule.fillSection(sectionA);
+        schedule.fillSection(sectionB);
+    }
+
+    @Test
+    public void testRenderNames() throws IOException {
+        StringBuilder out = new StringBuilder();
+        new ScheduleRenderer(false).render(schedule, out);
+        assertEquals(schedule.toString(), out.toString());
+        assertEquals("CPSC 210 101\nMATH 100 L1A\n", out.toString());
+    }
+
+    @Test
+    public void testRenderWithTimes() throws IOException {
+        StringBuilder out = new StringBuilder();
+        new ScheduleRenderer(true).render(schedule, out);
+        assertEquals("CPSC 210 101: Term 1 09:00-10:00 MF\t\nMATH 100 L1A: Term 2 14:00-15:50 T\t\n", out.toString());
+    }
+
+    @Test
+    public void testRenderEmpty() throws IOException {
+        StringBuilder out = new StringBuilder();
+        new ScheduleRenderer(true).render(new Schedule(), out);
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    public void testSectionTextWorkedOutOnce() throws IOException {
+        ScheduleRenderer renderer = new ScheduleRenderer(true);
+        Schedule other = new Schedule();
+        other.fillSection(sectionA);
+        StringWriter out = new StringWriter();
+        renderer.render(schedule, out);
+        renderer.render(other, out);
+        renderer.render(schedule, out);
+        assertEquals(2, renderer.numCached());
+
+        // the text is kept for the result set even if the section changes afterwards
+        sectionA.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        StringWriter again = new StringWriter();
+        renderer.render(other, again);
+        assertEquals("CPSC 210 101: Term 1 09:00-10:00 MF\t\n", again.toString());
+    }
+
+    @Test
+    public void testRenderThrows() {
+        Writer closed = new Writer() {
+            @Override
+            public void write(char[] buf, int off, int len) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IOException.class, () -> new ScheduleRenderer(false).render(schedule, closed));
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleSetTest {
+    private SectionIndex index;
+    private ScheduleSet schedules;
+
+    @BeforeEach
+    public void setup() {
+        index = TestCourses.twoCourseIndex();
+        schedules = new ScheduleSet(2);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, schedules.size());
+        assertTrue(schedules.isEmpty());
+        assertFalse(schedules.iterator().hasNext());
+        assertEquals(2, schedules.width());
+    }
+
+    @Test
+    public void testAddAndGet() {
+        schedules.add(index, new int[]{0, 2});
+        schedules.add(index, new int[]{1, 3, 0});
+        assertEquals(2, schedules.size());
+
+        Schedule first = schedules.get(0);
+        assertEquals(2, first.numSections());
+        assertTrue(first.containsSection(index.getBundle(0).getSection(0)));
+        assertTrue(first.containsSection(index.getBundle(2).getSection(0)));
+        Schedule second = schedules.get(1);
+        assertTrue(second.containsSection(index.getBundle(1).getSection(0)));
+        assertTrue(second.containsSection(index.getBundle(3).getSection(0)));
+        assertSame(index.getBundle(3), schedules.bundleAt(1, 1));
+    }
+
+    @Test
+    public void testGetBuildsNewSchedule() {
+        schedules.add(index, new int[]{0, 2});
+        Schedule schedule = schedules.get(0);
+        schedule.removeSection(index.getBundle(0).getSection(0));
+        assertNotSame(schedule, schedules.get(0));
+        assertEquals(2, schedules.get(0).numSections());
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        schedules.add(index, new int[]{0, 2});
+        try {
+            schedules.get(1);
+            fail("IndexOutOfBoundsException not thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            schedules.get(-1);
+            fail("IndexOutOfBoundsException not thrown");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIteratorAndGrowth() {
+        for (int i = 0; i < 1000; i++) {
+            schedules.add(index, new int[]{i % 2, 2 + (i / 2) % 2});
+        }
+        assertEquals(1000, schedules.size());
+        int i = 0;
+        Iterator<Schedule> it = schedules.iterator();
+        while (it.hasNext()) {
+            Schedule s = it.next();
+            assertTrue(s.containsSection(index.getBundle(i % 2).getSection(0)));
+            assertTrue(s.containsSection(index.getBundle(2 + (i / 2) % 2).getSection(0)));
+            i++;
+        }
+        assertEquals(1000, i);
+    }
+
+    @Test
+    public void testFilter() {
+        schedules.add(index, new int[]{0, 2});
+        schedules.add(index, new int[]{1, 2});
+        schedules.add(index, new int[]{0, 3});
+        Section a1 = index.getBundle(0).getSection(0);
+        ScheduleSet withA1 = schedules.filter(s -> s.containsSection(a1));
+        assertEquals(2, withA1.size());
+        assertSame(index.getBundle(2), withA1.bundleAt(0, 1));
+        assertSame(index.getBundle(3), withA1.bundleAt(1, 1));
+        assertEquals(3, schedules.size());
+        assertEquals(0, schedules.filter(s -> false).size());
+    }
+
+    @Test
+    public void testRowsFromDifferentIndexes() {
+        schedules.add(index, new int[]{0, 2});
+        List<Course> others = new ArrayList<>();
+        Course courseC = TestCourses.course("C", true, 13);
+        others.add(courseC);
+        others.add(index.getCourse(0));
+        SectionIndex otherIndex = new SectionIndex(others);
+        // in otherIndex, A is numbered first and C last
+        schedules.add(otherIndex, new int[]{2, 0});
+        assertSame(courseC.getSectionByName("1"), schedules.bundleAt(1, 0).getSection(0));
+        assertSame(index.getBundle(0), schedules.bundleAt(1, 1));
+        assertEquals(schedules.idAt(0, 0), schedules.idAt(1, 1));
+        assertEquals(3, schedules.numBundleIds());
+    }
+
+    @Test
+    public void testAddRowAndFindId() {
+        schedules.add(index, new int[]{1, 3});
+        ScheduleSet copy = schedules.emptyCopy();
+        copy.addRow(schedules, 0);
+        assertEquals(1, copy.size());
+        assertSame(index.getBundle(3), copy.bundleAt(0, 1));
+        assertEquals(1, schedules.findId(index.getBundle(3)));
+        assertEquals(-1, schedules.findId(index.getBundle(0)));
+    }
+
+    @Test
+    public void testCompact() {
+        schedules.add(index, new int[]{0, 2});
+        schedules.add(index, new int[]{1, 3});
+        assertSame(schedules, schedules.compact());
+
+        ScheduleSet copy = schedules.emptyCopy();
+        copy.addRow(schedules, 1);
+        assertEquals(4, copy.numBundleIds());
+        ScheduleSet compacted = copy.compact();
+        assertEquals(2, compacted.numBundleIds());
+        assertEquals(1, compacted.size());
+        assertSame(index.getBundle(1), compacted.bundleAt(0, 0));
+        assertSame(index.getBundle(3), compacted.bundleAt(0, 1));
+        assertEquals(-1, compacted.findId(index.getBundle(0)));
+    }
+
+    @Test
+    public void testManySections() {
+        ScheduleSet single = new ScheduleSet(1);
+        int numSections = Character.MAX_VALUE + 10;
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < numSections; i++) {
+            Course course = new Course("C" + i, true);
+            Section section = new Section("1", course);
+            course.addSection(section);
+            sections.add(section);
+            single.add(new SectionIndex(Collections.singletonList(course)), new int[]{0});
+        }
+        assertEquals(numSections, single.size());
+        assertSame(sections.get(0), single.bundleAt(0, 0).getSection(0));
+        assertSame(sections.get(Character.MAX_VALUE), single.bundleAt(Character.MAX_VALUE, 0).getSection(0));
+        assertSame(sections.get(numSections - 1), single.bundleAt(numSections - 1, 0).getSection(0));
+    }
+
+    @Test
+    public void testGrownCapacity() {
+        assertEquals(96, ScheduleSet.grownCapacity(64, 66));
+        assertEquals(200, ScheduleSet.grownCapacity(64, 200));
+        // half as much again would pass the largest array length, so growth stops there
+        assertEquals(ScheduleSet.MAX_ENTRIES, ScheduleSet.grownCapacity(1500000000, 1500000016));
+        assertEquals(ScheduleSet.MAX_ENTRIES, ScheduleSet.grownCapacity(ScheduleSet.MAX_ENTRIES - 2,
+                ScheduleSet.MAX_ENTRIES));
+        try {
+            ScheduleSet.grownCapacity(ScheduleSet.MAX_ENTRIES, (long) ScheduleSet.MAX_ENTRIES + 16);
+            fail("IllegalStateException not thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -24,9 +24,9 @@ public class ScheduleTest {
         testSection = new Section("001", testCourse);
         testCourse.addSection(testSection);
 
-        Timeslot testTime1 = new Timeslot(1, DayOfWeek.MONDAY, start, end, testSection);
-        Timeslot testTime2 = new Timeslot(1, DayOfWeek.WEDNESDAY, start, end, testSection);
-        Timeslot testTime3 = new Timeslot(1, DayOfWeek.FRIDAY, start, end, testSection);
+        Timeslot testTime1 = new Timeslot(1, DayOfWeek.MONDAY, start, end);
+        Timeslot testTime2 = new Timeslot(1, DayOfWeek.WEDNESDAY, start, end);
+        Timeslot testTime3 = new Timeslot(1, DayOfWeek.FRIDAY, start, end);
 
         testSection.addTimeslot(testTime1);
         testSection.addTimeslot(testTime2);
@@ -35,6 +35,29 @@ public class ScheduleTest {
         testSchedule = new Schedule();
     }
 
+    @Test
+    public void testFillBundle() {
+        Course otherCourse = new Course("B", false);
+        Section lecture = makeSection(otherCourse, "101", "Lecture", DayOfWeek.TUESDAY, start);
+        Section conflictingLab = makeSection(otherCourse, "L1", "Laboratory", DayOfWeek.MONDAY, start.plusMinutes(30));
+        Section lab = makeSection(otherCourse, "L2", "Laboratory", DayOfWeek.THURSDAY, start);
+        testSchedule.fillSection(testSection);
+
+        assertFalse(testSchedule.fillBundle(new SectionBundle(lecture, conflictingLab)));
+        assertEquals(1, testSchedule.numSections());
+        assertFalse(testSchedule.containsSection(lecture));
+
+        SectionBundle bundle = new SectionBundle(lecture, lab);
+        assertTrue(testSchedule.fillBundle(bundle));
+        assertEquals(3, testSchedule.numSections());
+        assertEquals(2, testSchedule.numCourses());
+        assertTrue(testSchedule.containsSection(lab));
+
+        testSchedule.removeBundle(bundle);
+        assertEquals(1, testSchedule.numSections());
+        assertFalse(testSchedule.containsSection(lecture));
+    }
+
     @Test
     public void testConstructor() {
         assertEquals(0, testSchedule.numSections());
@@ -50,7 +73,7 @@ public class ScheduleTest {
     public void testFillSectionOneOverlap() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, start, end.plusMinutes(30), otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, start, end.plusMinutes(30));
         otherSection.addTimeslot(otherTime);
 
         assertTrue(testSchedule.fillSection(otherSection));
@@ -62,8 +85,8 @@ public class ScheduleTest {
     public void testFillSectionManyOverlaps() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, LocalTime.of(13, 0), end, otherSection);
-        Timeslot anotherTime = new Timeslot(1,DayOfWeek.FRIDAY, LocalTime.of(12, 0), end.minusMinutes(30), otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, LocalTime.of(13, 0), end);
+        Timeslot anotherTime = new Timeslot(1,DayOfWeek.FRIDAY, LocalTime.of(12, 0), end.minusMinutes(30));
         otherSection.addTimeslot(otherTime);
         otherSection.addTimeslot(anotherTime);
 
@@ -76,7 +99,7 @@ public class ScheduleTest {
     public void testFillSectionLeftBound() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, LocalTime.of(11, 30), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, LocalTime.of(11, 30), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(testSection);
@@ -89,7 +112,7 @@ public class ScheduleTest {
     public void testFillSectionRightBound() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, end, end.plusHours(1), otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, end, end.plusHours(1));
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(testSection);
@@ -126,7 +149,7 @@ public class ScheduleTest {
     public void testNumCoursesSectionsTwo() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -139,7 +162,7 @@ public class ScheduleTest {
     @Test
     public void testNumCoursesSectionsDifferent() {
         Section otherSection = new Section("102", testCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -158,7 +181,7 @@ public class ScheduleTest {
     public void testNumElectivesOne() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -172,7 +195,7 @@ public class ScheduleTest {
         testCourse.setRequired(false);
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -190,7 +213,7 @@ public class ScheduleTest {
     public void testNumRequiredOne() {
         Course otherCourse = new Course("B", false);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(testSection);
@@ -203,7 +226,7 @@ public class ScheduleTest {
     public void testNumRequiredMany() {
         Course otherCourse = new Course("B", true);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(testSection);
@@ -228,7 +251,7 @@ public class ScheduleTest {
     public void testContainsSectionDifferent() {
         Course otherCourse = new Course("B", true);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -252,7 +275,7 @@ public class ScheduleTest {
     public void testContainsCourseDifferent() {
         Course otherCourse = new Course("B", true);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
 
         testSchedule.fillSection(otherSection);
@@ -260,6 +283,70 @@ public class ScheduleTest {
         assertFalse(testSchedule.containsCourse(testCourse));
     }
 
+    @Test
+    public void testCountsWithSeveralSectionsOfOneCourse() {
+        Section lab = makeSection(testCourse, "L1", "Laboratory", DayOfWeek.TUESDAY, start);
+        testSchedule.fillSection(testSection);
+        testSchedule.fillSection(lab);
+        assertEquals(1, testSchedule.numCourses());
+        assertEquals(1, testSchedule.numRequired());
+
+        testSchedule.removeSection(testSection);
+        assertEquals(1, testSchedule.numCourses());
+        assertTrue(testSchedule.containsCourse(testCourse));
+        testSchedule.removeSection(lab);
+        assertEquals(0, testSchedule.numCourses());
+        assertFalse(testSchedule.containsCourse(testCourse));
+    }
+
+    @Test
+    public void testEqualCoursesCountOnce() {
+        Course sameName = new Course("A", true);
+        Section other = makeSection(sameName, "002", "Laboratory", DayOfWeek.TUESDAY, start);
+        testSchedule.fillSection(testSection);
+        assertTrue(testSchedule.containsCourse(sameName));
+
+        testSchedule.fillSection(other);
+        assertEquals(1, testSchedule.numCourses());
+        testSchedule.removeSection(testSection);
+        assertTrue(testSchedule.containsCourse(testCourse));
+        testSchedule.removeSection(other);
+        assertFalse(testSchedule.containsCourse(testCourse));
+    }
+
+    @Test
+    public void testCountsFollowRequiredStatus() {
+        testSchedule.fillSection(testSection);
+        testCourse.setRequired(false);
+        assertEquals(0, testSchedule.numRequired());
+        assertEquals(1, testSchedule.numElectives());
+    }
+
+    @Test
+    public void testCountsManyCourses() {
+        // more courses than there are bits in the course signature, so some of them share a bit
+        Course[] courses = new Course[100];
+        for (int i = 0; i < courses.length; i++) {
+            courses[i] = new Course("C" + i, i % 2 == 0);
+            Section section = new Section("1", courses[i]);
+            section.addTimeslot(new Timeslot(1 + i % 2, DayOfWeek.of(1 + (i / 2) % 7), LocalTime.of(i / 14, 0),
+                    LocalTime.of(i / 14, 30)));
+            courses[i].addSection(section);
+            assertTrue(testSchedule.fillSection(section));
+        }
+        assertEquals(100, testSchedule.numCourses());
+        assertEquals(50, testSchedule.numRequired());
+        assertEquals(50, testSchedule.numElectives());
+        for (int i = 0; i < courses.length; i += 3) {
+            testSchedule.removeSection(courses[i].getSectionByName("1"));
+        }
+        for (int i = 0; i < courses.length; i++) {
+            assertEquals(i % 3 != 0, testSchedule.containsCourse(courses[i]));
+        }
+        assertEquals(66, testSchedule.numCourses());
+        assertFalse(testSchedule.containsCourse(testCourse));
+    }
+
     @Test
     public void testRemoveSection() {
         testSchedule.fillSection(testSection);
@@ -287,15 +374,64 @@ public class ScheduleTest {
         assertEquals(1, testSchedule.numSections());
     }
 
+    @Test
+    public void testFillSectionAfterRemove() {
+        Course otherCourse = new Course("B", false);
+        Section otherSection = new Section("102", otherCourse);
+        otherSection.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, start, end));
+
+        assertTrue(testSchedule.fillSection(testSection));
+        assertFalse(testSchedule.fillSection(otherSection));
+        testSchedule.removeSection(testSection);
+        assertTrue(testSchedule.fillSection(otherSection));
+        assertFalse(testSchedule.fillSection(testSection));
+    }
+
+    @Test
+    public void testFillSectionOffGridTimes() {
+        Course otherCourse = new Course("B", false);
+        Section before = new Section("101", otherCourse);
+        before.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(12, 10), LocalTime.of(12, 50)));
+        Section overlapping = new Section("102", otherCourse);
+        overlapping.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(12, 40), start));
+
+        assertTrue(testSchedule.fillSection(testSection));
+        assertTrue(testSchedule.fillSection(before));
+        assertFalse(testSchedule.fillSection(overlapping));
+        testSchedule.removeSection(before);
+        assertTrue(testSchedule.fillSection(overlapping));
+    }
+
+    @Test
+    public void testFillSectionTermsBeyondBitmap() {
+        Course otherCourse = new Course("B", false);
+        Section laterTerm = new Section("102", otherCourse);
+        laterTerm.addTimeslot(new Timeslot(Occupancy.MAX_TERMS + 1, DayOfWeek.MONDAY, start, end));
+        Section sameTerm = new Section("103", otherCourse);
+        sameTerm.addTimeslot(new Timeslot(Occupancy.MAX_TERMS + 1, DayOfWeek.MONDAY, start, end));
+
+        assertTrue(testSchedule.fillSection(testSection));
+        assertTrue(testSchedule.fillSection(laterTerm));
+        testSchedule.removeSection(testSection);
+        assertFalse(testSchedule.fillSection(sameTerm));
+    }
+
     @Test
     public void testToString() {
         Course otherCourse = new Course("B", true);
         Section otherSection = new Section("102", otherCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, otherSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         otherSection.addTimeslot(otherTime);
         testSchedule.fillSection(otherSection);
         testSchedule.fillSection(testSection);
 
         assertEquals(otherSection.toString() + "\n" + testSection.toString() + "\n", testSchedule.toString());
     }
+
+    private Section makeSection(Course course, String name, String activity, DayOfWeek day, LocalTime time) {
+        Section section = new Section(name, activity, course);
+        section.addTimeslot(new Timeslot(1, day, time, time.plusHours(1)));
+        course.addSection(section);
+        return section;
+    }
 }
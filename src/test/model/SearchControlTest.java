@@ -0,0 +1,43 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchControlTest {
+
+    @Test
+    public void testNoLimit() {
+        SearchControl control = new SearchControl();
+        assertFalse(control.isCancelled());
+        assertFalse(control.shouldStop());
+        assertFalse(control.isStopped());
+    }
+
+    @Test
+    public void testCancel() {
+        SearchControl control = new SearchControl();
+        control.cancel();
+        assertTrue(control.isCancelled());
+        assertFalse(control.isStopped());
+        assertTrue(control.shouldStop());
+        assertTrue(control.isStopped());
+    }
+
+    @Test
+    public void testTimeLimitNotReached() {
+        SearchControl control = new SearchControl(Duration.ofHours(1));
+        assertFalse(control.shouldStop());
+        assertFalse(control.isStopped());
+    }
+
+    @Test
+    public void testTimeLimitReached() {
+        SearchControl control = new SearchControl(Duration.ZERO);
+        assertTrue(control.shouldStop());
+        assertTrue(control.isStopped());
+        assertFalse(control.isCancelled());
+    }
+}
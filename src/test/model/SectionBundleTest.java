@@ -0,0 +1,69 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionBundleTest {
+    private Course courseA;
+    private Course courseB;
+    private Section lectureA;
+    private Section labA;
+    private SectionBundle bundleA;
+
+    @BeforeEach
+    public void setup() {
+        courseA = new Course("A", true);
+        courseB = new Course("B", true);
+        lectureA = makeSection(courseA, "101", "Lecture", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        labA = makeSection(courseA, "L1", "Laboratory", LocalTime.of(14, 0), LocalTime.of(15, 50));
+        bundleA = new SectionBundle(lectureA, labA);
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(2, bundleA.size());
+        assertSame(lectureA, bundleA.getSection(0));
+        assertSame(labA, bundleA.getSection(1));
+        assertEquals(courseA, bundleA.getCourse());
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(bundleA.contains(lectureA));
+        assertTrue(bundleA.contains(labA));
+        assertFalse(bundleA.contains(new Section("101", courseA)));
+    }
+
+    @Test
+    public void testOverlaps() {
+        Section lectureB = makeSection(courseB, "101", "Lecture", LocalTime.of(11, 0), LocalTime.of(12, 0));
+        Section labB = makeSection(courseB, "L1", "Laboratory", LocalTime.of(15, 0), LocalTime.of(16, 0));
+        Section otherLabB = makeSection(courseB, "L2", "Laboratory", LocalTime.of(16, 0), LocalTime.of(17, 0));
+
+        assertTrue(bundleA.overlaps(new SectionBundle(lectureB, labB)));
+        assertTrue(new SectionBundle(labB).overlaps(bundleA));
+        assertFalse(bundleA.overlaps(new SectionBundle(lectureB, otherLabB)));
+    }
+
+    @Test
+    public void testOverlapsInexactOccupancy() {
+        // 15:55 shares an occupancy block with the end of L1 at 15:50 without overlapping it
+        Section lectureB = makeSection(courseB, "101", "Lecture", LocalTime.of(15, 55), LocalTime.of(16, 30));
+        assertFalse(bundleA.overlaps(new SectionBundle(lectureB)));
+
+        Section otherLectureB = makeSection(courseB, "102", "Lecture", LocalTime.of(15, 45), LocalTime.of(16, 30));
+        assertTrue(bundleA.overlaps(new SectionBundle(otherLectureB)));
+    }
+
+    private Section makeSection(Course course, String name, String activity, LocalTime start, LocalTime end) {
+        Section section = new Section(name, activity, course);
+        section.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, start, end));
+        course.addSection(section);
+        return section;
+    }
+}
@@ -0,0 +1,192 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionIndexTest {
+    private List<Course> courses;
+    private Course courseA;
+    private Course courseB;
+    private Course courseC;
+
+    @BeforeEach
+    public void setup() {
+        courseA = new Course("A", false);
+        courseB = new Course("B", true);
+        courseC = new Course("C", true);
+        TestCourses.addSection(courseA, "2", LocalTime.of(9, 0));
+        TestCourses.addSection(courseA, "1", LocalTime.of(10, 0));
+        TestCourses.addSection(courseB, "1", LocalTime.of(9, 30));
+        TestCourses.addSection(courseC, "1", LocalTime.of(12, 0));
+
+        courses = new ArrayList<>();
+        courses.add(courseA);
+        courses.add(courseC);
+        courses.add(courseB);
+    }
+
+    @Test
+    public void testOrdering() {
+        SectionIndex index = new SectionIndex(courses);
+        assertEquals(3, index.numCourses());
+        assertEquals(2, index.numRequired());
+        assertEquals(4, index.numBundles());
+        assertEquals(courseB, index.getCourse(0));
+        assertEquals(courseC, index.getCourse(1));
+        assertEquals(courseA, index.getCourse(2));
+        assertEquals(2, index.firstBundle(2));
+        assertEquals(4, index.endBundle(2));
+        assertEquals("1", index.getBundle(2).getSection(0).getName());
+        assertEquals("2", index.getBundle(3).getSection(0).getName());
+    }
+
+    @Test
+    public void testConflicts() {
+        SectionIndex index = new SectionIndex(courses);
+        // B1 9:30-10:30 conflicts with A1 10:00-11:00 and A2 9:00-10:00, but not with C1 12:00-13:00
+        assertTrue(index.conflicts(0, 2));
+        assertTrue(index.conflicts(3, 0));
+        assertFalse(index.conflicts(0, 1));
+        assertFalse(index.conflicts(1, 2));
+        // sections of the same course are never marked
+        assertFalse(index.conflicts(2, 3));
+    }
+
+    @Test
+    public void testRemoveConflicts() {
+        SectionIndex index = new SectionIndex(courses);
+        long[] all = index.allBundles();
+        long[] remaining = index.newBundleSet();
+        index.removeConflicts(all, 0, remaining);
+
+        assertTrue(SectionIndex.contains(remaining, 0));
+        assertTrue(SectionIndex.contains(remaining, 1));
+        assertFalse(SectionIndex.contains(remaining, 2));
+        assertFalse(SectionIndex.contains(remaining, 3));
+    }
+
+    @Test
+    public void testNextBundle() {
+        long[] set = new long[3];
+        set[0] = 1L << 5;
+        set[2] = 1L << 1;
+        assertEquals(5, SectionIndex.nextBundle(set, 0, 150));
+        assertEquals(5, SectionIndex.nextBundle(set, 5, 150));
+        assertEquals(129, SectionIndex.nextBundle(set, 6, 150));
+        assertEquals(100, SectionIndex.nextBundle(set, 6, 100));
+        assertEquals(5, SectionIndex.nextBundle(set, 5, 5));
+    }
+
+    @Test
+    public void testCountBundles() {
+        long[] set = new long[3];
+        set[0] = (1L << 5) | (1L << 63);
+        set[1] = -1L;
+        set[2] = 1L << 1;
+        assertEquals(67, SectionIndex.countBundles(set, 0, 150));
+        assertEquals(1, SectionIndex.countBundles(set, 6, 64));
+        assertEquals(3, SectionIndex.countBundles(set, 63, 66));
+        assertEquals(0, SectionIndex.countBundles(set, 6, 6));
+    }
+
+    @Test
+    public void testMostConstrainedCourse() {
+        SectionIndex index = new SectionIndex(courses);
+        boolean[] decided = new boolean[3];
+        long[] all = index.allBundles();
+        // B and C both have one section left, and required courses come before A
+        assertEquals(0, index.mostConstrainedCourse(all, decided, 0, 3));
+        decided[0] = true;
+        long[] remaining = index.newBundleSet();
+        index.removeConflicts(all, 0, remaining);
+        assertEquals(1, index.mostConstrainedCourse(remaining, decided, 1, 3));
+        decided[1] = true;
+        assertEquals(2, index.mostConstrainedCourse(all, decided, 2, 3));
+        // B1 removed every section of A, so A can not be the third course
+        assertEquals(SectionIndex.NO_COURSE, index.mostConstrainedCourse(remaining, decided, 2, 3));
+    }
+
+    @Test
+    public void testMostConstrainedCourseRequiredDeadEnd() {
+        SectionIndex index = new SectionIndex(courses);
+        long[] withoutC = index.allBundles();
+        withoutC[0] &= ~(1L << 1);
+        assertEquals(SectionIndex.NO_COURSE, index.mostConstrainedCourse(withoutC, new boolean[3], 0, 2));
+    }
+
+    @Test
+    public void testCanLeaveOut() {
+        SectionIndex index = new SectionIndex(courses);
+        assertFalse(index.canLeaveOut(0, 0, 0, 2));
+        assertTrue(index.canLeaveOut(2, 0, 0, 2));
+        assertTrue(index.canLeaveOut(2, 2, 2, 2));
+        assertFalse(index.canLeaveOut(2, 2, 1, 3));
+    }
+
+    @Test
+    public void testBundlesContainingAndCourseOf() {
+        SectionIndex index = new SectionIndex(courses);
+        assertEquals(Collections.singletonList(0), index.bundlesContaining(courseB.getSectionByName("1")));
+        assertEquals(Collections.singletonList(3), index.bundlesContaining(courseA.getSectionByName("2")));
+        assertTrue(index.bundlesContaining(new Section("1", courseA)).isEmpty());
+        assertEquals(0, index.courseOf(0));
+        assertEquals(1, index.courseOf(1));
+        assertEquals(2, index.courseOf(2));
+        assertEquals(2, index.courseOf(3));
+    }
+
+    @Test
+    public void testBundlesWithActivities() {
+        Section lab1 = TestCourses.addSection(courseC, "L1", "Laboratory", LocalTime.of(12, 30));
+        Section lab2 = TestCourses.addSection(courseC, "L2", "Laboratory", LocalTime.of(9, 0));
+        SectionIndex index = new SectionIndex(courses);
+
+        // C1 12:00-13:00 conflicts with L1, so C only has the bundle C1 + L2
+        assertEquals(4, index.numBundles());
+        assertEquals(1, index.endBundle(1) - index.firstBundle(1));
+        SectionBundle bundle = index.getBundle(1);
+        assertEquals(2, bundle.size());
+        assertTrue(bundle.contains(courseC.getSectionByName("1")));
+        assertTrue(bundle.contains(lab2));
+        assertTrue(index.bundlesContaining(lab1).isEmpty());
+        // L2 9:00-10:00 conflicts with B1 9:30-10:30 and A2 9:00-10:00
+        assertTrue(index.conflicts(0, 1));
+        assertTrue(index.conflicts(1, 3));
+        assertFalse(index.conflicts(1, 2));
+    }
+
+    @Test
+    public void testRemove() {
+        SectionIndex index = new SectionIndex(courses);
+        long[] set = index.allBundles();
+        SectionIndex.remove(set, 2);
+        assertTrue(SectionIndex.contains(set, 1));
+        assertFalse(SectionIndex.contains(set, 2));
+        SectionIndex.remove(set, 2);
+        assertFalse(SectionIndex.contains(set, 2));
+    }
+
+    @Test
+    public void testEmpty() {
+        SectionIndex index = new SectionIndex(new ArrayList<>());
+        assertEquals(0, index.numCourses());
+        assertEquals(0, index.numBundles());
+        assertEquals(0, index.allBundles().length);
+    }
+
+    @Test
+    public void testToSchedule() {
+        SectionIndex index = new SectionIndex(courses);
+        Schedule schedule = index.toSchedule(new int[]{0, 1, 3}, 2);
+        assertEquals(2, schedule.numSections());
+        assertTrue(schedule.containsSection(index.getBundle(0).getSection(0)));
+        assertTrue(schedule.containsSection(index.getBundle(1).getSection(0)));
+    }
+}
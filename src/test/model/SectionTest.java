@@ -1,12 +1,11 @@
 package model;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,7 +23,7 @@ public class SectionTest {
 
         testCourse = new Course("A", false);
         testSection = new Section("001", testCourse);
-        testTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one, testSection);
+        testTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one);
     }
 
     @Test
@@ -34,6 +33,25 @@ public class SectionTest {
 
         Section emptyName = new Section("", testCourse);
         assertEquals("New Section", emptyName.getName());
+        assertEquals(Section.DEFAULT_ACTIVITY, testSection.getActivity());
+    }
+
+    @Test
+    public void testConstructorWithActivity() {
+        Section lab = new Section("L1A", "Laboratory", testCourse);
+        assertEquals("L1A", lab.getName());
+        assertEquals("Laboratory", lab.getActivity());
+
+        Section noActivity = new Section("002", "", testCourse);
+        assertEquals(Section.DEFAULT_ACTIVITY, noActivity.getActivity());
+    }
+
+    @Test
+    public void testSetActivity() {
+        testSection.setActivity("Tutorial");
+        assertEquals("Tutorial", testSection.getActivity());
+        testSection.setActivity("");
+        assertEquals(Section.DEFAULT_ACTIVITY, testSection.getActivity());
     }
 
     @Test
@@ -56,7 +74,7 @@ public class SectionTest {
     @Test
     public void testNumTimeslotsMany() {
         for (int i = 1; i < 5; i++) {
-            Timeslot timeslot = new Timeslot(2, DayOfWeek.of(i), twelve, one, testSection);
+            Timeslot timeslot = new Timeslot(2, DayOfWeek.of(i), twelve, one);
             testSection.addTimeslot(timeslot);
         }
         assertEquals(4, testSection.numTimeslots());
@@ -69,7 +87,7 @@ public class SectionTest {
 
     @Test
     public void testContainsTimeslotDifferent() {
-        Timeslot otherTime = new Timeslot(2, DayOfWeek.MONDAY, twelve, one.plusMinutes(30), testSection);
+        Timeslot otherTime = new Timeslot(2, DayOfWeek.MONDAY, twelve, one.plusMinutes(30));
         testSection.addTimeslot(testTime);
 
         assertFalse(testSection.containsTimeslot(otherTime));
@@ -95,7 +113,7 @@ public class SectionTest {
     @Test
     public void testAddTimeslotIdentical() {
         assertTrue(testSection.addTimeslot(testTime));
-        Timeslot sameTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one, testSection);
+        Timeslot sameTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one);
         assertFalse(testSection.addTimeslot(sameTime));
 
         assertTrue(testSection.containsTimeslot(testTime));
@@ -105,7 +123,7 @@ public class SectionTest {
     @Test
     public void testAddTimeslotOverlap() {
         assertTrue(testSection.addTimeslot(testTime));
-        Timeslot overlappingTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one.plusMinutes(30), testSection);
+        Timeslot overlappingTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one.plusMinutes(30));
         assertFalse(testSection.addTimeslot(overlappingTime));
 
         assertTrue(testSection.containsTimeslot(testTime));
@@ -115,7 +133,7 @@ public class SectionTest {
     @Test
     public void testAddTimeslotNoOverlap() {
         assertTrue(testSection.addTimeslot(testTime));
-        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, twelve.minusHours(1), twelve, testSection);
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, twelve.minusHours(1), twelve);
         assertTrue(testSection.addTimeslot(otherTime));
 
         assertTrue(testSection.containsTimeslot(testTime));
@@ -139,7 +157,7 @@ public class SectionTest {
     @Test
     public void testDeleteTimeslotIdentical() {
         testSection.addTimeslot(testTime);
-        Timeslot sameTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one, testSection);
+        Timeslot sameTime = new Timeslot(1, DayOfWeek.MONDAY, twelve, one);
         assertTrue(testSection.deleteTimeslot(sameTime));
         assertEquals(0, testSection.numTimeslots());
     }
@@ -147,7 +165,7 @@ public class SectionTest {
     @Test
     public void testDeleteTimeslotDifferent() {
         testSection.addTimeslot(testTime);
-        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.of(14, 0), testSection);
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.of(14, 0));
         assertFalse(testSection.deleteTimeslot(otherTime));
         assertEquals(1, testSection.numTimeslots());
     }
@@ -162,7 +180,7 @@ public class SectionTest {
     public void testOverlapDifferentTime() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.of(14, 0), s);
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.of(14, 0));
         s.addTimeslot(t);
         assertFalse(testSection.overlaps(s));
     }
@@ -171,7 +189,7 @@ public class SectionTest {
     public void testOverlapOverlappingTime() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, twelve, LocalTime.of(14, 0), s);
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, twelve, LocalTime.of(14, 0));
         s.addTimeslot(t);
         assertTrue(testSection.overlaps(s));
     }
@@ -180,7 +198,7 @@ public class SectionTest {
     public void testOverlapDifferentDay() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t = new Timeslot(1, DayOfWeek.TUESDAY, twelve, one, s);
+        Timeslot t = new Timeslot(1, DayOfWeek.TUESDAY, twelve, one);
         s.addTimeslot(t);
         assertFalse(testSection.overlaps(s));
     }
@@ -189,7 +207,7 @@ public class SectionTest {
     public void testOverlapDifferentTerm() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t = new Timeslot(2, DayOfWeek.MONDAY, twelve, one, s);
+        Timeslot t = new Timeslot(2, DayOfWeek.MONDAY, twelve, one);
         s.addTimeslot(t);
         assertFalse(testSection.overlaps(s));
     }
@@ -198,8 +216,8 @@ public class SectionTest {
     public void testOverlapManyTimeslotsNoOverlap() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t1 = new Timeslot(1, DayOfWeek.TUESDAY, twelve, one, s);
-        Timeslot t2 = new Timeslot(1, DayOfWeek.THURSDAY, twelve, one, s);
+        Timeslot t1 = new Timeslot(1, DayOfWeek.TUESDAY, twelve, one);
+        Timeslot t2 = new Timeslot(1, DayOfWeek.THURSDAY, twelve, one);
         s.addTimeslot(t1);
         s.addTimeslot(t2);
         assertFalse(testSection.overlaps(s));
@@ -209,8 +227,8 @@ public class SectionTest {
     public void testOverlapManyTimeslotsOneOverlap() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(11, 0), one, s);
-        Timeslot t2 = new Timeslot(1, DayOfWeek.WEDNESDAY, LocalTime.of(11, 0), one, s);
+        Timeslot t1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(11, 0), one);
+        Timeslot t2 = new Timeslot(1, DayOfWeek.WEDNESDAY, LocalTime.of(11, 0), one);
         s.addTimeslot(t1);
         s.addTimeslot(t2);
         assertTrue(testSection.overlaps(s));
@@ -220,15 +238,70 @@ public class SectionTest {
     public void testOverlapManyTimeslotsManyOverlaps() {
         testSection.addTimeslot(testTime);
         Section s = new Section("002", testCourse);
-        Timeslot t1 = new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one, testSection);
-        Timeslot t2 = new Timeslot(1, DayOfWeek.MONDAY, twelve, LocalTime.of(14, 0), s);
-        Timeslot t3 = new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, LocalTime.of(14, 0), s);
+        Timeslot t1 = new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one);
+        Timeslot t2 = new Timeslot(1, DayOfWeek.MONDAY, twelve, LocalTime.of(14, 0));
+        Timeslot t3 = new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, LocalTime.of(14, 0));
         testSection.addTimeslot(t1);
         s.addTimeslot(t2);
         s.addTimeslot(t3);
         assertTrue(testSection.overlaps(s));
     }
 
+    @Test
+    public void testOverlapOffGridTimesNoOverlap() {
+        Section s1 = new Section("002", testCourse);
+        s1.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(10, 50)));
+        Section s2 = new Section("003", testCourse);
+        s2.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(10, 55), LocalTime.of(11, 45)));
+        assertFalse(s1.overlaps(s2));
+        assertFalse(s2.overlaps(s1));
+    }
+
+    @Test
+    public void testOverlapOffGridTimesOverlap() {
+        Section s1 = new Section("002", testCourse);
+        s1.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(10, 50)));
+        Section s2 = new Section("003", testCourse);
+        s2.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(10, 45), LocalTime.of(11, 45)));
+        assertTrue(s1.overlaps(s2));
+    }
+
+    @Test
+    public void testOverlapAfterDeleteTimeslot() {
+        testSection.addTimeslot(testTime);
+        Section s = new Section("002", testCourse);
+        Timeslot t = new Timeslot(1, DayOfWeek.MONDAY, twelve, one);
+        s.addTimeslot(t);
+        assertTrue(testSection.overlaps(s));
+
+        s.deleteTimeslot(t);
+        assertFalse(testSection.overlaps(s));
+    }
+
+    @Test
+    public void testSameTimesShareTimeslots() {
+        testSection.addTimeslot(testTime);
+        Section s = new Section("002", testCourse);
+        s.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, twelve, one));
+        assertSame(testSection.getTimeslots(), s.getTimeslots());
+        assertTrue(testSection.overlaps(s));
+
+        s.addTimeslot(new Timeslot(1, DayOfWeek.FRIDAY, twelve, one));
+        assertNotSame(testSection.getTimeslots(), s.getTimeslots());
+        assertEquals(1, testSection.numTimeslots());
+    }
+
+    @Test
+    public void testGetTimeslotsUnchangedByEdits() {
+        testSection.addTimeslot(testTime);
+        Set<Timeslot> before = testSection.getTimeslots();
+        testSection.addTimeslot(new Timeslot(1, DayOfWeek.FRIDAY, twelve, one));
+        testSection.deleteTimeslot(testTime);
+        assertEquals(1, before.size());
+        assertTrue(before.contains(testTime));
+        assertThrows(UnsupportedOperationException.class, () -> before.remove(testTime));
+    }
+
     @Test
     public void testToString() {
         assertEquals("A 001", testSection.toString());
@@ -237,15 +310,15 @@ public class SectionTest {
     @Test
     public void testScheduleRepresentationSameDay() {
         testSection.addTimeslot(testTime);
-        testSection.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one, testSection));
+        testSection.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one));
         assertEquals("A 001: Term 1 12:00-13:00 MW\t", testSection.scheduleRepresentation());
     }
 
     @Test
     public void testScheduleRepresentationDifferentDay() {
         testSection.addTimeslot(testTime);
-        testSection.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one, testSection));
-        testSection.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.parse("14:00"), testSection));
+        testSection.addTimeslot(new Timeslot(1, DayOfWeek.WEDNESDAY, twelve, one));
+        testSection.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, one, LocalTime.parse("14:00")));
         String result = testSection.scheduleRepresentation();
         boolean res1 = result.equals("A 001: Term 1 13:00-14:00 M\tTerm 1 12:00-13:00 MW\t");
         boolean res2 = result.equals("A 001: Term 1 12:00-13:00 MW\tTerm 1 13:00-14:00 M\t");
@@ -255,7 +328,7 @@ public class SectionTest {
     @Test
     public void testScheduleRepresentationDifferentTerm() {
         testSection.addTimeslot(testTime);
-        testSection.addTimeslot(new Timeslot(2, DayOfWeek.WEDNESDAY, twelve, one, testSection));
+        testSection.addTimeslot(new Timeslot(2, DayOfWeek.WEDNESDAY, twelve, one));
         String result = testSection.scheduleRepresentation();
         boolean res1 = result.equals("A 001: Term 2 12:00-13:00 W\tTerm 1 12:00-13:00 M\t");
         boolean res2 = result.equals("A 001: Term 1 12:00-13:00 M\tTerm 2 12:00-13:00 W\t");
@@ -266,36 +339,13 @@ public class SectionTest {
     public void testScheduleRepresentationDaysOfWeek() {
         for (int i = 1; i <= 7; i++) {
             DayOfWeek day = DayOfWeek.of(i);
-            Timeslot t = new Timeslot(1, day, twelve, one, testSection);
+            Timeslot t = new Timeslot(1, day, twelve, one);
             testSection.addTimeslot(t);
             assertEquals("A 001: Term 1 12:00-13:00 " + testSection.getAbbreviation(day) + "\t", testSection.scheduleRepresentation());
             testSection.deleteTimeslot(t);
         }
     }
 
-    @Test
-    public void testToJsonEmptyTimes() {
-        JSONObject json = testSection.toJson();
-        assertEquals("001", json.get("name"));
-        JSONArray times = json.getJSONArray("times");
-        assertEquals(0, times.length());
-    }
-
-    @Test
-    public void testToJson() {
-        testSection.addTimeslot(testTime);
-        JSONObject json = testSection.toJson();
-        assertEquals("001", json.get("name"));
-        JSONArray times = json.getJSONArray("times");
-        assertEquals(1, times.length());
-
-        JSONObject time = times.getJSONObject(0);
-        assertEquals(1, time.get("term"));
-        assertEquals(DayOfWeek.MONDAY, time.get("day"));
-        assertEquals(LocalTime.parse("12:00"), time.get("start"));
-        assertEquals(LocalTime.parse("13:00"), time.get("end"));
-    }
-
     @Test
     public void testEquals() {
         Section section1 = new Section("001", testCourse);
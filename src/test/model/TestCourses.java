@@ -0,0 +1,72 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+    Builds the courses shared by the model tests, whose sections each meet for one hour on Monday of term 1
+*/
+final class TestCourses {
+
+    private TestCourses() {
+    }
+
+    // EFFECTS: returns a course called name with a lecture section for each of startHours, named "1", "2", ... in
+    //          that order, that starts at that hour
+    static Course course(String name, boolean required, int... startHours) {
+        Course course = new Course(name, required);
+        for (int i = 0; i < startHours.length; i++) {
+            addSection(course, Integer.toString(i + 1), LocalTime.of(startHours[i], 0));
+        }
+        return course;
+    }
+
+    // EFFECTS: returns an index of a required course A with sections at 9:00 and 10:00 and an elective B with
+    //          sections at 11:00 and 12:00, whose bundles are A1, A2, B1, B2 numbered 0 to 3, and none of which clash
+    static SectionIndex twoCourseIndex() {
+        return new SectionIndex(Arrays.asList(course("A", true, 9, 10), course("B", false, 11, 12)));
+    }
+
+    // EFFECTS: returns numCourses electives called "C0", "C1", ... with sections "S0", "S1", ... at the same
+    //          numSections hours from 8:00, so that every section clashes with one in each other course
+    static List<Course> crowdedElectives(int numCourses, int numSections) {
+        List<Course> crowded = new ArrayList<>();
+        for (int c = 0; c < numCourses; c++) {
+            Course course = new Course("C" + c, false);
+            for (int h = 0; h < numSections; h++) {
+                addSection(course, "S" + h, LocalTime.of(8 + h, 0));
+            }
+            crowded.add(course);
+        }
+        return crowded;
+    }
+
+    // MODIFIES: course
+    // EFFECTS: adds a lecture section called name that starts at start to course, and returns it
+    static Section addSection(Course course, String name, LocalTime start) {
+        return addSection(course, name, Section.DEFAULT_ACTIVITY, start);
+    }
+
+    // MODIFIES: course
+    // EFFECTS: adds a section called name for activity that starts at start to course, and returns it
+    static Section addSection(Course course, String name, String activity, LocalTime start) {
+        Section section = new Section(name, activity, course);
+        section.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, start, start.plusHours(1)));
+        course.addSection(section);
+        return section;
+    }
+
+    // EFFECTS: returns the sections of schedule
+    static Set<Section> sectionsOf(Schedule schedule) {
+        Set<Section> sections = new HashSet<>();
+        for (Section s : schedule) {
+            sections.add(s);
+        }
+        return sections;
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimePatternTest {
+    private static final Timeslot MON = slot(DayOfWeek.MONDAY, 10);
+    private static final Timeslot WED = slot(DayOfWeek.WEDNESDAY, 10);
+    private static final Timeslot FRI = slot(DayOfWeek.FRIDAY, 10);
+
+    @Test
+    public void testEmpty() {
+        assertTrue(TimePattern.EMPTY.isEmpty());
+        assertEquals(0, TimePattern.EMPTY.getOccupancy().length);
+        assertTrue(TimePattern.EMPTY.isExact());
+    }
+
+    @Test
+    public void testWithSharesPattern() {
+        TimePattern p1 = TimePattern.EMPTY.with(FRI).with(MON).with(WED);
+        TimePattern p2 = TimePattern.EMPTY.with(slot(DayOfWeek.WEDNESDAY, 10)).with(slot(DayOfWeek.MONDAY, 10))
+                .with(slot(DayOfWeek.FRIDAY, 10));
+        assertSame(p1, p2);
+        assertEquals(3, p1.size());
+        assertNotSame(p1, TimePattern.EMPTY.with(MON).with(WED));
+    }
+
+    @Test
+    public void testWithSharesTimeslots() {
+        Timeslot copy = slot(DayOfWeek.MONDAY, 10);
+        TimePattern p1 = TimePattern.EMPTY.with(MON);
+        TimePattern p2 = TimePattern.EMPTY.with(copy).with(slot(DayOfWeek.TUESDAY, 15));
+        assertSame(p1.iterator().next(), p2.iterator().next());
+    }
+
+    @Test
+    public void testWithExisting() {
+        TimePattern p = TimePattern.EMPTY.with(MON);
+        assertSame(p, p.with(slot(DayOfWeek.MONDAY, 10)));
+    }
+
+    @Test
+    public void testWithout() {
+        TimePattern p = TimePattern.EMPTY.with(MON).with(WED);
+        assertSame(TimePattern.EMPTY.with(WED), p.without(slot(DayOfWeek.MONDAY, 10)));
+        assertSame(p, p.without(FRI));
+        assertSame(TimePattern.EMPTY, p.without(MON).without(WED));
+    }
+
+    @Test
+    public void testOrderAndContains() {
+        Timeslot term2 = new Timeslot(2, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        TimePattern p = TimePattern.EMPTY.with(term2).with(FRI).with(MON);
+        assertEquals(Arrays.asList(MON, FRI, term2), Arrays.asList(p.toArray()));
+        assertTrue(p.contains(slot(DayOfWeek.FRIDAY, 10)));
+        assertFalse(p.contains(WED));
+        assertFalse(p.contains("MONDAY"));
+        assertEquals(MON, p.get(0));
+        assertEquals(term2, p.get(2));
+    }
+
+    @Test
+    public void testOccupancy() {
+        TimePattern p = TimePattern.EMPTY.with(MON).with(WED);
+        assertArrayEquals(Occupancy.add(Occupancy.add(Occupancy.empty(), MON), WED), p.getOccupancy());
+        assertTrue(p.isExact());
+        Timeslot offGrid = new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(9, 50));
+        assertFalse(p.with(offGrid).isExact());
+        assertTrue(p.with(offGrid).without(offGrid).isExact());
+    }
+
+    @Test
+    public void testEqualsOtherSets() {
+        TimePattern p = TimePattern.EMPTY.with(MON).with(WED);
+        HashSet<Timeslot> set = new HashSet<>(Arrays.asList(slot(DayOfWeek.WEDNESDAY, 10), MON));
+        assertEquals(set, p);
+        assertEquals(p, set);
+        assertEquals(set.hashCode(), p.hashCode());
+        assertNotEquals(p, p.with(FRI));
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        TimePattern p = TimePattern.EMPTY.with(MON);
+        assertThrows(UnsupportedOperationException.class, () -> p.add(WED));
+        Iterator<Timeslot> it = p.iterator();
+        it.next();
+        assertThrows(UnsupportedOperationException.class, it::remove);
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    private static Timeslot slot(DayOfWeek day, int hour) {
+        return new Timeslot(1, day, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0));
+    }
+}
@@ -1,6 +1,5 @@
 package model;
 
-import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -22,30 +21,23 @@ public class TimeslotTest {
         testSection = new Section("001", testCourse);
         start = LocalTime.of(13,0);
         end = LocalTime.of(14, 0);
-        testTime = new Timeslot(1, DayOfWeek.MONDAY, start, end, testSection);
+        testTime = new Timeslot(1, DayOfWeek.MONDAY, start, end);
         testCourse.addSection(testSection);
         testSection.addTimeslot(testTime);
     }
 
     @Test
     public void testConstructor() {
-        Timeslot t = new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(12, 30), LocalTime.of(14, 0), testSection);
+        Timeslot t = new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.of(12, 30), LocalTime.of(14, 0));
         assertEquals(1, t.getTerm());
         assertEquals(DayOfWeek.TUESDAY, t.getDayOfWeek());
         assertEquals(LocalTime.of(12, 30), t.getStartTime());
         assertEquals(LocalTime.of(14, 0), t.getEndTime());
-        assertEquals(testSection, t.getSection());
-    }
-
-    @Test
-    public void testGetCourse() {
-        Course result = testTime.getCourse();
-        assertEquals(testCourse, result);
     }
 
     @Test
     public void testOverlapsExact() {
-        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start, end);
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertTrue(overlaps);
@@ -53,7 +45,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsSameStart() {
-        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start, end.plusMinutes(30), testSection);
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start, end.plusMinutes(30));
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertTrue(overlaps);
@@ -61,7 +53,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsSameEnd() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end);
         boolean overlaps = otherTime.overlaps(testTime);
 
         assertTrue(overlaps);
@@ -69,7 +61,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsContains() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end.plusHours(1), testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end.plusHours(1));
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertTrue(overlaps);
@@ -77,7 +69,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsOverlap() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end.minusMinutes(30), testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), end.minusMinutes(30));
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertTrue(overlaps);
@@ -85,7 +77,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsDifferentTerm() {
-        Timeslot otherTime = new Timeslot(2,DayOfWeek.MONDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(2,DayOfWeek.MONDAY, start, end);
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertFalse(overlaps);
@@ -93,7 +85,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsDifferentDay() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.THURSDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.THURSDAY, start, end);
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertFalse(overlaps);
@@ -101,7 +93,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsBoundaryOverlap() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(12, 0), start);
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertFalse(overlaps);
@@ -109,7 +101,7 @@ public class TimeslotTest {
 
     @Test
     public void testOverlapsNoOverlap() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10,0), testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10,0));
         boolean overlaps = testTime.overlaps(otherTime);
 
         assertFalse(overlaps);
@@ -122,38 +114,37 @@ public class TimeslotTest {
 
     @Test
     public void testEqualsEqual() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end);
         assertTrue(testTime.equals(otherTime));
     }
 
     @Test
     public void testEqualsDifferentTerm() {
-        Timeslot otherTime = new Timeslot(2,DayOfWeek.MONDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(2,DayOfWeek.MONDAY, start, end);
         assertFalse(testTime.equals(otherTime));
     }
 
     @Test
     public void testEqualsDifferentDay() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, start, end, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.WEDNESDAY, start, end);
         assertFalse(testTime.equals(otherTime));
     }
 
     @Test
     public void testEqualsDifferentStart() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start.minusMinutes(30), end, testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start.minusMinutes(30), end);
         assertFalse(testTime.equals(otherTime));
     }
 
     @Test
     public void testEqualsDifferentEnd() {
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end.plusMinutes(30), testSection);
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end.plusMinutes(30));
         assertFalse(testTime.equals(otherTime));
     }
 
     @Test
-    public void testEqualsDifferentSection() {
-        Section otherSection = new Section("002", testCourse);
-        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end, otherSection);
+    public void testEqualsSeparatelyConstructed() {
+        Timeslot otherTime = new Timeslot(1,DayOfWeek.MONDAY, start, end);
         assertTrue(testTime.equals(otherTime));
     }
 
@@ -170,22 +161,46 @@ public class TimeslotTest {
 
     @Test
     public void testGetDurationManyHours() {
-        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start.minusMinutes(90), end, testSection);
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, start.minusMinutes(90), end);
         assertEquals(5, otherTime.getDuration());
     }
 
     @Test
-    public void testToString() {
-        assertEquals("Term 1 MONDAY 13:00-14:00", testTime.toString());
+    public void testGetDurationPartInterval() {
+        Timeslot otherTime = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 50));
+        assertEquals(2, otherTime.getDuration());
+        assertEquals(50, otherTime.getDurationMinutes());
+        otherTime = new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.of(15, 30), LocalTime.of(16, 50));
+        assertEquals(3, otherTime.getDuration());
+        assertEquals(80, otherTime.getDurationMinutes());
     }
 
     @Test
-    public void testToJson() {
-        JSONObject json = testTime.toJson();
-        assertEquals(1, json.get("term"));
-        assertEquals(DayOfWeek.MONDAY, json.get("day"));
-        assertEquals(LocalTime.parse("13:00"), json.get("start"));
-        assertEquals(LocalTime.parse("14:00"), json.get("end"));
+    public void testOffBoundaryTimes() {
+        Timeslot t = new Timeslot(2, DayOfWeek.SUNDAY, LocalTime.of(8, 5), LocalTime.of(23, 59));
+        assertEquals(DayOfWeek.SUNDAY, t.getDayOfWeek());
+        assertEquals(LocalTime.of(8, 5), t.getStartTime());
+        assertEquals(LocalTime.of(23, 59), t.getEndTime());
+        assertEquals("Term 2 SUNDAY 08:05-23:59", t.toString());
+        assertEquals(6 * 24 * 60 + 8 * 60 + 5, t.getStartMinute());
+        assertEquals(7 * 24 * 60 - 1, t.getEndMinute());
+    }
+
+    @Test
+    public void testOverlapsOffBoundaryTimes() {
+        Timeslot before = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(12, 10), LocalTime.of(13, 0));
+        Timeslot into = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(12, 10), LocalTime.of(13, 1));
+        Timeslot after = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.of(13, 59), LocalTime.of(14, 20));
+        assertFalse(testTime.overlaps(before));
+        assertTrue(testTime.overlaps(into));
+        assertTrue(into.overlaps(testTime));
+        assertTrue(testTime.overlaps(after));
+        assertTrue(after.overlaps(testTime));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("Term 1 MONDAY 13:00-14:00", testTime.toString());
     }
 
 }
@@ -0,0 +1,121 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryReaderTest {
+    private Path path;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        path = Files.createTempFile("binaryReaderTest", ".bin");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testOpenInvalidFile() {
+        try {
+            BinaryReader reader = new BinaryReader("./data/someFile.bin");
+            reader.read();
+            fail("IOException was expected but not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadJsonFile() {
+        BinaryReader reader = new BinaryReader("./data/TestReaderGeneralCourseList.json");
+        assertThrows(IOException.class, reader::read);
+    }
+
+    @Test
+    public void testReadOtherVersion() throws IOException {
+        byte[] bytes = catalogBytes();
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES, BinaryFormat.VERSION + 1);
+        Files.write(path, bytes);
+        BinaryReader reader = new BinaryReader(path.toString());
+        assertThrows(IOException.class, reader::read);
+    }
+
+    @Test
+    public void testReadTruncated() throws IOException {
+        byte[] bytes = catalogBytes();
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = new byte[length];
+            System.arraycopy(bytes, 0, truncated, 0, length);
+            Files.write(path, truncated);
+            BinaryReader reader = new BinaryReader(path.toString());
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    @Test
+    public void testReadCorruptRecord() throws IOException {
+        byte[] bytes = catalogBytes();
+        int courseRecord = (BinaryFormat.HEADER_INTS + ByteBuffer.wrap(bytes).getInt(2 * Integer.BYTES) + 1)
+                * Integer.BYTES;
+        ByteBuffer.wrap(bytes).putInt(courseRecord + 3 * Integer.BYTES, 100);
+        Files.write(path, bytes);
+        BinaryReader reader = new BinaryReader(path.toString());
+        assertThrows(IOException.class, reader::read);
+    }
+
+    @Test
+    public void testReadTimeslotEndingBeforeStart() throws IOException {
+        byte[] bytes = catalogBytes();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int timeslots = (BinaryFormat.HEADER_INTS + buffer.getInt(2 * Integer.BYTES) + 1
+                + buffer.getInt(3 * Integer.BYTES) * BinaryFormat.COURSE_INTS
+                + buffer.getInt(4 * Integer.BYTES) * BinaryFormat.SECTION_INTS) * Integer.BYTES;
+        int start = buffer.getInt(timeslots + Integer.BYTES);
+        for (int end : new int[]{start, start - 30}) {
+            buffer.putInt(timeslots + 2 * Integer.BYTES, end);
+            Files.write(path, bytes);
+            BinaryReader reader = new BinaryReader(path.toString());
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    @Test
+    public void testReadIsLazy() throws IOException {
+        Files.write(path, catalogBytes());
+        CourseList list = new BinaryReader(path.toString()).read();
+        Course c = list.getCourseByName("cpsc121");
+        assertNotNull(c);
+        assertTrue(c.getRequired());
+
+        Section s = c.getSectionByName("101");
+        assertNotNull(s);
+        assertTrue(s.getTimeslots().contains(
+                new Timeslot(1, DayOfWeek.TUESDAY, LocalTime.parse("12:30"), LocalTime.parse("14:00"))));
+    }
+
+    // EFFECTS: returns the bytes of a catalog of the course list in TestReaderGeneralCourseList.json
+    private byte[] catalogBytes() throws IOException {
+        CourseList list = new JsonReader("./data/TestReaderGeneralCourseList.json").read();
+        BinaryWriter writer = new BinaryWriter(path.toString());
+        writer.open();
+        writer.writeCourseList(list);
+        writer.close();
+        return Files.readAllBytes(path);
+    }
+}
@@ -0,0 +1,127 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryWriterTest {
+    private Path path;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        path = Files.createTempFile("binaryWriterTest", ".bin");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testInvalidFile() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/my\0illegal:fileName.bin");
+            writer.open();
+            fail("IOException expected but not thrown");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWriteEmptyCourseList() {
+        try {
+            write(new CourseList());
+            CourseList list = new BinaryReader(path.toString()).read();
+            assertEquals(0, list.numCourses());
+        } catch (IOException e) {
+            fail("Not expecting IOException");
+        }
+    }
+
+    @Test
+    public void testWriteGeneralCourseList() {
+        CourseList list = new CourseList();
+        Course course1 = new Course("cpsc210", true);
+        Section course1s1 = new Section("101", course1);
+        Timeslot course1s1t1 = new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00"));
+        Timeslot course1s1t2 = new Timeslot(2, DayOfWeek.SUNDAY, LocalTime.parse("22:10"), LocalTime.parse("23:59"));
+        course1s1.addTimeslot(course1s1t1);
+        course1s1.addTimeslot(course1s1t2);
+        course1.addSection(course1s1);
+        course1.addSection(new Section("L1A", "Laboratory", course1));
+        list.addCourse(course1);
+        Course course2 = new Course("math \u00e9t\u00e9", false);
+        course2.addSection(new Section("101", course2));
+        list.addCourse(course2);
+
+        try {
+            write(list);
+            list = new BinaryReader(path.toString()).read();
+            assertEquals(2, list.numCourses());
+
+            Course readCourse = list.getCourseByName("cpsc210");
+            assertTrue(readCourse.getRequired());
+            assertEquals(2, readCourse.numSections());
+            Section readSection = readCourse.getSectionByName("101");
+            assertEquals(readCourse, readSection.getCourse());
+            assertEquals(Section.DEFAULT_ACTIVITY, readSection.getActivity());
+            assertEquals(course1s1.getTimeslots(), readSection.getTimeslots());
+            assertEquals("Laboratory", readCourse.getSectionByName("L1A").getActivity());
+
+            Course readCourse2 = list.getCourseByName("math \u00e9t\u00e9");
+            assertFalse(readCourse2.getRequired());
+            assertEquals(0, readCourse2.getSectionByName("101").numTimeslots());
+        } catch (IOException e) {
+            fail("Not expecting IOException");
+        }
+    }
+
+    @Test
+    public void testRewriteWhileInUse() throws IOException {
+        CourseList first = new CourseList();
+        Course course = new Course("cpsc210", true);
+        Section section = new Section("101", course);
+        section.addTimeslot(new Timeslot(1, DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00")));
+        course.addSection(section);
+        first.addCourse(course);
+        write(first);
+        CourseList loaded = new BinaryReader(path.toString()).read();
+
+        write(new CourseList());
+        assertEquals(0, new BinaryReader(path.toString()).read().numCourses());
+        assertEquals(section.getTimeslots(), loaded.getCourseByName("cpsc210").getSectionByName("101").getTimeslots());
+        assertFalse(Files.exists(Paths.get(path + ".tmp")));
+    }
+
+    @Test
+    public void testCloseWithoutWriting() throws IOException {
+        write(new CourseList());
+        byte[] before = Files.readAllBytes(path);
+        BinaryWriter writer = new BinaryWriter(path.toString());
+        writer.open();
+        writer.close();
+        assertArrayEquals(before, Files.readAllBytes(path));
+        assertFalse(Files.exists(Paths.get(path + ".tmp")));
+    }
+
+    private void write(CourseList list) throws IOException {
+        BinaryWriter writer = new BinaryWriter(path.toString());
+        writer.open();
+        writer.writeCourseList(list);
+        writer.close();
+    }
+}
@@ -0,0 +1,236 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseJournalTest {
+    private Path snapshot;
+    private Path journalFile;
+    private CourseJournal journal;
+    private Timeslot t1;
+    private Timeslot t2;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        snapshot = Files.createTempFile("courseJournalTest", ".json");
+        Files.delete(snapshot);
+        journalFile = Paths.get(snapshot + ".journal");
+        journal = new CourseJournal(snapshot.toString());
+        t1 = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00"));
+        t2 = new Timeslot(2, DayOfWeek.FRIDAY, LocalTime.parse("13:00"), LocalTime.parse("14:30"));
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        journal.close();
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(Paths.get(snapshot + ".tmp"));
+    }
+
+    @Test
+    public void testLoadNothingSaved() throws IOException {
+        CourseList list = journal.load();
+        assertEquals(0, list.numCourses());
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    public void testSaveWithoutLoad() throws IOException {
+        CourseList list = generalCourseList();
+        journal.save(list);
+        assertTrue(Files.exists(snapshot));
+        assertSameCourses(list, reopen());
+        assertSameCourses(list, new JsonReader(snapshot.toString()).read());
+    }
+
+    @Test
+    public void testSaveEditsOnlyAppendsToJournal() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        byte[] before = Files.readAllBytes(snapshot);
+
+        Course course = list.getCourseByName("cpsc210");
+        course.setRequired(false);
+        Section section = course.getSectionByName("101");
+        section.deleteTimeslot(t1);
+        section.addTimeslot(t2);
+        section.setActivity("Lecture");
+        course.addSection(new Section("L1A", "Laboratory", course));
+        list.deleteCourse(list.getCourseByName("math200"));
+        list.addCourse(new Course("phys101", true));
+        journal.save(list);
+
+        assertArrayEquals(before, Files.readAllBytes(snapshot));
+        assertSameCourses(list, reopen());
+    }
+
+    @Test
+    public void testSaveRenames() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+
+        Course cpsc = list.getCourseByName("cpsc210");
+        Course math = list.getCourseByName("math200");
+        list.changeCourseName(cpsc, "temp");
+        list.changeCourseName(math, "cpsc210");
+        list.changeCourseName(cpsc, "math200");
+        Section s101 = math.getSectionByName("101");
+        Section s102 = math.getSectionByName("102");
+        math.changeSectionName(s101, "x");
+        math.changeSectionName(s102, "101");
+        math.changeSectionName(s101, "102");
+        journal.save(list);
+
+        CourseList loaded = reopen();
+        assertSameCourses(list, loaded);
+        assertTrue(loaded.getCourseByName("cpsc210").getSectionByName("101").getTimeslots().contains(t1));
+        assertTrue(loaded.getCourseByName("cpsc210").getSectionByName("102").getTimeslots().contains(t2));
+    }
+
+    @Test
+    public void testSaveUnchanged() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        long size = Files.size(journalFile);
+        journal.save(list);
+        assertEquals(size, Files.size(journalFile));
+    }
+
+    @Test
+    public void testLoadIgnoresUnfinishedSave() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        list.addCourse(new Course("phys101", true));
+        journal.save(list);
+        long size = Files.size(journalFile);
+
+        Files.write(journalFile, "{\"op\":\"deleteCourse\",\"course\":\"phys101\"}\n{\"op\":\"del"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        CourseList loaded = reopen();
+        assertSameCourses(list, loaded);
+        assertEquals(size, Files.size(journalFile));
+
+        loaded.deleteCourse(loaded.getCourseByName("phys101"));
+        journal.save(loaded);
+        assertSameCourses(loaded, reopen());
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        list.addCourse(new Course("phys101", true));
+        journal.save(list);
+
+        journal.compact();
+        List<String> lines = Files.readAllLines(journalFile);
+        assertEquals(1, lines.size());
+        assertSameCourses(list, new JsonReader(snapshot.toString()).read());
+
+        list.deleteCourse(list.getCourseByName("cpsc210"));
+        journal.save(list);
+        assertSameCourses(list, reopen());
+    }
+
+    @Test
+    public void testLoadIgnoresCompactedJournal() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        list.addCourse(new Course("phys101", true));
+        journal.save(list);
+        List<String> lines = Files.readAllLines(journalFile);
+
+        journal.compact();
+        journal.close();
+        Files.write(journalFile, lines);
+        assertSameCourses(list, reopen());
+    }
+
+    @Test
+    public void testCompactInBackground() throws IOException {
+        journal.save(generalCourseList());
+        CourseList list = reopen();
+        Course course = list.getCourseByName("cpsc210");
+        for (int i = 0; i < 2000; i++) {
+            course.addSection(new Section("S" + i, course));
+            journal.save(list);
+        }
+        journal.close();
+        CourseList compacted = new JsonReader(snapshot.toString()).read();
+        assertTrue(compacted.getCourseByName("cpsc210").getSections().size() > 1);
+        assertSameCourses(list, reopen());
+    }
+
+    @Test
+    public void testLoadMissingCourse() throws IOException {
+        journal.save(generalCourseList());
+        journal.close();
+        Files.write(journalFile, "{\"op\":\"deleteCourse\",\"course\":\"phys101\"}\n{\"op\":\"commit\"}\n"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        journal = new CourseJournal(snapshot.toString());
+        assertThrows(IOException.class, journal::load);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the journal and returns the course list loaded by a new journal of the same files
+    private CourseList reopen() throws IOException {
+        journal.close();
+        journal = new CourseJournal(snapshot.toString());
+        return journal.load();
+    }
+
+    // EFFECTS: returns a course list with two courses, each with sections and times
+    private CourseList generalCourseList() {
+        CourseList list = new CourseList();
+        Course cpsc = new Course("cpsc210", true);
+        Section lecture = new Section("101", cpsc);
+        lecture.addTimeslot(t1);
+        cpsc.addSection(lecture);
+        list.addCourse(cpsc);
+
+        Course math = new Course("math200", false);
+        Section first = new Section("101", "Lecture", math);
+        first.addTimeslot(t2);
+        math.addSection(first);
+        Section second = new Section("102", "Lecture", math);
+        second.addTimeslot(t1);
+        math.addSection(second);
+        list.addCourse(math);
+        return list;
+    }
+
+    // EFFECTS: checks that actual has the same courses, sections and times as expected
+    private void assertSameCourses(CourseList expected, CourseList actual) {
+        assertEquals(expected.numCourses(), actual.numCourses());
+        for (Course c : expected) {
+            Course course = actual.getCourseByName(c.getName());
+            assertNotNull(course);
+            assertEquals(c.getRequired(), course.getRequired());
+            assertEquals(c.getSections().size(), course.getSections().size());
+            for (Section s : c) {
+                Section section = course.getSectionByName(s.getName());
+                assertNotNull(section);
+                assertEquals(s.getActivity(), section.getActivity());
+                assertEquals(s.getTimeslots(), section.getTimeslots());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package persistence;
+
+import model.Course;
+import model.CourseList;
+import model.Section;
+import model.Timeslot;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalImageTest {
+    private CourseList list;
+    private Course course;
+    private Section section;
+    private Timeslot timeslot;
+    private JournalImage image;
+
+    @BeforeEach
+    public void setup() {
+        list = new CourseList();
+        course = new Course("cpsc210", true);
+        section = new Section("101", course);
+        timeslot = new Timeslot(1, DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00"));
+        section.addTimeslot(timeslot);
+        course.addSection(section);
+        list.addCourse(course);
+        image = new JournalImage(list);
+    }
+
+    @Test
+    public void testConstructor() {
+        CourseList copy = image.getCopy();
+        assertNotSame(list, copy);
+        Course c = copy.getCourseByName("cpsc210");
+        assertNotSame(course, c);
+        assertTrue(c.getRequired());
+        assertNotSame(section, c.getSectionByName("101"));
+        assertTrue(c.getSectionByName("101").getTimeslots().contains(timeslot));
+    }
+
+    @Test
+    public void testUpdateUnchanged() throws IOException {
+        List<JSONObject> edits = new ArrayList<>();
+        image.update(list, edits);
+        assertTrue(edits.isEmpty());
+    }
+
+    @Test
+    public void testUpdateRename() throws IOException {
+        list.changeCourseName(course, "cpsc213");
+        List<JSONObject> edits = new ArrayList<>();
+        image.update(list, edits);
+
+        assertEquals(1, edits.size());
+        assertEquals("renameCourse", edits.get(0).getString("op"));
+        assertNull(image.getCopy().getCourseByName("cpsc210"));
+        assertNotNull(image.getCopy().getCourseByName("cpsc213").getSectionByName("101"));
+    }
+
+    @Test
+    public void testUpdateTimeslots() throws IOException {
+        Timeslot other = new Timeslot(2, DayOfWeek.FRIDAY, LocalTime.parse("13:00"), LocalTime.parse("14:30"));
+        section.deleteTimeslot(timeslot);
+        section.addTimeslot(other);
+        List<JSONObject> edits = new ArrayList<>();
+        image.update(list, edits);
+
+        assertEquals(2, edits.size());
+        CourseList replayed = new CourseList();
+        Course replayedCourse = new Course("cpsc210", true);
+        Section replayedSection = new Section("101", replayedCourse);
+        replayedSection.addTimeslot(timeslot);
+        replayedCourse.addSection(replayedSection);
+        replayed.addCourse(replayedCourse);
+        for (JSONObject edit : edits) {
+            JournalImage.apply(new JSONObject(edit.toString()), replayed);
+        }
+        assertEquals(section.getTimeslots(), replayedSection.getTimeslots());
+        Course copy = image.getCopy().getCourseByName("cpsc210");
+        assertEquals(section.getTimeslots(), copy.getSectionByName("101").getTimeslots());
+    }
+
+    @Test
+    public void testApplyMissingCourse() {
+        JSONObject record = new JSONObject().put("op", "deleteCourse").put("course", "math200");
+        assertThrows(IOException.class, () -> JournalImage.apply(record, list));
+    }
+
+    @Test
+    public void testApplyUnknownEdit() {
+        JSONObject record = new JSONObject().put("op", "frobnicate").put("course", "cpsc210").put("section", "101");
+        assertThrows(IOException.class, () -> JournalImage.apply(record, list));
+    }
+}
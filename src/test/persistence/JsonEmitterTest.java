@@ -0,0 +1,84 @@
+package persistence;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonEmitterTest {
+    private StringWriter text;
+
+    @BeforeEach
+    public void setup() {
+        text = new StringWriter();
+    }
+
+    @Test
+    public void testLaidOut() {
+        writeDocument(new JsonEmitter(new PrintWriter(text), false));
+        assertEquals("{\n"
+                + "    \"a\": [\n"
+                + "        1,\n"
+                + "        {\n"
+                + "            \"b\": true\n"
+                + "        }\n"
+                + "    ],\n"
+                + "    \"c\": [],\n"
+                + "    \"d\": {}\n"
+                + "}", text.toString());
+    }
+
+    @Test
+    public void testCompact() {
+        writeDocument(new JsonEmitter(new PrintWriter(text), true));
+        assertEquals("{\"a\":[1,{\"b\":true}],\"c\":[],\"d\":{}}", text.toString());
+    }
+
+    @Test
+    public void testNumbers() {
+        JsonEmitter json = new JsonEmitter(new PrintWriter(text), true);
+        json.beginArray();
+        json.value(0);
+        json.value(-7);
+        json.value(1000);
+        json.value(Integer.MAX_VALUE);
+        json.value(Integer.MIN_VALUE);
+        json.endArray();
+        assertEquals("[0,-7,1000,2147483647,-2147483648]", text.toString());
+    }
+
+    @Test
+    public void testEscapes() {
+        String value = "say \"hi\"\\\n\t\u0001 caf\u00e9";
+        JsonEmitter json = new JsonEmitter(new PrintWriter(text), true);
+        json.beginObject();
+        json.name("s");
+        json.value(value);
+        json.endObject();
+        assertEquals("{\"s\":\"say \\\"hi\\\"\\\\\\n\\t\\u0001 caf\u00e9\"}", text.toString());
+        assertEquals(value, new JSONObject(text.toString()).getString("s"));
+    }
+
+    private void writeDocument(JsonEmitter json) {
+        json.beginObject();
+        json.name("a");
+        json.beginArray();
+        json.value(1);
+        json.beginObject();
+        json.name("b");
+        json.value(true);
+        json.endObject();
+        json.endArray();
+        json.name("c");
+        json.beginArray();
+        json.endArray();
+        json.name("d");
+        json.beginObject();
+        json.endObject();
+        json.endObject();
+    }
+}
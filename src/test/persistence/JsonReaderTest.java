@@ -4,6 +4,7 @@ import model.Course;
 import model.CourseList;
 import model.Section;
 import model.Timeslot;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -87,6 +88,7 @@ public class JsonReaderTest {
             Section course1s1 = course1.getSectionByName("101");
             assertNotNull(course1s1);
             assertEquals(course1, course1s1.getCourse());
+            assertEquals(Section.DEFAULT_ACTIVITY, course1s1.getActivity());
             assertEquals(1, course1s1.numTimeslots());
             checkFirstTimeslot(course1s1, 1, DayOfWeek.TUESDAY, LocalTime.parse("12:30"), LocalTime.parse("14:00"));
 
@@ -110,7 +112,50 @@ public class JsonReaderTest {
         }
     }
 
+    @Test
+    public void testReadCourseListAnyOrder() {
+        try {
+            JsonReader reader = new JsonReader("./data/TestReaderUnorderedCourseList.json");
+            CourseList list = reader.read();
+            assertEquals(1, list.numCourses());
+
+            Course c = list.getCourseByName("math \"100\"");
+            assertNotNull(c);
+            assertTrue(c.getRequired());
+
+            Section s = c.getSectionByName("L1A");
+            assertNotNull(s);
+            assertEquals(c, s.getCourse());
+            assertEquals("Lab", s.getActivity());
+            checkFirstTimeslot(s, 2, DayOfWeek.MONDAY, LocalTime.parse("10:00"), LocalTime.parse("11:00"));
+        } catch (IOException e) {
+            fail("Not expecting IOException");
+        }
+    }
+
+    @Test
+    public void testReadCourseListMissingMember() {
+        JsonReader reader = new JsonReader("./data/TestReaderMissingName.json");
+        assertThrows(JSONException.class, reader::read);
+    }
+
+    @Test
+    public void testReadCourseResult() {
+        try {
+            JsonReader reader = new JsonReader("./data/TestReaderCourseResult.json");
+            Course c = reader.readCourseResult();
+            assertEquals("CPSC121", c.getName());
+            assertFalse(c.getRequired());
+
+            Section s = c.getSectionByName("101");
+            assertNotNull(s);
+            checkFirstTimeslot(s, 1, DayOfWeek.TUESDAY, LocalTime.parse("17:00"), LocalTime.parse("18:30"));
+        } catch (IOException e) {
+            fail("Not expecting IOException");
+        }
+    }
+
     private void checkFirstTimeslot(Section section, int term, DayOfWeek day, LocalTime start, LocalTime end) {
-        assertTrue(section.getTimeslots().contains(new Timeslot(term, day, start, end, section)));
+        assertTrue(section.getTimeslots().contains(new Timeslot(term, day, start, end)));
     }
 }
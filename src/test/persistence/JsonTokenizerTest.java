@@ -0,0 +1,116 @@
+package persistence;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTokenizerTest {
+
+    @Test
+    public void testObjectAndArray() throws IOException {
+        JsonTokenizer json = tokenize(" { \"a\" : [1, -20, \"3\"], \"b\": true, \"c\": \"FALSE\" } ");
+        json.beginObject();
+        assertTrue(json.hasNext());
+        assertEquals("a", json.nextName());
+        json.beginArray();
+        assertTrue(json.hasNext());
+        assertEquals(1, json.nextInt());
+        assertTrue(json.hasNext());
+        assertEquals(-20, json.nextInt());
+        assertTrue(json.hasNext());
+        assertEquals(3, json.nextInt());
+        assertFalse(json.hasNext());
+        json.endArray();
+        assertTrue(json.hasNext());
+        assertEquals("b", json.nextName());
+        assertTrue(json.nextBoolean());
+        assertTrue(json.hasNext());
+        assertEquals("c", json.nextName());
+        assertFalse(json.nextBoolean());
+        assertFalse(json.hasNext());
+        json.endObject();
+    }
+
+    @Test
+    public void testEmptyContainers() throws IOException {
+        JsonTokenizer json = tokenize("[[], {}]");
+        json.beginArray();
+        assertTrue(json.hasNext());
+        json.beginArray();
+        assertFalse(json.hasNext());
+        json.endArray();
+        assertTrue(json.hasNext());
+        json.beginObject();
+        assertFalse(json.hasNext());
+        json.endObject();
+        assertFalse(json.hasNext());
+        json.endArray();
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        JsonTokenizer json = tokenize("\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\"");
+        assertEquals("a\"b\\c/d\n\t\u00e9", json.nextString());
+    }
+
+    @Test
+    public void testLongString() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        JsonTokenizer json = tokenize("\"" + text + "\"");
+        assertEquals(text.toString(), json.nextString());
+    }
+
+    @Test
+    public void testSkipValue() throws IOException {
+        JsonTokenizer json = tokenize("[{\"x\": [1.5e3, null, {\"y\": \"]\"}]}, false, 7]");
+        json.beginArray();
+        assertTrue(json.hasNext());
+        json.skipValue();
+        assertTrue(json.hasNext());
+        json.skipValue();
+        assertTrue(json.hasNext());
+        assertEquals(7, json.nextInt());
+        assertFalse(json.hasNext());
+        json.endArray();
+    }
+
+    @Test
+    public void testMissingComma() throws IOException {
+        JsonTokenizer json = tokenize("[1 2]");
+        json.beginArray();
+        assertTrue(json.hasNext());
+        json.nextInt();
+        assertThrows(JSONException.class, json::hasNext);
+    }
+
+    @Test
+    public void testUnexpectedEnd() throws IOException {
+        JsonTokenizer json = tokenize("{\"a\": \"abc");
+        json.beginObject();
+        assertTrue(json.hasNext());
+        json.nextName();
+        assertThrows(JSONException.class, json::nextString);
+        assertThrows(JSONException.class, () -> tokenize("").beginObject());
+    }
+
+    @Test
+    public void testWrongType() {
+        assertThrows(JSONException.class, () -> tokenize("\"x\"").nextInt());
+        assertThrows(JSONException.class, () -> tokenize("1.5").nextInt());
+        assertThrows(JSONException.class, () -> tokenize("99999999999").nextInt());
+        assertThrows(JSONException.class, () -> tokenize("1").nextBoolean());
+        assertThrows(JSONException.class, () -> tokenize("1").nextString());
+        assertThrows(JSONException.class, () -> tokenize("\"\\x\"").nextString());
+    }
+
+    private JsonTokenizer tokenize(String text) {
+        return new JsonTokenizer(new StringReader(text));
+    }
+}
@@ -49,10 +49,11 @@ public class JsonWriterTest {
         CourseList list = new CourseList();
         Course course1 = new Course("cpsc210", true);
         Section course1s1 = new Section("101", course1);
-        Timeslot course1s1t1 = new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00"), course1s1);
+        Timeslot course1s1t1 = new Timeslot(1, DayOfWeek.FRIDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00"));
 
         course1s1.addTimeslot(course1s1t1);
         course1.addSection(course1s1);
+        course1.addSection(new Section("L1A", "Laboratory", course1));
         list.addCourse(course1);
 
         try {
@@ -75,6 +76,38 @@ public class JsonWriterTest {
             assertEquals(course1s1.numTimeslots(), readSection.numTimeslots());
 
             assertTrue(readSection.getTimeslots().contains(course1s1t1));
+            assertEquals(Section.DEFAULT_ACTIVITY, readSection.getActivity());
+            assertEquals("Laboratory", readCourse.getSectionByName("L1A").getActivity());
+        } catch (IOException e) {
+            fail("Not expecting IOException");
+        }
+    }
+
+    @Test
+    public void testWriteCompactCourseList() {
+        CourseList list = new CourseList();
+        Course course1 = new Course("math \"100\"", false);
+        Section course1s1 = new Section("101", course1);
+        Timeslot course1s1t1 = new Timeslot(2, DayOfWeek.MONDAY, LocalTime.parse("09:30"), LocalTime.parse("10:45"));
+
+        course1s1.addTimeslot(course1s1t1);
+        course1.addSection(course1s1);
+        list.addCourse(course1);
+
+        try {
+            JsonWriter writer = new JsonWriter("./data/TestWriterCompactCourseList.json", true);
+            writer.open();
+            writer.writeCourseList(list);
+            writer.close();
+
+            JsonReader reader = new JsonReader("./data/TestWriterCompactCourseList.json");
+            list = reader.read();
+            assertEquals(1, list.numCourses());
+
+            Course readCourse = list.getCourseByName("math \"100\"");
+            assertNotNull(readCourse);
+            assertFalse(readCourse.getRequired());
+            assertTrue(readCourse.getSectionByName("101").getTimeslots().contains(course1s1t1));
         } catch (IOException e) {
             fail("Not expecting IOException");
         }